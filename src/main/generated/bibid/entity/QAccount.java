@@ -28,7 +28,9 @@ public class QAccount extends EntityPathBase<Account> {
 
     public final QMember member;
 
-    public final StringPath userMoney = createString("userMoney");
+    public final NumberPath<Long> userMoney = createNumber("userMoney", Long.class);
+
+    public final NumberPath<Long> version = createNumber("version", Long.class);
 
     public QAccount(String variable) {
         this(Account.class, forVariable(variable), INITS);
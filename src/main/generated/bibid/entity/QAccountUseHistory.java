@@ -26,13 +26,13 @@ public class QAccountUseHistory extends EntityPathBase<AccountUseHistory> {
 
     public final NumberPath<Long> accountUseHistoryIndex = createNumber("accountUseHistoryIndex", Long.class);
 
-    public final StringPath afterBalance = createString("afterBalance");
+    public final NumberPath<Long> afterBalance = createNumber("afterBalance", Long.class);
 
     public final QAuction auction;
 
-    public final StringPath beforeBalance = createString("beforeBalance");
+    public final NumberPath<Long> beforeBalance = createNumber("beforeBalance", Long.class);
 
-    public final StringPath changeAccount = createString("changeAccount");
+    public final NumberPath<Long> changeAccount = createNumber("changeAccount", Long.class);
 
     public final DateTimePath<java.time.LocalDateTime> createdTime = createDateTime("createdTime", java.time.LocalDateTime.class);
 
@@ -0,0 +1,301 @@
+package bibid.common;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 해시 타이밍 휠 스케줄러
+ * 예약 작업을 (만료 tick % 휠 크기) 버킷의 연결 리스트에 넣고, 휠을 한 바퀴 넘는 작업은 남은 바퀴 수(rounds)로 구분한다.
+ * 등록/취소는 큐에 넣기만 하므로 O(1)이고, 전용 스레드가 tick 마다 버킷 하나만 확인하므로
+ * 대기 중인 작업이 수십만 건이어도 작업마다 스레드 풀 타이머를 두는 것보다 가볍다.
+ * 만료된 작업은 dispatcher(스레드 풀)에서 실행하며, tick 보다 일찍 실행되는 일은 없다. (오차는 최대 1 tick)
+ * 같은 key 로 다시 등록하면 기존 예약은 취소된다.
+ */
+@Slf4j
+public class HashedTimingWheel {
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor dispatcher;
+    private final long startTime;
+
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final Map<String, Timeout> timeoutsByKey = new ConcurrentHashMap<>();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final Thread worker;
+
+    private volatile boolean running = true;
+    private long tick; // 작업 스레드에서만 사용
+
+    public HashedTimingWheel(String name, Duration tickDuration, int wheelSize, Executor dispatcher) {
+        if (tickDuration.toNanos() <= 0) {
+            throw new IllegalArgumentException("tick 간격은 0보다 커야 합니다.");
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("휠 크기가 올바르지 않습니다: " + wheelSize);
+        }
+
+        // 버킷 위치를 나머지 대신 비트 연산으로 구하도록 2의 거듭제곱으로 맞춘다
+        int normalizedSize = Integer.highestOneBit(wheelSize - 1) << 1;
+        normalizedSize = Math.max(normalizedSize, 1);
+
+        this.tickNanos = tickDuration.toNanos();
+        this.wheel = new Bucket[normalizedSize];
+        for (int i = 0; i < normalizedSize; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = normalizedSize - 1;
+        this.dispatcher = dispatcher;
+        this.startTime = System.nanoTime();
+
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * deadline 시각에 task 실행 예약 (이미 지난 시각이면 다음 tick 에 실행)
+     * 같은 key 의 기존 예약이 있으면 취소하고 새 예약으로 대체한다.
+     */
+    public Timeout schedule(String key, Instant deadline, Runnable task) {
+        if (!running) {
+            throw new IllegalStateException("타이밍 휠이 중지되었습니다.");
+        }
+
+        long delayNanos = Math.max(0L, Duration.between(Instant.now(), deadline).toNanos());
+        Timeout timeout = new Timeout(key, task, System.nanoTime() + delayNanos - startTime);
+
+        Timeout previous = timeoutsByKey.put(key, timeout);
+        if (previous != null) {
+            previous.cancel();
+        }
+
+        pendingCount.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    // key 로 등록된 예약 취소 (없으면 false)
+    public boolean cancel(String key) {
+        Timeout timeout = timeoutsByKey.get(key);
+        return timeout != null && timeout.cancel();
+    }
+
+    public boolean isScheduled(String key) {
+        return timeoutsByKey.containsKey(key);
+    }
+
+    // 대기 중인 예약 수
+    public long size() {
+        return pendingCount.get();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                continue;
+            }
+
+            removeCancelledTimeouts();
+            transferPendingTimeouts();
+            wheel[(int) (tick & mask)].expireTimeouts(deadline);
+            tick++;
+        }
+    }
+
+    // 다음 tick 경계까지 대기하고, 그 시점의 경과 시간(ns)을 반환 (중지되면 -1)
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+
+        while (true) {
+            long currentTime = System.nanoTime() - startTime;
+            long sleepNanos = deadline - currentTime;
+            if (sleepNanos <= 0) {
+                return currentTime;
+            }
+
+            try {
+                Thread.sleep(sleepNanos / 1_000_000, (int) (sleepNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    // 등록 큐의 예약을 버킷으로 옮긴다 (한 tick 에 너무 오래 머물지 않도록 최대 10만 건)
+    private void transferPendingTimeouts() {
+        for (int i = 0; i < 100_000; i++) {
+            Timeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() == Timeout.CANCELLED) {
+                continue;
+            }
+
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+
+            // 이미 지난 tick 이면 현재 버킷에 넣어 바로 실행
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void expire(Timeout timeout) {
+        if (!timeout.state.compareAndSet(Timeout.INIT, Timeout.EXPIRED)) {
+            return;
+        }
+        pendingCount.decrementAndGet();
+        timeoutsByKey.remove(timeout.key, timeout);
+
+        try {
+            dispatcher.execute(() -> {
+                try {
+                    timeout.task.run();
+                } catch (Exception e) {
+                    log.error("예약 작업 실행 중 오류 발생 - key={}", timeout.key, e);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("예약 작업 실행 요청 실패 - key={}", timeout.key, e);
+        }
+    }
+
+    /**
+     * 예약 작업 핸들
+     */
+    public final class Timeout {
+        private static final int INIT = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final String key;
+        private final Runnable task;
+        private final long deadline; // startTime 기준 경과 ns
+        private final AtomicInteger state = new AtomicInteger(INIT);
+
+        // 작업 스레드에서만 사용
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+        private Bucket bucket;
+
+        private Timeout(String key, Runnable task, long deadline) {
+            this.key = key;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        // 아직 실행되지 않은 예약만 취소된다
+        public boolean cancel() {
+            if (!state.compareAndSet(INIT, CANCELLED)) {
+                return false;
+            }
+            pendingCount.decrementAndGet();
+            timeoutsByKey.remove(key, this);
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+
+    // 버킷 - 이중 연결 리스트 (작업 스레드에서만 접근)
+    private final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expireTimeouts(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline <= deadline) {
+                        expire(timeout);
+                    } else {
+                        // 버킷 배치가 잘못된 경우 - 다시 배치
+                        log.warn("예약 작업 버킷 배치 오류 - key={}", timeout.key);
+                        pendingTimeouts.add(timeout);
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = timeout.next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package bibid.config;
 
 import bibid.jwt.JwtProvider;
+import bibid.service.member.SessionMemberService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
@@ -19,10 +20,13 @@ import java.util.ArrayList;
 public class JwtChannelInterceptor implements ChannelInterceptor {
 
     private final JwtProvider jwtProvider;
+    private final SessionMemberService sessionMemberService;
 
     // JwtProvider는 JWT 검증 및 subject(사용자 식별 정보) 추출을 담당하는 유틸리티 클래스입니다.
-    public JwtChannelInterceptor(JwtProvider jwtProvider) {
+    // SessionMemberService는 CONNECT 시 회원 정보를 세션에 붙여 메시지마다 회원을 조회하지 않도록 합니다.
+    public JwtChannelInterceptor(JwtProvider jwtProvider, SessionMemberService sessionMemberService) {
         this.jwtProvider = jwtProvider;
+        this.sessionMemberService = sessionMemberService;
     }
 
     // 클라이언트로부터 들어오는 메시지를 가로채기 위한 메서드
@@ -50,6 +54,9 @@ public class JwtChannelInterceptor implements ChannelInterceptor {
                     accessor.setUser(new UsernamePasswordAuthenticationToken(username, null, new ArrayList<>()));
 
                     log.info("JwtChannelInterceptor - User set in WebSocket session: {}", username);
+
+                    // 회원 번호/닉네임/권한을 세션 속성에 저장 (입찰/채팅 핸들러는 이 값을 사용)
+                    sessionMemberService.attach(accessor.getSessionId(), accessor.getSessionAttributes(), username);
                 } catch (Exception e) {
                     // JWT 검증 중 오류 발생 시 예외 발생 → WebSocket 연결 실패 처리됨
                     log.error("JwtChannelInterceptor - Invalid JWT Token", e);
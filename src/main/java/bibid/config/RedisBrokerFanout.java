@@ -0,0 +1,110 @@
+package bibid.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.util.UUID;
+
+/**
+ * 내장 브로커 노드 간 전파 (websocket.broker.mode=redis)
+ * 각 노드는 내장(simple) 브로커를 그대로 쓰고, 서버에서 보낸 메시지(brokerChannel)를 Redis pub/sub 으로 다른 노드에 함께 알린다.
+ * 다른 노드는 받은 메시지를 자기 brokerChannel 로 다시 넣어 그 노드에 연결된 구독자에게 전달한다.
+ * /topic 메시지와 아직 세션으로 풀리지 않은 /user 메시지만 전파하고, 전파받은 메시지는 다시 전파하지 않는다.
+ * (외부 브로커 없이 여러 노드를 띄울 수 있지만 메시지마다 Redis 왕복이 한 번 더 생기므로, 규모가 크면 relay 모드를 쓴다)
+ */
+@Component
+@ConditionalOnProperty(name = "websocket.broker.mode", havingValue = "redis")
+@Slf4j
+public class RedisBrokerFanout implements ChannelInterceptor {
+
+    // 다른 노드에서 전파받은 메시지 표시 (값 = 보낸 노드)
+    private static final String FANOUT_ORIGIN_HEADER = "bibidFanoutOrigin";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MessageChannel brokerChannel;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // brokerChannel 은 WebSocket 설정이 끝난 뒤 만들어지므로 지연 주입
+    public RedisBrokerFanout(RedisTemplate<String, String> redisTemplate,
+                             ObjectMapper objectMapper,
+                             RedisMessageListenerContainer redisMessageListenerContainer,
+                             @Lazy @Qualifier("brokerChannel") MessageChannel brokerChannel,
+                             @Value("${websocket.broker.redis.channel:ws:broker:fanout}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.brokerChannel = brokerChannel;
+        this.channel = channel;
+
+        redisMessageListenerContainer.addMessageListener(this::onFanoutMessage, new ChannelTopic(channel));
+    }
+
+    // 서버에서 보낸 메시지를 로컬 브로커로 넘기면서 다른 노드에도 알림 (전파 실패 시에도 로컬 전달은 계속)
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel messageChannel) {
+        MessageHeaders headers = message.getHeaders();
+        if (headers.containsKey(FANOUT_ORIGIN_HEADER)
+                || SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+                || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        if (destination == null || !(destination.startsWith("/topic/") || destination.startsWith("/user/"))) {
+            return message;
+        }
+
+        try {
+            MimeType contentType = SimpMessageHeaderAccessor.getContentType(headers);
+            FanoutEnvelope envelope = new FanoutEnvelope(nodeId, destination,
+                    contentType != null ? contentType.toString() : null, payload);
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(envelope));
+        } catch (Exception e) {
+            log.warn("WebSocket 메시지 노드 간 전파 실패 - destination={}", destination, e);
+        }
+        return message;
+    }
+
+    private void onFanoutMessage(org.springframework.data.redis.connection.Message message, byte[] pattern) {
+        try {
+            FanoutEnvelope envelope = objectMapper.readValue(message.getBody(), FanoutEnvelope.class);
+            // 내가 보낸 메시지는 이미 로컬 브로커로 전달됨
+            if (nodeId.equals(envelope.origin())) {
+                return;
+            }
+
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setDestination(envelope.destination());
+            if (envelope.contentType() != null) {
+                accessor.setContentType(MimeType.valueOf(envelope.contentType()));
+            }
+            accessor.setHeader(FANOUT_ORIGIN_HEADER, envelope.origin());
+            brokerChannel.send(MessageBuilder.createMessage(envelope.payload(), accessor.getMessageHeaders()));
+        } catch (Exception e) {
+            log.error("전파받은 WebSocket 메시지 처리 실패", e);
+        }
+    }
+
+    /**
+     * 노드 간 전파 메시지 (payload 는 이미 변환된 STOMP 본문, JSON 에서는 Base64)
+     */
+    record FanoutEnvelope(String origin, String destination, String contentType, byte[] payload) {
+    }
+}
@@ -1,21 +1,30 @@
 package bibid.config;
 
+import bibid.common.HashedTimingWheel;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+import java.time.Duration;
+
 @Configuration
 public class SchedulerConfig {
 
     // 경매 스케줄링 전용 TaskScheduler 빈 등록
     @Bean(name = "auctionTaskScheduler")  // 명시적 이름 부여로 다른 Scheduler와 구분 가능
-    public TaskScheduler taskScheduler() {
+    public ThreadPoolTaskScheduler taskScheduler() {
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
         scheduler.setPoolSize(10); // 동시에 최대 10개 작업 스레드 실행 가능
         scheduler.setThreadNamePrefix("auction-task-"); // 스레드 이름 prefix 설정 (디버깅용)
         scheduler.initialize();
         return scheduler;
     }
-}
 
+    // 경매 시작/종료/알림 예약용 타이밍 휠 (만료된 작업은 auctionTaskScheduler 스레드에서 실행)
+    @Bean(name = "auctionTimingWheel", destroyMethod = "stop")
+    public HashedTimingWheel auctionTimingWheel(@Value("${auction.timer.tick-ms:10}") long tickMs,
+                                                @Value("${auction.timer.wheel-size:512}") int wheelSize) {
+        return new HashedTimingWheel("auction-timing-wheel", Duration.ofMillis(tickMs), wheelSize, taskScheduler());
+    }
+}
@@ -1,7 +1,10 @@
 package bibid.config;
 
 import bibid.jwt.JwtProvider;
+import bibid.service.member.SessionMemberService;
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
@@ -12,30 +15,76 @@ import org.springframework.web.socket.config.annotation.*;
  * WebSocket + STOMP 구성 클래스
  * JWT 인증 핸들러 적용
  * 경매 및 알림 채널에 WebSocket Endpoint 등록
+ * 브로커 모드(websocket.broker.mode)
+ * - simple : 노드 내장 브로커 (단일 노드)
+ * - relay  : 외부 STOMP 브로커(ActiveMQ 등)로 중계 - 여러 노드의 구독/전송을 브로커가 모아 처리
+ * - redis  : 노드 내장 브로커 + Redis pub/sub 으로 서버 전송 메시지를 다른 노드에 전파 (RedisBrokerFanout)
  */
 @Configuration
 @EnableWebSocketMessageBroker // STOMP 기반 WebSocket 메시징 기능 활성화
+@Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Value("${front.url}")
     private String frontUrl;
 
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${websocket.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
     private final JwtProvider jwtProvider;
+    private final SessionMemberService sessionMemberService;
+    private final ObjectProvider<RedisBrokerFanout> redisBrokerFanout;
 
-    // JwtProvider를 생성자 주입
-    public WebSocketConfig(JwtProvider jwtProvider) {
+    // JwtProvider를 생성자 주입 (RedisBrokerFanout 은 redis 모드에서만 등록됨)
+    public WebSocketConfig(JwtProvider jwtProvider, SessionMemberService sessionMemberService,
+                           ObjectProvider<RedisBrokerFanout> redisBrokerFanout) {
         this.jwtProvider = jwtProvider;
+        this.sessionMemberService = sessionMemberService;
+        this.redisBrokerFanout = redisBrokerFanout;
     }
 
     /**
      * 메시지 브로커 설정
-     * 클라이언트가 구독할 수 있는 경로: /topic
+     * 클라이언트가 구독할 수 있는 경로: /topic, /queue (개인 메시지는 /user/queue/...)
      * 서버 수신 경로 prefix: /app
      */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic"); // 예: /topic/auction, /topic/notification
+        switch (brokerMode) {
+            case "relay" -> {
+                // 외부 브로커 중계 - 접속 노드가 달라도 같은 브로커 destination 을 구독/전송
+                config.enableStompBrokerRelay("/topic", "/queue")
+                        .setRelayHost(relayHost)
+                        .setRelayPort(relayPort)
+                        .setClientLogin(relayLogin)
+                        .setClientPasscode(relayPasscode)
+                        .setSystemLogin(relayLogin)
+                        .setSystemPasscode(relayPasscode);
+                // 다른 노드에 접속한 사용자에게 보내는 /user 메시지와 접속 사용자 목록을 노드 간 공유
+                config.setUserDestinationBroadcast("/topic/unresolved-user-destination");
+                config.setUserRegistryBroadcast("/topic/simp-user-registry");
+            }
+            case "redis" -> {
+                config.enableSimpleBroker("/topic", "/queue");
+                redisBrokerFanout.ifAvailable(fanout -> config.configureBrokerChannel().interceptors(fanout));
+            }
+            case "simple" -> config.enableSimpleBroker("/topic", "/queue"); // 예: /topic/auction, /topic/notification, /user/queue/errors
+            default -> throw new IllegalStateException("지원하지 않는 WebSocket 브로커 모드입니다: " + brokerMode);
+        }
         config.setApplicationDestinationPrefixes("/app"); // 예: /app/message
+        log.info("WebSocket 브로커 모드: {}", brokerMode);
     }
 
     /**
@@ -65,10 +114,10 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     /**
      * 클라이언트로부터 수신되는 메시지 처리 채널에 Interceptor 추가
-     * 메시지 송신 전 JWT 토큰 유효성 검사
+     * 메시지 송신 전 JWT 토큰 유효성 검사 + 세션 회원 정보 저장
      */
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        registration.interceptors(new JwtChannelInterceptor(jwtProvider));
+        registration.interceptors(new JwtChannelInterceptor(jwtProvider, sessionMemberService));
     }
 }
\ No newline at end of file
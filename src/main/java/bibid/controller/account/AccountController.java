@@ -5,20 +5,18 @@ import bibid.dto.AccountUseHistoryDto;
 import bibid.dto.AuctionDto;
 import bibid.dto.ResponseDto;
 import bibid.entity.*;
-import bibid.repository.account.AccountRepository;
-import bibid.repository.account.AccountUseHistoryRepository;
 import bibid.repository.auction.AuctionRepository;
-import bibid.repository.member.MemberRepository;
+import bibid.service.account.AccountLedgerService;
 import bibid.service.account.AccountService;
+import bibid.service.auction.AuctionChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
-
 @RestController
 @RequestMapping("/account")
 @RequiredArgsConstructor
@@ -26,9 +24,9 @@ import java.time.LocalDateTime;
 public class AccountController {
 
     private final AccountService accountService;
-    private final AccountUseHistoryRepository accountUseHistoryRepository;
+    private final AccountLedgerService accountLedgerService;
     private final AuctionRepository auctionRepository;
-    private final AccountRepository accountRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // 충전 요청
     @PostMapping("/charge")
@@ -90,37 +88,18 @@ public class AccountController {
         Member seller = auction.getMember();
 
         try {
-            // 낙찰 금액을 가져옵니다.
-            int winningBidAmount = auction.getAuctionDetail().getWinningBid().intValue();
-
-            // 판매자의 계좌를 업데이트합니다.
-            Account sellerAccount = seller.getAccount();
-            int currentBalance = Integer.parseInt(sellerAccount.getUserMoney());
-            int newBalance = currentBalance + (int) (winningBidAmount * 0.9);
-            sellerAccount.setUserMoney(String.valueOf(newBalance));
-            accountRepository.save(sellerAccount);
-
-            // 판매자의 계좌에 거래 내역을 추가합니다.
-            AccountUseHistoryDto accountUseHistoryDto = AccountUseHistoryDto.builder()
-                    .auctionType("일반 경매")
-                    .accountIndex(sellerAccount.getAccountIndex())
-                    .afterBalance(String.valueOf(newBalance))
-                    .beforeBalance(String.valueOf(currentBalance))
-                    .createdTime(LocalDateTime.now())
-                    .productName(auction.getProductName())
-                    .changeAccount(String.valueOf(winningBidAmount * 0.9))
-                    .useType("수령")
-                    .memberIndex(seller.getMemberIndex())
-                    .auctionIndex(auctionIndex)
-                    .build();
-
-            AccountUseHistory history = accountUseHistoryDto.toEntity(seller, auction, sellerAccount);
-            accountUseHistoryRepository.save(history);
-            
+            // 낙찰 금액의 90%를 판매자 계좌에 입금하고 거래 내역을 기록합니다.
+            long winningBidAmount = auction.getAuctionDetail().getWinningBid();
+            long payoutAmount = winningBidAmount * 9 / 10;
+            AccountUseHistory history = accountLedgerService.credit(seller.getMemberIndex(), auctionIndex, payoutAmount, "수령");
+
             auction.setAuctionStatus("구매 확정");
             auctionRepository.save(auction);
+            eventPublisher.publishEvent(new AuctionChangedEvent(auctionIndex, AuctionChangedEvent.Type.STATUS_CHANGED));
 
-            responseDto.setItem(sellerAccount.toDto());
+            AccountDto sellerAccountDto = accountService.findMemberIndex(seller.getMemberIndex()).toDto();
+            sellerAccountDto.setUserMoney(String.valueOf(history.getAfterBalance()));
+            responseDto.setItem(sellerAccountDto);
             responseDto.setStatusCode(HttpStatus.OK.value());
             responseDto.setStatusMessage("대금 수령 성공");
 
@@ -2,6 +2,7 @@ package bibid.controller.auction;
 
 import bibid.dto.AuctionDetailDto;
 import bibid.dto.AuctionDto;
+import bibid.dto.CursorPageDto;
 import bibid.dto.ResponseDto;
 import bibid.entity.CustomUserDetails;
 import bibid.repository.member.MemberRepository;
@@ -19,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.net.URI;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/auction")
@@ -154,6 +156,67 @@ public class AuctionController {
         }
     }
 
+    /*
+     * 커서 기반 목록 (무한 스크롤용)
+     * 첫 요청은 cursor 없이 보내고, 이후에는 응답의 nextCursor 를 그대로 넘긴다.
+     */
+    @GetMapping("/all/cursor")
+    public ResponseEntity<?> getAuctionsByCursor(@RequestParam(value = "cursor", required = false) String cursor,
+                                                 @RequestParam(value = "size", defaultValue = "5") int size) {
+        return cursorResponse(() -> auctionService.findAllByCursor(cursor, limitCursorSize(size)));
+    }
+
+    @GetMapping("/top/cursor")
+    public ResponseEntity<?> getTopAuctionsByCursor(@RequestParam(value = "cursor", required = false) String cursor,
+                                                    @RequestParam(value = "size", defaultValue = "8") int size) {
+        return cursorResponse(() -> auctionService.findTopByViewCountByCursor(cursor, limitCursorSize(size)));
+    }
+
+    @GetMapping("/best/{category}/cursor")
+    public ResponseEntity<?> getAuctionsByCategoryByCursor(@PathVariable("category") String category,
+                                                           @RequestParam(value = "cursor", required = false) String cursor,
+                                                           @RequestParam(value = "size", defaultValue = "5") int size) {
+        return cursorResponse(() -> auctionService.findByCategoryByCursor(category, cursor, limitCursorSize(size)));
+    }
+
+    @GetMapping("/category/{category}/cursor")
+    public ResponseEntity<?> getAuctionsByCategory2ByCursor(@PathVariable("category") String category,
+                                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                                            @RequestParam(value = "size", defaultValue = "5") int size) {
+        return cursorResponse(() -> auctionService.findByCategory2ByCursor(category, cursor, limitCursorSize(size)));
+    }
+
+    @GetMapping("/conveyor/cursor")
+    public ResponseEntity<?> getConveyorByCursor(@RequestParam(value = "cursor", required = false) String cursor,
+                                                 @RequestParam(value = "size", defaultValue = "10") int size) {
+        return cursorResponse(() -> auctionService.findConveyorByCursor(cursor, limitCursorSize(size)));
+    }
+
+    private ResponseEntity<?> cursorResponse(Supplier<CursorPageDto<AuctionDto>> loader) {
+        ResponseDto<CursorPageDto<AuctionDto>> responseDto = new ResponseDto<>();
+
+        try {
+            responseDto.setItem(loader.get());
+            responseDto.setStatusCode(HttpStatus.OK.value());
+            responseDto.setStatusMessage("ok");
+
+            return ResponseEntity.ok(responseDto);
+        } catch (IllegalArgumentException e) {
+            responseDto.setStatusCode(HttpStatus.BAD_REQUEST.value());
+            responseDto.setStatusMessage(e.getMessage());
+            return ResponseEntity.badRequest().body(responseDto);
+        } catch (Exception e) {
+            log.error("cursor listing error: {}", e.getMessage());
+            responseDto.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            responseDto.setStatusMessage(e.getMessage());
+            return ResponseEntity.internalServerError().body(responseDto);
+        }
+    }
+
+    private int limitCursorSize(int size) {
+        return Math.max(1, Math.min(size, 100));
+    }
+
     @GetMapping
     public ResponseEntity<?> getBoards(@RequestParam("searchCondition") String searchCondition,
                                        @RequestParam("searchKeyword") String searchKeyword,
@@ -181,6 +244,10 @@ public class AuctionController {
             responseDto.setStatusMessage("ok");
 
             return ResponseEntity.ok(responseDto);
+        } catch (IllegalArgumentException e) {
+            responseDto.setStatusCode(HttpStatus.BAD_REQUEST.value());
+            responseDto.setStatusMessage(e.getMessage());
+            return ResponseEntity.badRequest().body(responseDto);
         } catch(Exception e) {
             log.error("Error occurred: {}", e.getMessage()); // 오류 메시지 로깅
             responseDto.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
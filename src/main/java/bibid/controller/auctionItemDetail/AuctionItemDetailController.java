@@ -1,12 +1,12 @@
 package bibid.controller.auctionItemDetail;
 
 import bibid.dto.*;
-import bibid.entity.Account;
-import bibid.entity.Auction;
 import bibid.entity.Member;
 import bibid.entity.CustomUserDetails;
-import bibid.repository.auction.AuctionRepository;
+import bibid.exception.errorCode.BidRejectedException;
 import bibid.service.account.AccountService;
+import bibid.service.auction.BidAdmissionService;
+import bibid.service.auction.BidIdempotencyService;
 import bibid.service.auctionItemDetail.AuctionItemDetailService;
 import bibid.service.qna.QnaServiceImpl;
 import lombok.RequiredArgsConstructor;
@@ -16,8 +16,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/auctionDetail")
@@ -28,63 +28,32 @@ public class AuctionItemDetailController {
     private final AuctionItemDetailService auctionItemDetailService;
     private final AccountService accountService;
     private final QnaServiceImpl qnaService;
-    private final AuctionRepository auctionRepository;
+    private final BidAdmissionService bidAdmissionService;
+    private final BidIdempotencyService bidIdempotencyService;
 
     @GetMapping("/category-item-detail/{auctionIndex}")
     public ResponseEntity<?> getItemDetail(@PathVariable("auctionIndex") Long auctionIndex){
 
         ResponseDto<AuctionResponseDto> responseDto = new ResponseDto<>();
-        String checkingMessage = auctionItemDetailService.auctionChecking(auctionIndex);
-
-        if (!checkingMessage.equals("접속성공. 옥션번호 : " + auctionIndex)){
-            responseDto.setStatusCode(HttpStatus.BAD_REQUEST.value());
-            responseDto.setStatusMessage(checkingMessage); // 유효하지 않은 접근 메시지 추가
-            return ResponseEntity.badRequest().body(responseDto); // 400 BAD REQUEST 응답
-        }
 
         try {
 
             log.info("auctionIndex 확인 : {}", auctionIndex);
 
-            AuctionDto auctionItem = auctionItemDetailService.findAuctionItem(auctionIndex);
+            // 경매/판매자/입찰/이미지/문의 정보를 조회 전용 projection 으로 한 번에 조립
+            AuctionResponseDto auctionResponse = auctionItemDetailService.findAuctionDetailView(auctionIndex);
             auctionItemDetailService.plusAuctionView(auctionIndex);
-            MemberDto seller = auctionItemDetailService.findSeller(auctionIndex); // 판매자 정보 가져오기
-
-            List<AuctionInfoDto> auctionBidInfo = auctionItemDetailService.findLastBidder(auctionIndex); // 최근 세명의 입찰 정보
-
-            List<MemberDto> biddingMember = auctionItemDetailService.findLastBidderName(auctionBidInfo);
-
-            List<String> infoExtension = auctionItemDetailService.findAuctionInfoEtc(auctionIndex);
-//            System.out.println(infoExtension);// 추가정보 - 현재 경매 최고가, 현재 경매 총 입찰수
-
-            SellerInfoDto sellerDetailInfo = auctionItemDetailService.findSellerInfo(auctionIndex);
-//            System.out.println(sellerDetailInfo); // 판매자의 맴버디테일, 셀러인포. 상호명 대표자 등.
-
-            List<String> auctionImages = auctionItemDetailService.findAuctionImagesByAuctionIndex(auctionIndex);
-            System.out.println(auctionImages); // 옥션이미지경로, 필수값 , 첫번째 값으로 썸네일저장
-
-            List<QnADto> qnAList = qnaService.findQnaListByAuctionIndex(auctionIndex);
-            System.out.println(qnAList);
-
-
-            AuctionResponseDto auctionResponse = new AuctionResponseDto();
-            auctionResponse.setAuctionItem(auctionItem);
-            auctionResponse.setSeller(seller);
-
-            auctionResponse.setAuctionBidInfo(auctionBidInfo);
-            auctionResponse.setBiddingMember(biddingMember);
-
-            auctionResponse.setInfoExtension(infoExtension);
-            auctionResponse.setSellerDetailInfo(sellerDetailInfo);
-
-            auctionResponse.setAuctionImages(auctionImages);
-            auctionResponse.setQnAList(qnAList);
 
             responseDto.setItem(auctionResponse);
             responseDto.setStatusCode(HttpStatus.OK.value());
             responseDto.setStatusMessage("complete : read item detail");
 
             return ResponseEntity.ok(responseDto);
+        } catch (IllegalArgumentException e) {
+            // 존재하지 않거나 일반 경매가 아닌 경매 접근
+            responseDto.setStatusCode(HttpStatus.BAD_REQUEST.value());
+            responseDto.setStatusMessage(e.getMessage()); // 유효하지 않은 접근 메시지 추가
+            return ResponseEntity.badRequest().body(responseDto); // 400 BAD REQUEST 응답
         } catch (Exception e){
             log.error("err : read item detail : {}", e.getMessage());
 
@@ -99,13 +68,11 @@ public class AuctionItemDetailController {
     @PostMapping("/category-item-detail/{auctionIndex}")
     public ResponseEntity<?> biddingItem(@PathVariable("auctionIndex") Long auctionIndex,
                                          @RequestBody BidRequestDto bidRequestDto,
+                                         @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
                                          @AuthenticationPrincipal CustomUserDetails customUserDetails) {
         ResponseDto<BidRequestDto> bidResponseDto = new ResponseDto<>();
         Member member = customUserDetails.getMember();
 
-        Auction auction = auctionRepository.findById(auctionIndex)
-                .orElseThrow(() -> new RuntimeException("auction not exist"));
-
         log.info("Bid request received - auctionIndex: {}, bidder: {}, bid amount: {}",
                 auctionIndex, member.getNickname(), bidRequestDto.getUserBiddingPrice());
 
@@ -120,20 +87,28 @@ public class AuctionItemDetailController {
 //            return ResponseEntity.internalServerError().body(bidRequestDto);
 //        }
 
-        log.info("Bid validation passed for auctionIndex: {}. Proceeding to place bid.", auctionIndex);
-
         try {
-            // 입찰 업데이트 로직 실행
-            auctionItemDetailService.updateAuctionItemDetail(auctionIndex, bidRequestDto, member);
-
-            // 성공 응답 설정
+            // 입찰 업데이트 로직 실행 (같은 멱등 키로 재전송된 요청은 저장된 결과로 응답)
+            AuctionInfoDto result = bidIdempotencyService.execute(customUserDetails.getUsername(),
+                    BidIdempotencyService.GENERAL_BID, auctionIndex,
+                    bidRequestDto.getUserBiddingType() + ":" + bidRequestDto.getUserBiddingPrice(), idempotencyKey,
+                    AuctionInfoDto.class,
+                    () -> admitAndRun(customUserDetails, auctionIndex,
+                            () -> auctionItemDetailService.updateAuctionItemDetail(auctionIndex, bidRequestDto, member)))
+                    .result();
+
+            // 성공 응답 설정 (더 높은 자동 입찰이 있으면 바로 상회되므로 정리된 현재가를 함께 안내)
             bidResponseDto.setItem(bidRequestDto);
             bidResponseDto.setStatusCode(HttpStatus.OK.value());
-            bidResponseDto.setStatusMessage("입찰 성공");
+            bidResponseDto.setStatusMessage(member.getMemberIndex().equals(result.getBidderIndex())
+                    ? "입찰 성공"
+                    : "자동 입찰에 의해 상회되었습니다. 현재가: " + result.getBidAmount());
 
             log.info("Bid placed successfully for auctionIndex: {} by bidder: {} with bid amount: {}",
                     auctionIndex, member.getNickname(), bidRequestDto.getUserBiddingPrice());
             return ResponseEntity.ok(bidResponseDto);
+        } catch (BidRejectedException e) {
+            throw e;
         } catch (Exception e) {
             // 오류 처리
             log.error("Bid placement failed for auctionIndex: {}. Error: {}", auctionIndex, e.getMessage(), e);
@@ -146,6 +121,52 @@ public class AuctionItemDetailController {
     }
 
 
+    @PostMapping("/category-item-detail/{auctionIndex}/proxy-bid")
+    public ResponseEntity<?> registerProxyBid(@PathVariable("auctionIndex") Long auctionIndex,
+                                              @RequestBody ProxyBidRequestDto proxyBidRequestDto,
+                                              @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                              @AuthenticationPrincipal CustomUserDetails customUserDetails) {
+        ResponseDto<AuctionInfoDto> responseDto = new ResponseDto<>();
+        Member member = customUserDetails.getMember();
+
+        log.info("Proxy bid request received - auctionIndex: {}, bidder: {}, max bid amount: {}",
+                auctionIndex, member.getNickname(), proxyBidRequestDto.getMaxBidAmount());
+
+        try {
+            AuctionInfoDto currentTopBid = bidIdempotencyService.execute(customUserDetails.getUsername(),
+                    BidIdempotencyService.PROXY_BID, auctionIndex, String.valueOf(proxyBidRequestDto.getMaxBidAmount()),
+                    idempotencyKey, AuctionInfoDto.class,
+                    () -> admitAndRun(customUserDetails, auctionIndex,
+                            () -> auctionItemDetailService.registerProxyBid(
+                                    auctionIndex, proxyBidRequestDto.getMaxBidAmount(), member)))
+                    .result();
+
+            responseDto.setItem(currentTopBid);
+            responseDto.setStatusCode(HttpStatus.OK.value());
+            responseDto.setStatusMessage(member.getMemberIndex().equals(currentTopBid.getBidderIndex())
+                    ? "자동 입찰 등록 성공"
+                    : "자동 입찰이 더 높은 최대 입찰가에 의해 상회되었습니다.");
+            return ResponseEntity.ok(responseDto);
+        } catch (BidRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Proxy bid registration failed for auctionIndex: {}. Error: {}", auctionIndex, e.getMessage(), e);
+
+            responseDto.setStatusMessage("자동 입찰 등록 실패: " + e.getMessage());
+            responseDto.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
+
+            return ResponseEntity.internalServerError().body(responseDto);
+        }
+    }
+
+    // 유입 제한 통과 후 입찰 처리 - 거절 시 DB 조회 없이 429 응답 (ExceptionController)
+    private AuctionInfoDto admitAndRun(CustomUserDetails customUserDetails, Long auctionIndex, Supplier<AuctionInfoDto> bid) {
+        try (BidAdmissionService.Permit permit = bidAdmissionService.admit(customUserDetails.getUsername(), auctionIndex)) {
+            return bid.get();
+        }
+    }
+
+
     @PostMapping("/category-item-detail/{auctionIndex}/inquiry")
     public ResponseEntity<?> postInquiry(@PathVariable("auctionIndex") Long auctionIndex,
                                          @RequestBody QnADto qnADto){
@@ -5,6 +5,7 @@ import bibid.dto.MemberDto;
 import bibid.dto.ResponseDto;
 import bibid.entity.CustomUserDetails;
 import bibid.entity.Member;
+import bibid.jwt.AuthenticatedPrincipalCache;
 import bibid.jwt.JwtProvider;
 import bibid.oauth2.KakaoServiceImpl;
 import bibid.repository.member.MemberRepository;
@@ -35,6 +36,7 @@ public class MemberController {
     private final KakaoServiceImpl kakaoService;
     private final MemberRepository memberRepository;
     private final JwtProvider jwtProvider;
+    private final AuthenticatedPrincipalCache authenticatedPrincipalCache;
 
     @Value("${cookie.secure}")
     private String cookieSecure;
@@ -170,6 +172,8 @@ public class MemberController {
             if (cookies != null) {
                 for (Cookie cookie : cookies) {
                     if ("ACCESS_TOKEN".equals(cookie.getName())) {
+                        // 로그아웃한 토큰의 캐시된 인증 정보 제거
+                        authenticatedPrincipalCache.invalidateToken(cookie.getValue());
                         response.addHeader("Set-Cookie",
                                 "ACCESS_TOKEN=null; Max-Age=0; Path=/; Secure; HttpOnly; SameSite=None");
                     }
@@ -1,19 +1,29 @@
 package bibid.controller.specialAuction;
 
 import bibid.dto.AuctionInfoDto;
+import bibid.dto.BidPlacementResultDto;
 import bibid.entity.*;
-import bibid.repository.account.AccountRepository;
 import bibid.repository.auction.AuctionRepository;
-import bibid.repository.specialAuction.AuctionInfoRepository;
+import bibid.exception.errorCode.BidRejectedException;
+import bibid.exception.errorCode.ErrorCode;
+import bibid.exception.response.ErrorResponse;
+import bibid.service.account.AccountHoldService;
+import bibid.service.auction.BidAdmissionService;
+import bibid.service.auction.BidIdempotencyService;
+import bibid.service.member.SessionMemberService;
+import bibid.service.member.SessionMemberService.SessionMember;
 import bibid.service.specialAuction.RedisBidService;
+import bibid.service.specialAuction.impl.LiveBidBroadcaster;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.checkerframework.checker.units.qual.Acceleration;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.stereotype.Controller;
 import java.security.Principal;
 import java.time.LocalDateTime;
@@ -24,64 +34,103 @@ import java.util.Set;
 @Slf4j
 public class BidController {
     private final AuctionRepository auctionRepository;
-    private final AuctionInfoRepository auctionInfoRepository;
-    private final UserDetailsService userDetailsService;
+    private final SessionMemberService sessionMemberService;
     private final RedisBidService redisBidService;
-    private final AccountRepository accountRepository;
+    private final AccountHoldService accountHoldService;
+    private final BidAdmissionService bidAdmissionService;
+    private final BidIdempotencyService bidIdempotencyService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final LiveBidBroadcaster liveBidBroadcaster;
 
+    // 수락된 입찰은 바로 보내지 않고 LiveBidBroadcaster 가 경매별로 모아 tick 마다 최신 상태만 /topic/auction/{auctionIndex} 로 전송
     @MessageMapping("/auction.bid/{auctionIndex}")
-    @SendTo("/topic/auction/{auctionIndex}")
-    public AuctionInfoDto bid(@DestinationVariable Long auctionIndex, @Payload AuctionInfoDto auctionInfoDto, Principal principal) {
+    public void bid(@DestinationVariable Long auctionIndex, @Payload AuctionInfoDto auctionInfoDto,
+                              @Header(name = "idempotency-key", required = false) String idempotencyKey,
+                              SimpMessageHeaderAccessor headerAccessor, Principal principal) {
 
-        // principal이 사용자 이름(String)일 수 있음
-        if (principal == null) {
-            throw new IllegalStateException("현재 인증된 사용자를 찾을 수 없습니다.");
+        // CONNECT 시 세션에 저장한 회원 정보 (메시지마다 회원 조회하지 않음)
+        SessionMember bidder = sessionMemberService.current(headerAccessor, principal);
+        String username = bidder.memberId();
+
+        // 같은 멱등 키로 재전송된 입찰은 저장된 결과를 요청자에게만 다시 보내고 브로드캐스트하지 않는다
+        BidIdempotencyService.Outcome<AuctionInfoDto> outcome = bidIdempotencyService.execute(
+                username, BidIdempotencyService.LIVE_BID, auctionIndex, String.valueOf(auctionInfoDto.getBidAmount()),
+                idempotencyKey, AuctionInfoDto.class, () -> {
+                    // 유입 제한 - 거절 시 회원/경매 조회 없이 요청자에게만 오류 전송
+                    try (BidAdmissionService.Permit permit = bidAdmissionService.admit(username, auctionIndex)) {
+                        return placeBid(auctionIndex, auctionInfoDto, bidder);
+                    }
+                });
+
+        if (outcome.replayed()) {
+            messagingTemplate.convertAndSendToUser(username, "/queue/bids", outcome.result());
+            return;
         }
+        liveBidBroadcaster.publish(auctionIndex, outcome.result());
+    }
 
-        // 사용자 이름을 principal에서 가져옴
-        String username = principal.getName();
+    // 입찰 유입 제한으로 거절된 경우 요청한 사용자에게만 알림
+    @MessageExceptionHandler(BidRejectedException.class)
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public ErrorResponse handleBidRejected(BidRejectedException e) {
+        return new ErrorResponse(ErrorCode.BID_REJECTED.getCode(), e.getMessage());
+    }
 
-        // UserDetailsService를 사용하여 사용자 정보 로드
-        CustomUserDetails userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(username);
-        Member bidder = userDetails.getMember();
+    private AuctionInfoDto placeBid(Long auctionIndex, AuctionInfoDto auctionInfoDto, SessionMember bidder) {
 
-        // 경매 정보 조회
-        Auction auction = auctionRepository.findById(auctionIndex)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid auction ID"));
+        // 입찰 금액만큼 자금 예약 (다른 경매 예약을 제외한 사용 가능 금액이 부족하면 예외 발생)
+        long bidAmount = auctionInfoDto.getBidAmount();
+        long previousHold = accountHoldService.hold(bidder.memberIndex(), auctionIndex, bidAmount);
 
-        // 경매 상태 확인
-        if (!"방송중".equals(auction.getAuctionStatus())) {
-            throw new IllegalStateException("이 경매는 현재 입찰할 수 없습니다.");
+        // 진행 여부/입찰 단위 검증, 최고가 갱신, 입찰 기록 추가를 Redis 스크립트 한 번으로 처리
+        // (입찰 규칙은 방송 시작 시 Redis 에 저장되며, 없을 때만 DB 에서 읽어 다시 저장)
+        BidPlacementResultDto placement;
+        try {
+            placement = redisBidService.placeLiveBid(auctionIndex, bidAmount, bidder.nickname(), bidder.memberIndex());
+            if (placement.isRulesMissing()) {
+                loadLiveRules(auctionIndex);
+                placement = redisBidService.placeLiveBid(auctionIndex, bidAmount, bidder.nickname(), bidder.memberIndex());
+            }
+        } catch (RuntimeException e) {
+            // 스크립트 실행/규칙 조회 실패 시에도 예약을 입찰 전 상태로 되돌림
+            accountHoldService.restore(bidder.memberIndex(), auctionIndex, previousHold);
+            throw e;
         }
 
-        // 계좌 정보 조회
-        Account bidderAccount = accountRepository.findByMember_MemberIndex(bidder.getMemberIndex())
-                .orElseThrow(() -> new RuntimeException("계좌 정보를 찾을 수 없습니다."));
-
-        int currentBalance = Integer.parseInt(bidderAccount.getUserMoney());
-        int bidAmount = auctionInfoDto.getBidAmount().intValue();
+        if (!placement.isAccepted()) {
+            accountHoldService.restore(bidder.memberIndex(), auctionIndex, previousHold);
+            if (placement.isClosed() || placement.isRulesMissing()) {
+                throw new IllegalStateException("이 경매는 현재 입찰할 수 없습니다.");
+            }
+            if (placement.getTopBid() == null) {
+                throw new IllegalStateException("입찰 금액은 시작가 이상이어야 합니다.");
+            }
+            throw new IllegalStateException("현재 최고가(" + placement.getTopBid() + ")보다 입찰 단위 이상 높은 금액으로만 입찰할 수 있습니다.");
+        }
 
-        // 계좌 금액 확인: 잔액이 입찰 금액보다 적으면 예외 발생
-        if (currentBalance < bidAmount) {
-            throw new RuntimeException("잔액이 부족하여 입찰할 수 없습니다.");
+        // 밀려난 직전 최고 입찰자의 예약 해제
+        Long previousBidderIndex = placement.getPreviousBidderIndex();
+        if (previousBidderIndex != null && !previousBidderIndex.equals(bidder.memberIndex())) {
+            accountHoldService.release(previousBidderIndex, auctionIndex);
         }
 
-        // 새로운 입찰을 Redis에 기록
-        redisBidService.placeBid(auctionIndex, auctionInfoDto.getBidAmount(), bidder.getNickname());
-        log.info("Bid placed in Redis: auctionId={}, amount={}, user={}", auctionIndex, auctionInfoDto.getBidAmount(), bidder.getNickname());
+        log.info("Bid placed in Redis: auctionId={}, amount={}, user={}", auctionIndex, placement.getTopBid(), bidder.nickname());
 
-//        // 최고 입찰가 업데이트 후 프론트로 전달
-        Double highestBid = redisBidService.getHighestBid(auctionIndex);
-        auctionInfoDto.setBidAmount(highestBid.longValue());
-        auctionInfoDto.setBidderNickname(bidder.getNickname());
+        // 최고 입찰가 업데이트 후 프론트로 전달
+        auctionInfoDto.setBidAmount(placement.getTopBid());
+        auctionInfoDto.setBidderNickname(bidder.nickname());
 
-        // DB에 저장 (필요한 경우 주기적으로 배치 처리)
-        AuctionInfo auctionInfo = auctionInfoDto.toEntity(auction, bidder);
-        auctionInfo.setBidTime(LocalDateTime.now());
-        auctionInfoRepository.save(auctionInfo);
-        log.info("Bid saved to DB: {}", auctionInfo);
+        // DB 저장/알림/집계는 입찰 스트림 소비자가 처리하므로 바로 브로드캐스트 대상으로 넘긴다
+        auctionInfoDto.setBidTime(LocalDateTime.now());
 
-        // 저장된 입찰 정보를 브로드캐스트
         return auctionInfoDto;
     }
+
+    // Redis 에 입찰 규칙이 없을 때(만료/방송 시작 시 저장 실패) 경매를 한 번 조회해 저장
+    private void loadLiveRules(Long auctionIndex) {
+        Auction auction = auctionRepository.findById(auctionIndex)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid auction ID"));
+        redisBidService.saveLiveRules(auctionIndex, "방송중".equals(auction.getAuctionStatus()),
+                auction.getStartingPrice(), auction.getBidIncrement());
+    }
 }
@@ -1,5 +1,6 @@
 package bibid.controller.specialAuction;
 
+import bibid.dto.BidPlacementResultDto;
 import bibid.service.specialAuction.RedisBidService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,7 +20,10 @@ public class BidRestController {
     @PostMapping("/{auctionIndex}")
     public ResponseEntity<String> placeBid(@PathVariable("auctionIndex") Long auctionIndex, @RequestParam double bidAmount, @RequestParam String userId) {
         log.info("Received bid request - auction: {}, user: {}, amount: {}", auctionIndex, userId, bidAmount);
-        redisBidService.placeBid(auctionIndex, bidAmount, userId);
+        BidPlacementResultDto placement = redisBidService.placeBid(auctionIndex, bidAmount, userId);
+        if (!placement.isAccepted()) {
+            return ResponseEntity.badRequest().body("Bid rejected. Current highest bid: " + placement.getTopBid());
+        }
         return ResponseEntity.ok("Bid placed successfully.");
     }
 
@@ -2,17 +2,17 @@ package bibid.controller.specialAuction;
 
 import bibid.dto.ChatDto;
 import bibid.entity.*;
-import bibid.entity.CustomUserDetails;
-import bibid.repository.auction.AuctionRepository;
-import bibid.repository.specialAuction.ChatRepository;
+import bibid.service.member.SessionMemberService;
+import bibid.service.member.SessionMemberService.SessionMember;
 import bibid.service.specialAuction.RedisChatService;
+import bibid.service.specialAuction.impl.ChatWriteBehindWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.stereotype.Controller;
 
 import java.security.Principal;
@@ -27,46 +27,38 @@ import java.util.Set;
 @Slf4j
 public class ChatController {
 
-    private final AuctionRepository auctionRepository;
-    private final UserDetailsService userDetailsService;
-    private final ChatRepository chatRepository;
+    private final SessionMemberService sessionMemberService;
     private final RedisChatService redisChatService;
+    private final ChatWriteBehindWriter chatWriteBehindWriter;
 
     // 참여자 수를 관리하는 Map
     private final Map<Long, Set<String>> participants = new HashMap<>();
 
     @MessageMapping("/chat.sendMessage/{auctionIndex}")
     @SendTo("/topic/public/{auctionIndex}")
-    public ChatDto sendMessage(@DestinationVariable Long auctionIndex, @Payload ChatDto chatDto, Principal principal) {
+    public ChatDto sendMessage(@DestinationVariable Long auctionIndex, @Payload ChatDto chatDto,
+                               SimpMessageHeaderAccessor headerAccessor, Principal principal) {
 
-        // principal이 사용자 이름(String)일 수 있음
-        if (principal == null) {
-            throw new IllegalStateException("현재 인증된 사용자를 찾을 수 없습니다.");
-        }
-
-        // 사용자 이름을 principal에서 가져옴
-        String username = principal.getName();
-
-        // UserDetailsService를 사용하여 사용자 정보 로드
-        CustomUserDetails userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(username);
-        Member sender = userDetails.getMember();
-
-        // 경매 정보 조회
-        Auction auction = auctionRepository.findById(auctionIndex)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid auction ID"));
-
-        chatDto.setSendTime(LocalDateTime.now());
-        Chat chat = chatDto.toEntity(auction.getChatRoom(), sender);
-        Chat savedChat = chatRepository.save(chat);
+        // CONNECT 시 세션에 저장한 회원 정보 (메시지마다 회원 조회하지 않음)
+        SessionMember sessionMember = sessionMemberService.current(headerAccessor, principal);
 
-        log.info("savedChat : {}", savedChat);
+        // 채팅방 번호는 노드별로 한 번만 조회 (경매/채팅방 엔티티를 읽지 않음)
+        ChatDto savedChatDto = ChatDto.builder()
+                .chatRoomIndex(chatWriteBehindWriter.chatRoomIndexOf(auctionIndex))
+                .chatMessage(chatDto.getChatMessage())
+                .senderIndex(sessionMember.memberIndex())
+                .senderNickname(sessionMember.nickname())
+                .sendTime(LocalDateTime.now())
+                .messageType(chatDto.getMessageType())
+                .build();
 
-        // Redis에 메시지 저장
-        redisChatService.saveChatMessage(auctionIndex, savedChat.toDto());
-        log.info("saveChatMessage 호출됨: auctionIndex={}, message={}", auctionIndex, chatDto.getChatMessage());
+        // Redis 채팅 스트림에 추가 (스트림 ID 는 클라이언트 이어 받기 기준)
+        savedChatDto.setStreamId(redisChatService.saveChatMessage(auctionIndex, savedChatDto));
 
+        // DB 저장은 기다리지 않고 write-behind 큐에 넘긴 뒤 바로 방송 (채팅 번호는 저장 시 발급)
+        chatWriteBehindWriter.enqueue(savedChatDto);
 
-        return savedChat.toDto();
+        return savedChatDto;
 
     }
 
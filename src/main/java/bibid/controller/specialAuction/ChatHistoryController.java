@@ -1,12 +1,18 @@
 package bibid.controller.specialAuction;
 
 import bibid.dto.ChatDto;
+import bibid.dto.CursorPageDto;
+import bibid.dto.ResponseDto;
+import bibid.repository.specialAuction.ChatHistoryQueryRepository;
 import bibid.service.specialAuction.RedisChatService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -18,21 +24,49 @@ import java.util.List;
 public class ChatHistoryController {
 
     private final RedisChatService redisChatService;
+    private final ChatHistoryQueryRepository chatHistoryQueryRepository;
 
+    // 입장 시 최근 채팅 (채팅 스트림의 최근 backlog-size 건)
     @GetMapping("/lastMinute/{auctionIndex}")
     public List<ChatDto> getLastMinuteChatMessages(@PathVariable("auctionIndex") Long auctionIndex) {
-        log.info("getLastMinuteChatMessages 호출 - auctionIndex: {}", auctionIndex);
+        List<ChatDto> recentMessages = redisChatService.getRecentMessages(auctionIndex);
+        log.info("최근 채팅 조회 - auctionIndex: {}, 메시지 개수: {}", auctionIndex, recentMessages.size());
+        return recentMessages;
+    }
 
-        // Redis에서 1분 내 채팅 메시지 리스트 가져오기
-        List<ChatDto> lastMinuteMessages = redisChatService.getLastMinuteMessages(auctionIndex);
+    // 재접속 시 마지막으로 받은 메시지(streamId) 이후 채팅
+    @GetMapping("/stream/{auctionIndex}")
+    public List<ChatDto> getChatMessagesSince(@PathVariable("auctionIndex") Long auctionIndex,
+                                              @RequestParam("since") String sinceId,
+                                              @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return redisChatService.getMessagesSince(auctionIndex, sinceId, limit);
+    }
 
-        if (lastMinuteMessages.isEmpty()) {
-            log.info("최근 1분 내 메시지가 없음. auctionIndex: {}", auctionIndex);
-        } else {
-            log.info("최근 1분 내 메시지 개수: {}", lastMinuteMessages.size());
-            log.info("최근 1분 내 메시지 리스트: {}", lastMinuteMessages);
-        }
+    /**
+     * DB 에 저장된 채팅 기록 (최신순 커서 페이지)
+     * 종료된 경매처럼 채팅 스트림에 남아 있지 않은 채팅을 nextCursor 로 이전 메시지까지 거슬러 조회한다.
+     */
+    @GetMapping("/history/{auctionIndex}")
+    public ResponseEntity<?> getChatHistory(@PathVariable("auctionIndex") Long auctionIndex,
+                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                            @RequestParam(value = "size", defaultValue = "30") int size) {
+        ResponseDto<CursorPageDto<ChatDto>> responseDto = new ResponseDto<>();
 
-        return lastMinuteMessages;
+        try {
+            responseDto.setItem(chatHistoryQueryRepository.findHistoryByCursor(auctionIndex, cursor, Math.max(1, Math.min(size, 100))));
+            responseDto.setStatusCode(HttpStatus.OK.value());
+            responseDto.setStatusMessage("ok");
+
+            return ResponseEntity.ok(responseDto);
+        } catch (IllegalArgumentException e) {
+            responseDto.setStatusCode(HttpStatus.BAD_REQUEST.value());
+            responseDto.setStatusMessage(e.getMessage());
+            return ResponseEntity.badRequest().body(responseDto);
+        } catch (Exception e) {
+            log.error("chat history error: {}", e.getMessage());
+            responseDto.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            responseDto.setStatusMessage(e.getMessage());
+            return ResponseEntity.internalServerError().body(responseDto);
+        }
     }
 }
@@ -14,6 +14,7 @@ import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Controller;
 
+import java.security.Principal;
 import java.time.LocalDateTime;
 
 @Controller
@@ -28,11 +29,11 @@ public class ChatRoomController {
 
     // 참가자 입장 메시지 처리
     @MessageMapping("/chatroom/{auctionIndex}/enter")
-    public void enterAuction(@DestinationVariable Long auctionIndex, @Payload String nickname) {
+    public void enterAuction(@DestinationVariable Long auctionIndex, @Payload String nickname, Principal principal) {
         log.info("User {} attempting to enter auction {}", nickname, auctionIndex);
 
-        // Redis에 참가자 추가
-        redisParticipantService.enterAuction(auctionIndex, nickname);
+        // Redis에 참가자 추가 (참가자 수는 주기마다 모아서 전송, 입장한 사용자에게는 현재 참가자 수를 바로 전송)
+        redisParticipantService.enterAuction(auctionIndex, nickname, principal != null ? principal.getName() : null);
         log.info("Added {} to Redis for auction {}", nickname, auctionIndex);
 
         // DB에 입장 기록 추가
@@ -64,10 +65,6 @@ public class ChatRoomController {
         } catch (Exception e) {
             log.error("Error while processing entry for auction {}: {}", auctionIndex, e.getMessage());
         }
-
-        // 참가자 수 업데이트 및 입장 메시지 브로드캐스트
-        redisParticipantService.sendParticipantCountUpdate(auctionIndex);
-        log.info("Broadcasted participant count update for auction {}", auctionIndex);
     }
 
     // 참가자 퇴장 메시지 처리
@@ -75,7 +72,7 @@ public class ChatRoomController {
     public void leaveAuction(@DestinationVariable Long auctionIndex, @Payload String nickname) {
         log.info("User {} attempting to leave auction {}", nickname, auctionIndex);
 
-        // Redis에서 참가자 제거
+        // Redis에서 참가자 제거 (참가자 수는 주기마다 모아서 전송)
         redisParticipantService.leaveAuction(auctionIndex, nickname);
         log.info("Removed {} from Redis for auction {}", nickname, auctionIndex);
 
@@ -100,9 +97,5 @@ public class ChatRoomController {
         } catch (Exception e) {
             log.error("Error while processing entry for auction {}: {}", auctionIndex, e.getMessage());
         }
-
-        // 참가자 수 업데이트 및 퇴장 메시지 브로드캐스트
-        redisParticipantService.sendParticipantCountUpdate(auctionIndex);
-        log.info("Broadcasted participant count update for auction {}", auctionIndex);
     }
 }
@@ -10,6 +10,8 @@ import bibid.entity.LiveStationChannel;
 import bibid.entity.Member;
 import bibid.repository.livestation.LiveStationChannelRepository;
 import bibid.repository.specialAuction.SpecialAuctionRepository;
+import bibid.service.auction.AuctionChangedEvent;
+import bibid.service.specialAuction.RedisBidService;
 import bibid.service.specialAuction.SpecialAuctionService;
 import bibid.service.specialAuction.impl.GoogleTokenProvider;
 import bibid.service.specialAuction.impl.GoogleYoutubeService;
@@ -18,6 +20,7 @@ import com.google.api.services.youtube.model.LiveBroadcast;
 import com.google.api.services.youtube.model.LiveStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -42,6 +45,8 @@ public class SpecialAuctionController {
     private final SpecialAuctionRepository specialAuctionRepository;
     private final LiveStationChannelRepository channelRepository;
     private final SpecialAuctionScheduler specialAuctionScheduler;
+    private final RedisBidService redisBidService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ✅ 추가된 Google 연동 컴포넌트들
     private final GoogleYoutubeService googleYoutubeService;
@@ -113,6 +118,7 @@ public class SpecialAuctionController {
             // 5. 옥션 상태도 종료로 업데이트
             auction.setAuctionStatus("종료됨");
             specialAuctionRepository.save(auction);
+            eventPublisher.publishEvent(new AuctionChangedEvent(auctionIndex, AuctionChangedEvent.Type.STATUS_CHANGED));
 
             return ResponseEntity.ok("YouTube 라이브 방송이 종료 및 삭제되었습니다.");
         } catch (Exception e) {
@@ -146,6 +152,9 @@ public class SpecialAuctionController {
 
             auction.setAuctionStatus("방송중");
             specialAuctionRepository.save(auction);
+            // 입찰마다 경매를 조회하지 않도록 입찰 규칙을 Redis 에 저장
+            redisBidService.saveLiveRules(auctionIndex, true, auction.getStartingPrice(), auction.getBidIncrement());
+            eventPublisher.publishEvent(new AuctionChangedEvent(auctionIndex, AuctionChangedEvent.Type.STATUS_CHANGED));
 
             return ResponseEntity.ok("YouTube 라이브 방송이 시작되었습니다.");
         } catch (Exception e) {
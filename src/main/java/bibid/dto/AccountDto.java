@@ -24,7 +24,7 @@ public class AccountDto {
         return Account.builder()
                 .accountIndex(this.accountIndex)
                 .member(member)
-                .userMoney(this.userMoney)
+                .userMoney(this.userMoney != null ? Long.valueOf(this.userMoney) : null)
                 .accountUseHistoryList(new ArrayList<>())
                 .build();
     }
@@ -32,10 +32,10 @@ public class AccountUseHistoryDto {
                 .member(member)
                 .auction(auction)
                 .useType(this.useType)
-                .changeAccount(this.changeAccount)
+                .changeAccount(this.changeAccount != null ? Long.valueOf(this.changeAccount) : null)
                 .account(account)
-                .beforeBalance(this.beforeBalance)
-                .afterBalance(this.afterBalance)
+                .beforeBalance(this.beforeBalance != null ? Long.valueOf(this.beforeBalance) : null)
+                .afterBalance(this.afterBalance != null ? Long.valueOf(this.afterBalance) : null)
                 .createdTime(this.createdTime)
                 .build();
     }
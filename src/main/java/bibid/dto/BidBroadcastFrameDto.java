@@ -0,0 +1,29 @@
+package bibid.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 실시간 경매 입찰 브로드캐스트 프레임
+ * FULL 프레임은 현재 최고 입찰 전체, DELTA 프레임은 직전 프레임에서 바뀐 필드만 담는다. (값이 없는 필드는 전송하지 않음)
+ * 필드 이름은 AuctionInfoDto 와 같으므로 클라이언트는 받은 필드만 덮어쓰면 된다.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BidBroadcastFrameDto {
+    private String frameType; // FULL, DELTA
+    private Long sequence;    // 경매별 프레임 번호 (단일 노드 모드는 노드 단위, 공유 브로커 모드는 Redis 에서 발급한 전체 순번)
+    private Long auctionIndex;
+    private Long bidderIndex;
+    private String bidderNickname;
+    private Long bidAmount;
+    private LocalDateTime bidTime;
+    private Integer conflatedBids; // 이번 프레임에 합쳐진 입찰 수
+}
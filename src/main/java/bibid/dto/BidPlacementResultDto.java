@@ -0,0 +1,22 @@
+package bibid.dto;
+
+import lombok.*;
+
+// Redis 입찰 스크립트 실행 결과 (수락 여부와 스크립트 실행 직후의 최고가/최고 입찰자)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class BidPlacementResultDto {
+    private boolean accepted;
+    // 실시간 경매 입찰 규칙이 Redis 에 없음 (DB 에서 읽어 저장한 뒤 다시 시도)
+    private boolean rulesMissing;
+    // 방송 중이 아닌 경매 (입찰 마감)
+    private boolean closed;
+    private Long topBid;
+    private String topBidder;
+    // 이번 입찰로 최고가 자리를 잃은 입찰자의 회원 번호 (자금 예약 해제 대상)
+    private Long previousBidderIndex;
+}
@@ -0,0 +1,28 @@
+package bibid.dto;
+
+import lombok.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+// 캐시 저장용 페이지 (PageImpl 은 역직렬화가 안 되므로 내용과 전체 건수만 보관)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class CachedPageDto<T> {
+    private List<T> content;
+    private long totalElements;
+
+    public static <T> CachedPageDto<T> of(Page<T> page) {
+        return new CachedPageDto<>(page.getContent(), page.getTotalElements());
+    }
+
+    public Page<T> toPage(Pageable pageable) {
+        return new PageImpl<>(content, pageable, totalElements);
+    }
+}
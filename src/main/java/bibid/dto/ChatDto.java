@@ -25,6 +25,8 @@ public class ChatDto {
     private String senderNickname;
     private LocalDateTime sendTime;
     private ChatMessageType messageType;
+    // 채팅 스트림 ID (이어 받기 기준, 스트림에서 읽거나 방송할 때만 채움)
+    private String streamId;
 
     public Chat toEntity(ChatRoom chatRoom, Member sender) {
         return Chat.builder()
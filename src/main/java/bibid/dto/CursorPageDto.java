@@ -0,0 +1,25 @@
+package bibid.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.function.Function;
+
+// 커서(keyset) 기반 페이지 - nextCursor 를 다음 요청의 cursor 로 넘기면 이어서 조회된다
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class CursorPageDto<T> {
+    private List<T> content;
+    private String nextCursor;       // 마지막 페이지면 null
+    private boolean hasNext;
+    private int size;
+    private Long totalElements;      // 첫 페이지에서만 채움 (캐시된 전체 건수)
+
+    public <R> CursorPageDto<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPageDto<>(content.stream().<R>map(mapper).toList(), nextCursor, hasNext, size, totalElements);
+    }
+}
@@ -0,0 +1,13 @@
+package bibid.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProxyBidRequestDto {
+    private Long maxBidAmount; // 자동 입찰 최대 금액
+}
@@ -16,7 +16,7 @@ import java.util.Optional;
         name = "accountSeqGenerator",
         sequenceName = "ACCOUNT_SEQ",
         initialValue = 1,
-        allocationSize = 1
+        allocationSize = 50
 )
 @Getter
 @Setter
@@ -35,7 +35,12 @@ public class Account {
     @JoinColumn(name = "memberIndex")
     private Member member;
 
-    private String userMoney;
+    // 잔액 (원 단위). 입출금은 AccountRepository 의 원자적 debit/credit 쿼리로만 변경한다.
+    private Long userMoney;
+
+    // 낙관적 락 버전. 원자적 갱신 쿼리도 함께 증가시켜 오래된 엔티티의 덮어쓰기를 막는다.
+    @Version
+    private Long version;
 
     // 경매 정보
     @OneToMany(mappedBy = "account", cascade = CascadeType.ALL)
@@ -46,7 +51,7 @@ public class Account {
         return AccountDto.builder()
                 .accountIndex(this.accountIndex)
                 .memberIndex(this.member.getMemberIndex())
-                .userMoney(this.userMoney)
+                .userMoney(this.userMoney != null ? String.valueOf(this.userMoney) : null)
                 .accountUseHistoryDtoList(
                         Optional.ofNullable(accountUseHistoryList).map(list -> list.stream().map(AccountUseHistory::toDto).toList())
                                 .orElse(new ArrayList<>()))
@@ -15,7 +15,7 @@ import java.time.LocalDateTime;
         name = "accountUseHistorySeqGenerator",
         sequenceName = "ACCOUNTUSEHISTORY_SEQ",
         initialValue = 1,
-        allocationSize = 1
+        allocationSize = 50
 )
 @Getter
 @Setter
@@ -39,14 +39,19 @@ public class AccountUseHistory {
     private Auction auction;
 
     private String useType; // 입찰(-), 반환(+), 충전(+), 환전(-)
-    private String changeAccount;
+
+    // 금액 컬럼은 원장 성격이므로 기록 후 변경하지 않는다.
+    @Column(updatable = false)
+    private Long changeAccount;
 
     @ManyToOne
     @JoinColumn(name = "accountIndex")
     private Account account;
 
-    private String beforeBalance;
-    private String afterBalance;
+    @Column(updatable = false)
+    private Long beforeBalance;
+    @Column(updatable = false)
+    private Long afterBalance;
 
     @CreationTimestamp
     private LocalDateTime createdTime;
@@ -57,10 +62,10 @@ public class AccountUseHistory {
                 .memberIndex(this.member.getMemberIndex())
                 .auctionIndex(this.auction != null ? this.auction.getAuctionIndex() : null)
                 .useType(this.useType)
-                .changeAccount(this.changeAccount)
+                .changeAccount(this.changeAccount != null ? String.valueOf(this.changeAccount) : null)
                 .accountIndex(this.account.getAccountIndex())
-                .beforeBalance(this.beforeBalance)
-                .afterBalance(this.afterBalance)
+                .beforeBalance(this.beforeBalance != null ? String.valueOf(this.beforeBalance) : null)
+                .afterBalance(this.afterBalance != null ? String.valueOf(this.afterBalance) : null)
                 .createdTime(this.createdTime)
                 .productName(this.auction != null ? this.auction.getProductName() : null)
                 .auctionType(this.auction != null ? this.auction.getAuctionType() : null)
@@ -9,7 +9,7 @@ import lombok.*;
         name = "addressSeqGenerator",
         sequenceName = "ADDRESS_SEQ",
         initialValue = 1,
-        allocationSize = 1
+        allocationSize = 50
 )
 @Getter
 @Setter
@@ -11,11 +11,19 @@ import java.util.List;
 import java.util.Optional;
 
 @Entity
+@Table(indexes = {
+        // 목록 커서 조회용 (정렬 값, 경매 번호) 인덱스
+        @Index(name = "idx_auction_type_regdate", columnList = "auctionType, regdate, auctionIndex"),
+        @Index(name = "idx_auction_type_view_cnt", columnList = "auctionType, viewCnt, auctionIndex"),
+        @Index(name = "idx_auction_type_category_regdate", columnList = "auctionType, category, regdate, auctionIndex"),
+        @Index(name = "idx_auction_type_category_view_cnt", columnList = "auctionType, category, viewCnt, auctionIndex"),
+        @Index(name = "idx_auction_type_ending", columnList = "auctionType, endingLocalDateTime, auctionIndex")
+})
 @SequenceGenerator(
         name = "auctionSeqGenerator",
         sequenceName = "AUCTION_SEQ",
         initialValue = 1,
-        allocationSize = 1
+        allocationSize = 50
 )
 @Getter
 @Setter
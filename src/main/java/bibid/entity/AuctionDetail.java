@@ -10,7 +10,7 @@ import lombok.*;
         name = "auctionDetailSeqGenerator",
         sequenceName = "AUCTION_DETAIL_SEQ",
         initialValue = 1,
-        allocationSize = 1
+        allocationSize = 50
 )
 @Getter
 @Setter
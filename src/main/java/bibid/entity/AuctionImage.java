@@ -15,7 +15,7 @@ import lombok.*;
         name = "auctionImageSeqGenerator",
         sequenceName = "AUCTION_IMAGE_SEQ",
         initialValue = 1,
-        allocationSize = 1
+        allocationSize = 50
 )
 @Builder
 public class AuctionImage {
@@ -7,11 +7,17 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        // 경매별 최신 입찰(낙찰자) 조회용
+        @Index(name = "idx_auction_info_auction_bid_time", columnList = "auctionIndex, bidTime, auctionInfoIndex"),
+        // 실시간 경매 입찰 스트림 항목은 한 번만 저장 (여러 노드가 같은 항목을 저장해도 ON CONFLICT 로 무시)
+        @Index(name = "uk_auction_info_stream_entry", columnList = "auctionIndex, streamEntryId", unique = true)
+})
 @SequenceGenerator(
         name = "auctionInfoSeqGenerator",
         sequenceName = "AUCTION_INFO_SEQ",
         initialValue = 1,
-        allocationSize = 1
+        allocationSize = 50
 )
 @Getter
 @Setter
@@ -37,6 +43,7 @@ public class AuctionInfo {
     private LocalDateTime bidTime; // 입찰시간
     private Long bidAmount; // 입찰금액
     private String bidderNickname;
+    private String streamEntryId; // 입찰 스트림 항목 ID (스트림에서 저장한 실시간 입찰만)
 
     public AuctionInfoDto toDto() {
         return AuctionInfoDto.builder()
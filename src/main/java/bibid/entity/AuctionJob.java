@@ -0,0 +1,56 @@
+package bibid.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 경매 시작/종료/알림 예약 작업 (노드 재시작 후에도 남고 다중 노드에서도 한 번만 실행되도록 DB 에 보관)
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_auction_job_status_run_at", columnList = "status, runAt"),
+        @Index(name = "idx_auction_job_auction", columnList = "auctionIndex")
+})
+@SequenceGenerator(
+        name = "auctionJobSeqGenerator",
+        sequenceName = "AUCTION_JOB_SEQ",
+        initialValue = 1,
+        allocationSize = 50
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuctionJob {
+
+    @Id
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "auctionJobSeqGenerator"
+    )
+    private Long auctionJobIndex;
+
+    @Column(unique = true, nullable = false)
+    private String jobKey; // 작업 종류 + 대상 (예: live:end:12, live:remind:12:3)
+
+    @Column(nullable = false)
+    private String jobType; // GENERAL_START, GENERAL_END, LIVE_END, LIVE_REMINDER
+
+    private Long auctionIndex;
+    private Long memberIndex;      // 알림 대상 회원
+    private Long referenceIndex;   // 알림 번호 등
+
+    @Column(nullable = false)
+    private LocalDateTime runAt;
+
+    @Column(nullable = false)
+    private String status; // PENDING, RUNNING, DONE, FAILED
+
+    private String lockedBy;            // 작업을 가져간 노드
+    private LocalDateTime lockedUntil;  // 실행 lease 만료 시각 (지나면 다른 노드가 다시 가져갈 수 있음)
+    private int attempts;
+
+    private LocalDateTime regdate;
+    private LocalDateTime moddate;
+}
@@ -18,7 +18,7 @@ import java.time.LocalDate;
         name = "bannerSeqGenerator",
         sequenceName = "BANNER_SEQ",
         initialValue = 1,
-        allocationSize = 1
+        allocationSize = 50
 )
 @Getter
 @Setter
@@ -7,11 +7,17 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        // 채팅 기록 커서 조회 (채팅방 번호, 전송 시각 + 채팅 번호 역순)
+        @Index(name = "idx_chat_room_send_time", columnList = "chatRoomIndex, sendTime, ChatIndex"),
+        // 채팅 스트림 항목은 한 번만 저장 (기동 시 스트림 복구와 write-behind 저장이 겹쳐도 ON CONFLICT 로 무시)
+        @Index(name = "uk_chat_stream_entry", columnList = "chatRoomIndex, streamEntryId", unique = true)
+})
 @SequenceGenerator(
         name = "chatSeqGenerator",
         sequenceName = "CHAT_SEQ",
         initialValue = 1,
-        allocationSize = 1
+        allocationSize = 50
 )
 @Getter
 @Setter
@@ -37,6 +43,7 @@ public class Chat {
     private Member sender;
     private LocalDateTime sendTime;
     private ChatMessageType messageType;
+    private String streamEntryId; // 채팅 스트림 항목 ID (스트림에 추가된 일반 메시지만)
 
     public ChatDto toDto(){
         return ChatDto.builder()
@@ -17,7 +17,7 @@ import java.util.Optional;
         name = "chatroomSeqGenerator",
         sequenceName = "CHATROOM_SEQ",
         initialValue = 1,
-        allocationSize = 1
+        allocationSize = 50
 )
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,7 +13,7 @@ import java.util.Optional;
         name = "chatRoomManagementSeqGenerator",
         sequenceName = "CHATROOM_MANAGEMENT_SEQ",
         initialValue = 1,
-        allocationSize = 1
+        allocationSize = 50
 )
 @Getter
 @Setter
@@ -14,7 +14,7 @@ import lombok.*;
         name = "liveStationChannelSeqGenerator",
         sequenceName = "LIVE_STATION_CHANNEL_SEQ",
         initialValue = 1,
-        allocationSize = 1
+        allocationSize = 50
 )
 public class LiveStationChannel {
 
@@ -13,7 +13,7 @@ import java.sql.Timestamp;
         name = "memberSeqGenerator",
         sequenceName = "MEMBER_SEQ",
         initialValue = 1,
-        allocationSize = 1
+        allocationSize = 50
 )
 @Getter
 @Setter
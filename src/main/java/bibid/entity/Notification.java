@@ -14,7 +14,7 @@ import java.util.Map;
         name = "notificationSeqGenerator",
         sequenceName = "NOTIFICATION_SEQ",
         initialValue = 1,
-        allocationSize = 1
+        allocationSize = 50
 )
 @Getter
 @Setter
@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
         name = "profileImageSeqGenerator",
         sequenceName = "PROFILEIMAGE_SEQ",
         initialValue = 1,
-        allocationSize = 1
+        allocationSize = 50
 )
 @Getter
 @Setter
@@ -14,7 +14,7 @@ import java.time.LocalDateTime;
         name = "qnaSeqGenerator",
         sequenceName = "QNA_SEQ",
         initialValue = 1,
-        allocationSize = 1
+        allocationSize = 50
 )
 @Getter
 @Setter
@@ -9,7 +9,7 @@ import lombok.*;
         name = "sellerInfoSeqGenerator",
         sequenceName = "SELLERINFO_SEQ",
         initialValue = 1,
-        allocationSize = 1
+        allocationSize = 50
 )
 @Getter
 @Setter
@@ -1,6 +1,7 @@
 package bibid.exception.controller;
 
 
+import bibid.exception.errorCode.BidRejectedException;
 import bibid.exception.errorCode.ErrorCode;
 import bibid.exception.errorCode.MakeSignatureException;
 import bibid.exception.errorCode.ObjectStorageException;
@@ -75,6 +76,15 @@ public class ExceptionController {
         return setResponse(response, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(BidRejectedException.class)
+    public ResponseEntity<String> bidRejectedExceptionHandler(BidRejectedException e) {
+        ErrorResponse response = new ErrorResponse(ErrorCode.BID_REJECTED.getCode(), e.getMessage());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1L, (e.getRetryAfterMillis() + 999) / 1000)));
+        return new ResponseEntity<>(createResponseJson(response), headers, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<String> runtimeExceptionHandler(RuntimeException e) {
         System.out.println("에러났음 : "+  e);
@@ -0,0 +1,23 @@
+package bibid.exception.errorCode;
+
+import lombok.Getter;
+
+/**
+ * 입찰 유입 제한으로 거절된 입찰 (429)
+ * 과부하 시 대량으로 발생하므로 스택 트레이스를 만들지 않는다.
+ */
+@Getter
+public class BidRejectedException extends RuntimeException {
+
+    private final long retryAfterMillis;
+
+    public BidRejectedException(String message, long retryAfterMillis) {
+        super(message);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
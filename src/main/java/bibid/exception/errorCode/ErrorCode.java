@@ -22,6 +22,8 @@ public enum ErrorCode {
     OBJECT_STORAGE(3002, "Object Storage 오류 입니다."),
     URL_SYNTAX(3003, "서버 내부 API 요청시 URL 오류 입니다."),
 
+    BID_REJECTED(4001, "입찰 요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
+
     RUN_TIME(9997, "RUN_TIME 예외입니다. 백엔드 문제일 확률 높음"),
     ILLEGAL_STATE(9998, "ILLEGAL_STATE 예외입니다. 백엔드 문제일 확률 높음"),
     EXCEPTION(9999, "예외입니다. 백엔드에서 세부화하든 프론트 문제든 난 몰라");
@@ -0,0 +1,165 @@
+package bibid.jwt;
+
+import bibid.entity.CustomUserDetails;
+import bibid.entity.Member;
+import bibid.repository.member.MemberRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 인증 결과 캐시 (HTTP 요청 필터용)
+ * 토큰의 SHA-256 해시를 키로 검증된 claims 와 회원 기본 정보만 담은 principal 을 보관해,
+ * 같은 토큰으로 들어오는 요청마다 서명 검증과 회원 조회(계좌/판매자 정보/프로필 이미지 즉시 로딩 포함)를 반복하지 않는다.
+ * 항목은 설정한 TTL 과 토큰 만료 시각 중 빠른 쪽에 만료되고, 로그아웃/비밀번호 변경/회원 정보 변경 시 무효화한다.
+ * 무효화는 Redis pub/sub 으로 다른 노드의 캐시에도 전달한다.
+ */
+@Component
+@Slf4j
+public class AuthenticatedPrincipalCache {
+
+    private static final String INVALIDATION_CHANNEL = "auth:principal:invalidation";
+    private static final String TOKEN_MESSAGE_PREFIX = "token:";
+    private static final String MEMBER_MESSAGE_PREFIX = "member:";
+
+    private final JwtProvider jwtProvider;
+    private final MemberRepository memberRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Cache<String, CachedPrincipal> cache;
+
+    public AuthenticatedPrincipalCache(JwtProvider jwtProvider,
+                                       MemberRepository memberRepository,
+                                       RedisTemplate<String, String> redisTemplate,
+                                       RedisMessageListenerContainer redisMessageListenerContainer,
+                                       @Value("${auth.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                                       @Value("${auth.principal-cache.max-size:10000}") long maxSize) {
+        this.jwtProvider = jwtProvider;
+        this.memberRepository = memberRepository;
+        this.redisTemplate = redisTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(Duration.ofSeconds(ttlSeconds).toNanos()))
+                .build();
+
+        redisMessageListenerContainer.addMessageListener(this::onInvalidationMessage, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * 토큰의 인증 정보 조회 (캐시에 없으면 토큰 검증 후 회원을 조회해 캐시)
+     * 토큰이 유효하지 않거나 회원이 없으면 예외가 발생한다.
+     */
+    public CustomUserDetails get(String token) {
+        String tokenHash = hash(token);
+        CachedPrincipal cached = cache.getIfPresent(tokenHash);
+        if (cached != null) {
+            return cached.userDetails();
+        }
+
+        Claims claims = jwtProvider.validateAndGetClaims(token);
+        Member member = memberRepository.findByMemberId(claims.getSubject()).orElseThrow(
+                () -> new RuntimeException("member not exist")
+        );
+
+        CachedPrincipal principal = new CachedPrincipal(claims.getSubject(),
+                claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE,
+                CustomUserDetails.builder().member(slim(member)).build());
+        cache.put(tokenHash, principal);
+        return principal.userDetails();
+    }
+
+    // 로그아웃 시 호출 - 해당 토큰의 캐시 제거
+    public void invalidateToken(String token) {
+        publish(TOKEN_MESSAGE_PREFIX + hash(token));
+    }
+
+    // 비밀번호/권한/회원 정보 변경 시 호출 - 해당 회원의 모든 토큰 캐시 제거
+    public void invalidateMember(String memberId) {
+        publish(MEMBER_MESSAGE_PREFIX + memberId);
+    }
+
+    private void publish(String message) {
+        // 내 노드는 바로 지우고, 다른 노드에는 pub/sub 으로 알림 (내 노드도 다시 받지만 제거는 멱등)
+        evict(message);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (Exception e) {
+            log.warn("인증 캐시 무효화 메시지 전송 실패 - {}", message, e);
+        }
+    }
+
+    private void onInvalidationMessage(Message message, byte[] pattern) {
+        evict(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void evict(String message) {
+        if (message.startsWith(TOKEN_MESSAGE_PREFIX)) {
+            cache.invalidate(message.substring(TOKEN_MESSAGE_PREFIX.length()));
+        } else if (message.startsWith(MEMBER_MESSAGE_PREFIX)) {
+            String memberId = message.substring(MEMBER_MESSAGE_PREFIX.length());
+            cache.asMap().values().removeIf(principal -> principal.memberId().equals(memberId));
+        }
+    }
+
+    // 연관 엔티티 없이 기본 정보만 담은 회원 (컨트롤러는 회원 번호/아이디/닉네임/권한만 사용)
+    private Member slim(Member member) {
+        return Member.builder()
+                .memberIndex(member.getMemberIndex())
+                .memberId(member.getMemberId())
+                .name(member.getName())
+                .nickname(member.getNickname())
+                .email(member.getEmail())
+                .role(member.getRole())
+                .oauthType(member.getOauthType())
+                .build();
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 캐시 항목 (expiresAtMillis = 토큰 만료 시각)
+     */
+    private record CachedPrincipal(String memberId, long expiresAtMillis, CustomUserDetails userDetails) {
+    }
+
+    // 설정한 TTL 과 토큰 만료까지 남은 시간 중 짧은 쪽으로 만료
+    private record TokenExpiry(long ttlNanos) implements Expiry<String, CachedPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedPrincipal value, long currentTime) {
+            long untilTokenExpiry = TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAtMillis() - System.currentTimeMillis()));
+            return Math.min(ttlNanos, untilTokenExpiry);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
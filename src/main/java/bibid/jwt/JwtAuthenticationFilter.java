@@ -12,7 +12,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -22,15 +21,14 @@ import java.io.IOException;
 
 // Spring Security에 Filter로 등록해서 요청이 올 때마다 자동으로
 // doFilterInternal 메소드가 동작
-// JwtProvider의 validateAndGetSubject 메소드를 호출해서
-// JWT의 유효성 검사를 진행하고 유효하면 username을 리턴받아
-// username에 해당하는 Member를 Spring Security Context에 등록
+// AuthenticatedPrincipalCache로 JWT의 유효성 검사를 진행하고 유효하면
+// 토큰 주인(username)에 해당하는 Member를 Spring Security Context에 등록
+// (같은 토큰의 검증 결과와 회원 기본 정보는 캐시되어 요청마다 회원을 조회하지 않음)
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    private final JwtProvider jwtProvider;
-    private final UserDetailsService userDetailsService;
+    private final AuthenticatedPrincipalCache authenticatedPrincipalCache;
 
 //    private String parseBearerToken(HttpServletRequest request) {
 //        /*
@@ -77,13 +75,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             // 토큰의 유효성 검사 및 Security Context에 Member 등록
             if (token != null && !token.equalsIgnoreCase("null")) {
-                // JwtProvider의 validateAndGetSubject 메소드로 토큰의 유효성 검사 및
-                // username 가져오기
-                String username = jwtProvider.validateAndGetSubject(token);
-                log.info("Username from token: {}", username);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                log.info("Loaded user details: {}", userDetails);
+                // 토큰의 유효성 검사 및 회원 정보 가져오기 (캐시에 없을 때만 검증/조회)
+                UserDetails userDetails = authenticatedPrincipalCache.get(token);
+                log.debug("Authenticated user from token: {}", userDetails.getUsername());
 
                 // Security Context에 등록될 Authentication Token 객체 생성
                 AbstractAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
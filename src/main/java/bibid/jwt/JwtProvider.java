@@ -51,12 +51,16 @@ public class JwtProvider {
     // 받아온 JWT 유효성을 검사하고
     // 유효한 JWT일 경우 토큰의 주인(subject(username))를 리턴하는 메소드
     public String validateAndGetSubject(String token) {
-        Claims claims = Jwts.parser()
+        return validateAndGetClaims(token).getSubject();
+    }
+
+    // 받아온 JWT 유효성을 검사하고 검증된 claims(subject, 만료 시각 등)를 리턴하는 메소드
+    public Claims validateAndGetClaims(String token) {
+        return Jwts.parser()
                 .verifyWith(key)
                 .build()
                 .parseSignedClaims(token)
                 .getPayload();
-        return claims.getSubject();
     }
 
 
@@ -88,7 +88,7 @@ public class GoogleServiceImpl {
                 .build();
 
         // Account, SellerInfo 연동
-        googleMember.setAccount(Account.builder().member(googleMember).userMoney("1000000").build());
+        googleMember.setAccount(Account.builder().member(googleMember).userMoney(1000000L).build());
         googleMember.setSellerInfo(SellerInfo.builder().member(googleMember).build());
 
         return memberRepository.save(googleMember);
@@ -151,7 +151,7 @@ public class KakaoServiceImpl {
 
             Account account = Account.builder()
                     .member(kakaoMember)
-                    .userMoney("1000000")
+                    .userMoney(1000000L)
                     .build();
             kakaoMember.setAccount(account);
 
@@ -159,7 +159,7 @@ public class NaverServiceImpl {
 
             Account account = Account.builder()
                     .member(naverMember)
-                    .userMoney("1000000")
+                    .userMoney(1000000L)
                     .build();
             naverMember.setAccount(account);
             
@@ -2,10 +2,35 @@ package bibid.repository.account;
 
 import bibid.entity.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
     Optional<Account> findByMember_MemberIndex(Long memberIndex);
+
+    // 잔액이 충분할 때만 차감 (갱신된 행 수가 0 이면 잔액 부족)
+    @Modifying
+    @Query("UPDATE Account a SET a.userMoney = a.userMoney - :amount, a.version = a.version + 1 " +
+            "WHERE a.member.memberIndex = :memberIndex AND a.userMoney >= :amount")
+    int debit(@Param("memberIndex") Long memberIndex, @Param("amount") long amount);
+
+    @Modifying
+    @Query("UPDATE Account a SET a.userMoney = a.userMoney + :amount, a.version = a.version + 1 " +
+            "WHERE a.member.memberIndex = :memberIndex")
+    int credit(@Param("memberIndex") Long memberIndex, @Param("amount") long amount);
+
+    // 엔티티를 올리지 않고 계좌 번호와 잔액만 조회
+    @Query("SELECT a.accountIndex AS accountIndex, a.userMoney AS userMoney FROM Account a " +
+            "WHERE a.member.memberIndex = :memberIndex")
+    Optional<AccountBalance> findBalanceByMemberIndex(@Param("memberIndex") Long memberIndex);
+
+    interface AccountBalance {
+        Long getAccountIndex();
+
+        Long getUserMoney();
+    }
 }
@@ -3,6 +3,11 @@ package bibid.repository.account;
 import bibid.entity.AccountUseHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
+
 public interface AccountUseHistoryRepository extends JpaRepository<AccountUseHistory, Long> {
       AccountUseHistory findByMember_MemberIndex(Long memberIndex);
+
+      Optional<AccountUseHistory> findFirstByMember_MemberIndexAndAuction_AuctionIndexAndUseTypeAndChangeAccount(
+              Long memberIndex, Long auctionIndex, String useType, Long changeAccount);
 }
@@ -0,0 +1,254 @@
+package bibid.repository.auction;
+
+import bibid.dto.*;
+import bibid.entity.*;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 일반 경매 상세 페이지 조회 전용 read model
+ * 엔티티를 올리지 않고 필요한 컬럼만 projection 으로 읽어 AuctionResponseDto 를 조립한다.
+ * (경매+판매자+판매자 정보 / 이미지 / 입찰 / 최근 입찰자 / 문의 — 조회 5회)
+ */
+@Repository
+public class AuctionDetailQueryRepository {
+
+    private static final int LAST_BIDDER_COUNT = 3;
+
+    private final JPAQueryFactory queryFactory;
+
+    public AuctionDetailQueryRepository(JPAQueryFactory queryFactory) {
+        this.queryFactory = queryFactory;
+    }
+
+    public Optional<AuctionResponseDto> findAuctionDetailView(Long auctionIndex) {
+        QAuction auction = QAuction.auction;
+        QAuction sellerAuction = new QAuction("sellerAuction");
+        QMember seller = QMember.member;
+        QAuctionDetail auctionDetail = QAuctionDetail.auctionDetail;
+        QSellerInfo sellerInfo = QSellerInfo.sellerInfo;
+        QProfileImage profileImage = QProfileImage.profileImage;
+
+        // 경매 + 경매 세부 + 판매자 + 판매자 정보 + 프로필 이미지 + 판매자 등록 경매 수
+        Tuple header = queryFactory
+                .select(
+                        Projections.fields(AuctionDto.class,
+                                auction.auctionIndex,
+                                seller.memberIndex,
+                                seller.nickname.as("memberNickname"),
+                                auction.auctionType,
+                                auction.category,
+                                auction.subcategory,
+                                auction.productName,
+                                auction.productDescription,
+                                auction.startingPrice,
+                                auction.startingLocalDateTime,
+                                auction.endingLocalDateTime,
+                                auction.bidIncrement,
+                                auction.instantPurchaseEnabled,
+                                auction.instantPurchasePrice,
+                                auction.autoReauctionEnabled,
+                                auction.reauctionStartingPrice,
+                                auction.auctionStatus,
+                                auction.viewCnt,
+                                auction.regdate,
+                                auction.moddate),
+                        Projections.fields(AuctionDetailDto.class,
+                                auctionDetail.auctionDetailIndex,
+                                auction.auctionIndex,
+                                auctionDetail.shippingMethod,
+                                auctionDetail.costResponsibility,
+                                auctionDetail.winnerIndex,
+                                auctionDetail.winningBid,
+                                auctionDetail.winnerNickname),
+                        Projections.fields(MemberDto.class,
+                                seller.memberIndex,
+                                seller.memberId,
+                                seller.nickname),
+                        Projections.fields(SellerInfoDto.class,
+                                sellerInfo.sellerInfoIndex,
+                                seller.memberIndex,
+                                sellerInfo.businessName,
+                                sellerInfo.businessClassification,
+                                sellerInfo.salesDeclaration,
+                                sellerInfo.businessRegistrationNum,
+                                sellerInfo.exponent,
+                                sellerInfo.businessLocation,
+                                sellerInfo.salesCnt),
+                        Projections.fields(ProfileImageDto.class,
+                                profileImage.profileImageIndex,
+                                seller.memberIndex,
+                                profileImage.filepath,
+                                profileImage.filetype,
+                                profileImage.filesize,
+                                profileImage.originalname,
+                                profileImage.filestatus,
+                                profileImage.newfilename),
+                        JPAExpressions.select(sellerAuction.count())
+                                .from(sellerAuction)
+                                .where(sellerAuction.member.memberIndex.eq(seller.memberIndex)))
+                .from(auction)
+                .join(auction.member, seller)
+                .leftJoin(auction.auctionDetail, auctionDetail)
+                .leftJoin(seller.sellerInfo, sellerInfo)
+                .leftJoin(seller.profileImage, profileImage)
+                .where(auction.auctionIndex.eq(auctionIndex))
+                .fetchOne();
+
+        if (header == null) {
+            return Optional.empty();
+        }
+
+        AuctionDto auctionItem = header.get(0, AuctionDto.class);
+        AuctionDetailDto auctionDetailDto = header.get(1, AuctionDetailDto.class);
+        MemberDto sellerDto = header.get(2, MemberDto.class);
+        SellerInfoDto sellerInfoDto = header.get(3, SellerInfoDto.class);
+        ProfileImageDto profileImageDto = header.get(4, ProfileImageDto.class);
+        Long ownerAuctionCount = header.get(5, Long.class);
+
+        // left join 대상이 없으면 projection 의 식별자가 비어 있으므로 null 로 응답
+        sellerInfoDto = sellerInfoDto != null && sellerInfoDto.getSellerInfoIndex() != null ? sellerInfoDto : null;
+        sellerDto.setSellerInfoDto(sellerInfoDto);
+        sellerDto.setProfileImageDto(
+                profileImageDto != null && profileImageDto.getProfileImageIndex() != null ? profileImageDto : null);
+        auctionItem.setAuctionDetailDto(
+                auctionDetailDto != null && auctionDetailDto.getAuctionDetailIndex() != null ? auctionDetailDto : null);
+
+        List<AuctionImageDto> images = findImages(auctionIndex);
+        List<AuctionInfoDto> bids = findBids(auctionIndex);
+        auctionItem.setAuctionImageDtoList(images);
+        auctionItem.setAuctionInfoDtoList(bids);
+
+        // 최근 입찰 3건 (입찰 시각 역순)
+        List<AuctionInfoDto> lastBids = new ArrayList<>();
+        for (int i = bids.size() - 1; i >= 0 && lastBids.size() < LAST_BIDDER_COUNT; i--) {
+            lastBids.add(bids.get(i));
+        }
+
+        // 추가 정보 - 총 입찰 수, 현재 최고가(입찰이 없으면 시작가), 판매자 등록 경매 수
+        long maxNowPrice = bids.stream()
+                .mapToLong(AuctionInfoDto::getBidAmount)
+                .max()
+                .orElse(auctionItem.getStartingPrice() != null ? auctionItem.getStartingPrice() : 0L);
+        List<String> infoExtension = new ArrayList<>();
+        infoExtension.add(String.valueOf(bids.size()));
+        infoExtension.add(String.valueOf(maxNowPrice));
+        infoExtension.add(String.valueOf(ownerAuctionCount != null ? ownerAuctionCount : 0L));
+
+        AuctionResponseDto detailView = new AuctionResponseDto();
+        detailView.setAuctionItem(auctionItem);
+        detailView.setSeller(sellerDto);
+        detailView.setAuctionBidInfo(lastBids);
+        detailView.setBiddingMember(findBidders(lastBids));
+        detailView.setInfoExtension(infoExtension);
+        detailView.setSellerDetailInfo(sellerInfoDto);
+        detailView.setAuctionImages(toImagePaths(images));
+        detailView.setQnAList(findQnaList(auctionIndex));
+        return Optional.of(detailView);
+    }
+
+    private List<AuctionImageDto> findImages(Long auctionIndex) {
+        QAuctionImage auctionImage = QAuctionImage.auctionImage;
+
+        return queryFactory
+                .select(Projections.fields(AuctionImageDto.class,
+                        auctionImage.auctionImageIndex,
+                        auctionImage.auction.auctionIndex,
+                        auctionImage.filename,
+                        auctionImage.filepath,
+                        auctionImage.fileoriginname,
+                        auctionImage.filetype,
+                        auctionImage.filesize,
+                        auctionImage.isThumbnail))
+                .from(auctionImage)
+                .where(auctionImage.auction.auctionIndex.eq(auctionIndex))
+                .orderBy(auctionImage.auctionImageIndex.asc())
+                .fetch();
+    }
+
+    private List<AuctionInfoDto> findBids(Long auctionIndex) {
+        QAuctionInfo auctionInfo = QAuctionInfo.auctionInfo;
+
+        return queryFactory
+                .select(Projections.fields(AuctionInfoDto.class,
+                        auctionInfo.auctionInfoIndex,
+                        auctionInfo.auction.auctionIndex,
+                        auctionInfo.bidder.memberIndex.as("bidderIndex"),
+                        auctionInfo.bidTime,
+                        auctionInfo.bidAmount,
+                        auctionInfo.bidderNickname))
+                .from(auctionInfo)
+                .where(auctionInfo.auction.auctionIndex.eq(auctionIndex))
+                // 입찰 번호는 시퀀스 할당 방식에 따라 입찰 순서와 다를 수 있으므로 입찰 시각 순으로 정렬
+                .orderBy(auctionInfo.bidTime.asc(), auctionInfo.auctionInfoIndex.asc())
+                .fetch();
+    }
+
+    // 최근 입찰 순서대로 입찰자 정보 (같은 입찰자가 여러 번 입찰했으면 그대로 반복)
+    private List<MemberDto> findBidders(List<AuctionInfoDto> lastBids) {
+        Set<Long> bidderIndexes = lastBids.stream()
+                .map(AuctionInfoDto::getBidderIndex)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (bidderIndexes.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        QMember bidder = new QMember("bidder");
+        Map<Long, MemberDto> bidders = queryFactory
+                .select(Projections.fields(MemberDto.class,
+                        bidder.memberIndex,
+                        bidder.memberId,
+                        bidder.nickname))
+                .from(bidder)
+                .where(bidder.memberIndex.in(bidderIndexes))
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(MemberDto::getMemberIndex, Function.identity()));
+
+        return lastBids.stream()
+                .map(bid -> bidders.get(bid.getBidderIndex()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<QnADto> findQnaList(Long auctionIndex) {
+        QQnA qna = QQnA.qnA;
+        QMember writer = new QMember("writer");
+
+        return queryFactory
+                .select(Projections.fields(QnADto.class,
+                        qna.qnaIndex,
+                        writer.memberIndex,
+                        qna.qnaTitle,
+                        qna.qnaContent,
+                        qna.auction.auctionIndex,
+                        qna.regDate,
+                        writer.nickname))
+                .from(qna)
+                .join(qna.member, writer)
+                .where(qna.auction.auctionIndex.eq(auctionIndex))
+                .orderBy(qna.qnaIndex.asc())
+                .fetch();
+    }
+
+    // 썸네일을 첫 번째로, 나머지 이미지는 등록 순서대로
+    private List<String> toImagePaths(List<AuctionImageDto> images) {
+        List<String> imagePathList = new ArrayList<>();
+        images.stream()
+                .filter(AuctionImageDto::isThumbnail)
+                .findFirst()
+                .ifPresent(thumbnail -> imagePathList.add(thumbnail.getFilepath() + thumbnail.getFilename()));
+        images.stream()
+                .filter(image -> !image.isThumbnail())
+                .forEach(image -> imagePathList.add(image.getFilepath() + image.getFilename()));
+        return imagePathList;
+    }
+}
@@ -0,0 +1,76 @@
+package bibid.repository.auction;
+
+import bibid.entity.AuctionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AuctionJobRepository extends JpaRepository<AuctionJob, Long> {
+
+    boolean existsByJobKey(String jobKey);
+
+    // 작업 등록 - 같은 key 가 있으면 실행 시각을 바꾸고 다시 대기 상태로 (재예약)
+    @Modifying
+    @Query(value = "INSERT INTO auction_job (auction_job_index, job_key, job_type, auction_index, member_index, reference_index, " +
+            "run_at, status, attempts, regdate, moddate) " +
+            "VALUES (nextval('auction_job_seq'), :jobKey, :jobType, :auctionIndex, :memberIndex, :referenceIndex, " +
+            ":runAt, 'PENDING', 0, :now, :now) " +
+            "ON CONFLICT (job_key) DO UPDATE SET run_at = EXCLUDED.run_at, status = 'PENDING', reference_index = EXCLUDED.reference_index, " +
+            "locked_by = NULL, locked_until = NULL, attempts = 0, moddate = EXCLUDED.moddate",
+            nativeQuery = true)
+    int upsert(@Param("jobKey") String jobKey, @Param("jobType") String jobType,
+               @Param("auctionIndex") Long auctionIndex, @Param("memberIndex") Long memberIndex,
+               @Param("referenceIndex") Long referenceIndex, @Param("runAt") LocalDateTime runAt,
+               @Param("now") LocalDateTime now);
+
+    // 작업 등록 - 같은 key 가 이미 있으면 그대로 둔다 (기동 시 기존 경매 보완용)
+    @Modifying
+    @Query(value = "INSERT INTO auction_job (auction_job_index, job_key, job_type, auction_index, member_index, reference_index, " +
+            "run_at, status, attempts, regdate, moddate) " +
+            "VALUES (nextval('auction_job_seq'), :jobKey, :jobType, :auctionIndex, :memberIndex, :referenceIndex, " +
+            ":runAt, 'PENDING', 0, :now, :now) " +
+            "ON CONFLICT (job_key) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("jobKey") String jobKey, @Param("jobType") String jobType,
+                       @Param("auctionIndex") Long auctionIndex, @Param("memberIndex") Long memberIndex,
+                       @Param("referenceIndex") Long referenceIndex, @Param("runAt") LocalDateTime runAt,
+                       @Param("now") LocalDateTime now);
+
+    // 실행 시각이 된 작업 (대기 중이거나 lease 가 만료된 실행 중 작업). 다른 노드가 잡은 행은 건너뛴다
+    @Query(value = "SELECT * FROM auction_job " +
+            "WHERE run_at <= :now AND (status = 'PENDING' OR (status = 'RUNNING' AND locked_until < :now)) " +
+            "ORDER BY run_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<AuctionJob> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM auction_job " +
+            "WHERE job_key = :jobKey AND run_at <= :now AND (status = 'PENDING' OR (status = 'RUNNING' AND locked_until < :now)) " +
+            "FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<AuctionJob> findDueByJobKeyForUpdate(@Param("jobKey") String jobKey, @Param("now") LocalDateTime now);
+
+    // 기동 시 타이밍 휠 재등록 대상
+    @Query("SELECT j FROM AuctionJob j WHERE j.status = 'PENDING'")
+    List<AuctionJob> findPending();
+
+    // 실행을 맡은 노드만 완료/실패를 기록할 수 있다 (lease 만료 후 다른 노드가 가져갔으면 0)
+    @Modifying
+    @Query("UPDATE AuctionJob j SET j.status = 'DONE', j.lockedUntil = NULL, j.moddate = :now " +
+            "WHERE j.auctionJobIndex = :auctionJobIndex AND j.lockedBy = :nodeId AND j.status = 'RUNNING'")
+    int markDone(@Param("auctionJobIndex") Long auctionJobIndex, @Param("nodeId") String nodeId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE AuctionJob j SET j.status = :status, j.runAt = :runAt, j.lockedBy = NULL, j.lockedUntil = NULL, j.moddate = :now " +
+            "WHERE j.auctionJobIndex = :auctionJobIndex AND j.lockedBy = :nodeId AND j.status = 'RUNNING'")
+    int markFailed(@Param("auctionJobIndex") Long auctionJobIndex, @Param("nodeId") String nodeId,
+                   @Param("status") String status, @Param("runAt") LocalDateTime runAt, @Param("now") LocalDateTime now);
+
+    // 삭제된 경매의 대기 중인 작업 제거
+    @Modifying
+    @Query("DELETE FROM AuctionJob j WHERE j.auctionIndex = :auctionIndex AND j.status = 'PENDING'")
+    int deletePendingByAuctionIndex(@Param("auctionIndex") Long auctionIndex);
+}
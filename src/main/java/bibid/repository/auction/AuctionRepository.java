@@ -1,15 +1,18 @@
 package bibid.repository.auction;
 
 import bibid.entity.Auction;
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,10 +20,29 @@ public interface AuctionRepository extends JpaRepository<Auction, Long>, Auction
 
     long countByMember_MemberIndex(Long memberIndex);
 
+    @Query("SELECT a.auctionIndex FROM Auction a WHERE a.startingLocalDateTime <= :currentTime AND a.auctionStatus = '대기중' AND a.auctionType = :auctionType")
+    List<Long> findAuctionIndexesToStart(@Param("currentTime") LocalDateTime currentTime, @Param("auctionType") String auctionType);
+
     @Modifying
     @Query("UPDATE Auction a SET a.auctionStatus = '경매 시작' WHERE a.startingLocalDateTime <= :currentTime AND a.auctionStatus = '대기중' AND a.auctionType = :auctionType")
     void updateOngoingAuctions(@Param("currentTime") LocalDateTime currentTime, @Param("auctionType") String auctionType);
 
+    // 예약된 시작 시각에 경매 한 건 시작 (이미 시작/종료된 경매는 0 반환)
+    @Modifying
+    @Query("UPDATE Auction a SET a.auctionStatus = '경매 시작' WHERE a.auctionIndex = :auctionIndex AND a.startingLocalDateTime <= :currentTime AND a.auctionStatus = '대기중'")
+    int startAuction(@Param("auctionIndex") Long auctionIndex, @Param("currentTime") LocalDateTime currentTime);
+
+    // 종료 처리가 동시에 두 번 실행되지 않도록 row 락을 잡고 조회
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Auction a WHERE a.auctionIndex = :auctionIndex")
+    Optional<Auction> findByIdForUpdate(@Param("auctionIndex") Long auctionIndex);
+
+    // 기동 시 시작/종료 예약 재등록용
+    @Query("SELECT a.auctionIndex AS auctionIndex, a.startingLocalDateTime AS startingLocalDateTime, a.endingLocalDateTime AS endingLocalDateTime " +
+            "FROM Auction a WHERE a.auctionType = :auctionType AND a.auctionStatus IN :auctionStatuses")
+    List<AuctionSchedule> findSchedulesByAuctionTypeAndAuctionStatusIn(@Param("auctionType") String auctionType,
+                                                                       @Param("auctionStatuses") Collection<String> auctionStatuses);
+
     List<Auction> findByEndingLocalDateTimeBeforeAndAuctionStatusAndAuctionType(LocalDateTime currentTime, String auctionStatus, String auctionType);
 
     List<Auction> findByMember_MemberIndex(Long memberIndex);
@@ -45,4 +67,12 @@ public interface AuctionRepository extends JpaRepository<Auction, Long>, Auction
 
     @Query("SELECT a FROM Auction a LEFT JOIN FETCH a.liveStationChannel WHERE a.auctionIndex = :auctionIndex")
     Optional<Auction> findByIdWithChannel(@Param("auctionIndex") Long auctionIndex);
+
+    interface AuctionSchedule {
+        Long getAuctionIndex();
+
+        LocalDateTime getStartingLocalDateTime();
+
+        LocalDateTime getEndingLocalDateTime();
+    }
 }
@@ -1,5 +1,6 @@
 package bibid.repository.auction;
 
+import bibid.dto.CursorPageDto;
 import bibid.entity.Auction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -17,5 +18,15 @@ public interface AuctionRepositoryCustom {
 
 	Page<Auction> findConveyor(LocalDateTime currentTime, Pageable pageable);
 
-	Page<Auction> searchAll(String searchCondition, String searchKeyword, Pageable pageable);
+	// 커서(keyset) 기반 조회 - offset/전체 count 없이 정렬 키 다음 항목부터 size 건 조회
+	CursorPageDto<Auction> findAllGeneralAuctionByCursor(String cursor, int size);
+
+	// (조회수, 경매 번호) 순. category 가 null 이면 전체
+	CursorPageDto<Auction> findBestByCursor(String category, String cursor, int size);
+
+	CursorPageDto<Auction> findByCategoryByCursor(String category, String cursor, int size);
+
+	CursorPageDto<Auction> findConveyorByCursor(LocalDateTime currentTime, String cursor, int size);
+
+	long countGeneralAuction(String category);
 }
\ No newline at end of file
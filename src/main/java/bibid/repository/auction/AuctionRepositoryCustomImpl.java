@@ -1,5 +1,6 @@
 package bibid.repository.auction;
 
+import bibid.dto.CursorPageDto;
 import bibid.entity.Auction;
 import bibid.entity.QAuction;
 import com.querydsl.jpa.impl.JPAQueryFactory;
@@ -8,8 +9,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.function.Function;
 
 @Repository
 public class AuctionRepositoryCustomImpl implements AuctionRepositoryCustom {
@@ -125,45 +131,164 @@ public class AuctionRepositoryCustomImpl implements AuctionRepositoryCustom {
         return new PageImpl<>(results, pageable, total);
     }
 
+    /*
+     * 커서(keyset) 기반 조회
+     * 커서는 직전 페이지 마지막 항목의 (정렬 값, 경매 번호) 를 인코딩한 문자열이고,
+     * 그 다음 항목부터 size + 1 건을 읽어 다음 페이지 존재 여부를 판단한다.
+     * offset 으로 앞 페이지를 건너뛰거나 전체 count 를 다시 세지 않으므로 페이지 깊이와 관계없이 size 건만 읽는다.
+     * 정렬 키마다 (auction_type, 정렬 값, auction_index) 인덱스를 사용한다. (Auction @Table 인덱스 참고)
+     */
     @Override
-    public Page<Auction> searchAll(String searchCondition, String searchKeyword, Pageable pageable) {
+    public CursorPageDto<Auction> findAllGeneralAuctionByCursor(String cursor, int size) {
         QAuction auction = QAuction.auction;
 
+        BooleanExpression seek = null;
+        if (cursor != null) {
+            Cursor decoded = decodeCursor(cursor);
+            LocalDateTime regdate = decoded.dateTimeValue();
+            seek = auction.regdate.lt(regdate)
+                    .or(auction.regdate.eq(regdate).and(auction.auctionIndex.lt(decoded.auctionIndex())));
+        }
+
+        List<Auction> results = queryFactory
+                .selectFrom(auction)
+                .where(auction.auctionType.eq("일반 경매"), seek)
+                .orderBy(auction.regdate.desc(), auction.auctionIndex.desc())
+                .limit(size + 1)
+                .fetch();
+
+        return toCursorPage(results, size, last -> encodeCursor(last.getRegdate().toString(), last.getAuctionIndex()));
+    }
 
+    @Override
+    public CursorPageDto<Auction> findBestByCursor(String category, String cursor, int size) {
+        QAuction auction = QAuction.auction;
 
-        BooleanExpression condition = createSearchCondition(searchCondition, searchKeyword, auction);
+        BooleanExpression seek = null;
+        if (cursor != null) {
+            Cursor decoded = decodeCursor(cursor);
+            Long viewCnt = decoded.longValue();
+            seek = auction.viewCnt.lt(viewCnt)
+                    .or(auction.viewCnt.eq(viewCnt).and(auction.auctionIndex.lt(decoded.auctionIndex())));
+        }
 
         List<Auction> results = queryFactory
                 .selectFrom(auction)
-                .where(condition
-                        .and(auction.auctionType.eq("일반 경매")))
-                .orderBy(auction.regdate.desc())
-                .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
+                .where(auction.auctionType.eq("일반 경매"),
+                        category != null ? auction.category.eq(category) : null,
+                        seek)
+                .orderBy(auction.viewCnt.desc(), auction.auctionIndex.desc())
+                .limit(size + 1)
                 .fetch();
 
-        long total = queryFactory
+        return toCursorPage(results, size,
+                last -> encodeCursor(String.valueOf(last.getViewCnt() != null ? last.getViewCnt() : 0L), last.getAuctionIndex()));
+    }
+
+    @Override
+    public CursorPageDto<Auction> findByCategoryByCursor(String category, String cursor, int size) {
+        QAuction auction = QAuction.auction;
+
+        BooleanExpression seek = null;
+        if (cursor != null) {
+            Cursor decoded = decodeCursor(cursor);
+            LocalDateTime regdate = decoded.dateTimeValue();
+            seek = auction.regdate.lt(regdate)
+                    .or(auction.regdate.eq(regdate).and(auction.auctionIndex.lt(decoded.auctionIndex())));
+        }
+
+        List<Auction> results = queryFactory
                 .selectFrom(auction)
-                .where(condition
-                        .and(auction.auctionType.eq("일반 경매")))
-                .fetchCount();
+                .where(auction.auctionType.eq("일반 경매"), auction.category.eq(category), seek)
+                .orderBy(auction.regdate.desc(), auction.auctionIndex.desc())
+                .limit(size + 1)
+                .fetch();
 
-        return new PageImpl<>(results, pageable, total);
+        return toCursorPage(results, size, last -> encodeCursor(last.getRegdate().toString(), last.getAuctionIndex()));
+    }
+
+    // 마감 임박 순 (마감 시간, 경매 번호 오름차순)
+    @Override
+    public CursorPageDto<Auction> findConveyorByCursor(LocalDateTime currentTime, String cursor, int size) {
+        QAuction auction = QAuction.auction;
+
+        BooleanExpression seek = null;
+        if (cursor != null) {
+            Cursor decoded = decodeCursor(cursor);
+            LocalDateTime endingLocalDateTime = decoded.dateTimeValue();
+            seek = auction.endingLocalDateTime.gt(endingLocalDateTime)
+                    .or(auction.endingLocalDateTime.eq(endingLocalDateTime).and(auction.auctionIndex.gt(decoded.auctionIndex())));
+        }
+
+        List<Auction> results = queryFactory
+                .selectFrom(auction)
+                .where(auction.auctionType.eq("일반 경매"), auction.endingLocalDateTime.gt(currentTime), seek)
+                .orderBy(auction.endingLocalDateTime.asc(), auction.auctionIndex.asc())
+                .limit(size + 1)
+                .fetch();
+
+        return toCursorPage(results, size,
+                last -> encodeCursor(last.getEndingLocalDateTime().toString(), last.getAuctionIndex()));
     }
 
-    private BooleanExpression createSearchCondition(String searchCondition, String searchKeyword, QAuction auction) {
-        if ("all".equals(searchCondition)) {
-            return auction.productName.containsIgnoreCase(searchKeyword)
-                    .or(auction.category.containsIgnoreCase(searchKeyword))
-                    .or(auction.productDescription.containsIgnoreCase(searchKeyword));
-        } else if ("productName".equals(searchCondition)) {
-            return auction.productName.containsIgnoreCase(searchKeyword);
-        } else if ("category".equals(searchCondition)) {
-            return auction.category.containsIgnoreCase(searchKeyword);
-        } else if ("productDescription".equals(searchCondition)) {
-            return auction.productDescription.containsIgnoreCase(searchKeyword);
-        } else {
-            return null;
+    @Override
+    public long countGeneralAuction(String category) {
+        QAuction auction = QAuction.auction;
+
+        Long total = queryFactory
+                .select(auction.count())
+                .from(auction)
+                .where(auction.auctionType.eq("일반 경매"),
+                        category != null ? auction.category.eq(category) : null)
+                .fetchOne();
+        return total != null ? total : 0L;
+    }
+
+    private CursorPageDto<Auction> toCursorPage(List<Auction> results, int size, Function<Auction, String> cursorOf) {
+        boolean hasNext = results.size() > size;
+        List<Auction> content = hasNext ? results.subList(0, size) : results;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)) : null;
+
+        return CursorPageDto.<Auction>builder()
+                .content(content)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(size)
+                .build();
+    }
+
+    // 커서 = Base64URL("정렬 값|경매 번호")
+    private String encodeCursor(String sortValue, Long auctionIndex) {
+        String raw = sortValue + "|" + auctionIndex;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Cursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    private record Cursor(String sortValue, Long auctionIndex) {
+
+        LocalDateTime dateTimeValue() {
+            try {
+                return LocalDateTime.parse(sortValue);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+        }
+
+        Long longValue() {
+            try {
+                return Long.parseLong(sortValue);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
         }
     }
-}
\ No newline at end of file
+}
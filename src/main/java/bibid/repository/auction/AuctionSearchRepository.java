@@ -0,0 +1,142 @@
+package bibid.repository.auction;
+
+import bibid.entity.Auction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 일반 경매 검색 (PostgreSQL pg_trgm)
+ * 검색 대상 컬럼마다 gin_trgm_ops 인덱스를 두고 ILIKE 로 후보를 찾은 뒤
+ * word_similarity 점수(상품명 > 카테고리 > 설명 가중치) 순으로 정렬한다.
+ * 트라이그램은 문자 단위로 만들어지므로 형태소 분석 없이 한글 부분 검색에도 인덱스가 사용된다.
+ * 3자 미만 검색어는 트라이그램이 만들어지지 않아 GIN 인덱스를 쓸 수 없으므로
+ * 상품명/카테고리의 앞부분 일치(lower(컬럼) LIKE '검색어%', text_pattern_ops 인덱스)로만 찾는다.
+ * (설명은 앞부분 일치가 의미 없으므로 3자 미만 검색어로 설명만 검색하는 요청은 받지 않는다)
+ * 전체 건수는 COUNT_LIMIT 건까지만 센다. (인덱스는 V4, V9 마이그레이션에서 생성)
+ */
+@Repository
+public class AuctionSearchRepository {
+
+    // 전체 건수를 세는 최대 건수 (검색 결과 페이지 수 표시용, 그 이상은 같은 값으로 표시)
+    public static final int COUNT_LIMIT = 1000;
+    // 트라이그램 인덱스를 쓸 수 있는 최소 검색어 길이
+    private static final int TRIGRAM_MIN_LENGTH = 3;
+    private static final String BASE_WHERE = " FROM auction a WHERE a.auction_type = '일반 경매'";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // 검색 결과 한 페이지 (검색어 관련도 순, 같은 점수는 최신 등록 순)
+    public List<Auction> search(String searchCondition, String searchKeyword, Pageable pageable) {
+        Criteria criteria = Criteria.of(searchCondition, searchKeyword);
+
+        Query contentQuery = entityManager.createNativeQuery(
+                "SELECT a.*" + BASE_WHERE + criteria.matchClause() + " ORDER BY " + criteria.orderClause()
+                        + " LIMIT :limit OFFSET :offset", Auction.class);
+        criteria.bind(contentQuery, true);
+        contentQuery.setParameter("limit", pageable.getPageSize());
+        contentQuery.setParameter("offset", pageable.getOffset());
+
+        @SuppressWarnings("unchecked")
+        List<Auction> results = contentQuery.getResultList();
+        return results;
+    }
+
+    // 검색 결과 전체 건수 (COUNT_LIMIT 건까지만 셈)
+    public long count(String searchCondition, String searchKeyword) {
+        Criteria criteria = Criteria.of(searchCondition, searchKeyword);
+
+        Query countQuery = entityManager.createNativeQuery(
+                "SELECT count(*) FROM (SELECT 1" + BASE_WHERE + criteria.matchClause() + " LIMIT :countLimit) matched");
+        criteria.bind(countQuery, false);
+        countQuery.setParameter("countLimit", COUNT_LIMIT);
+        return ((Number) countQuery.getSingleResult()).longValue();
+    }
+
+    // LIKE 특수문자(\, %, _)는 그대로 검색되도록 escape (PostgreSQL 기본 escape 문자는 \)
+    private static String escapeLike(String keyword) {
+        return keyword
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    /**
+     * 검색 조건과 검색어로 만든 WHERE/ORDER BY 절
+     * 검색어가 비어 있으면 전체 목록 (최신 등록 순), 3자 미만이면 앞부분 일치, 그 외에는 부분 일치(트라이그램)로 찾는다.
+     */
+    private record Criteria(String matchClause, String orderClause, String keyword, String pattern) {
+
+        private static Criteria of(String searchCondition, String searchKeyword) {
+            SearchTarget target = SearchTarget.of(searchCondition);
+            String keyword = searchKeyword.trim();
+
+            if (keyword.isEmpty()) {
+                return new Criteria("", "a.regdate DESC, a.auction_index DESC", null, null);
+            }
+
+            String orderClause = target.score + " DESC, a.regdate DESC, a.auction_index DESC";
+            if (keyword.codePointCount(0, keyword.length()) < TRIGRAM_MIN_LENGTH) {
+                if (target.prefixMatch == null) {
+                    throw new IllegalArgumentException("상품 설명 검색어는 " + TRIGRAM_MIN_LENGTH + "자 이상 입력해 주세요.");
+                }
+                return new Criteria(" AND (" + target.prefixMatch + ")", orderClause, keyword,
+                        escapeLike(keyword.toLowerCase()) + "%");
+            }
+            return new Criteria(" AND (" + target.match + ")", orderClause, keyword, "%" + escapeLike(keyword) + "%");
+        }
+
+        private void bind(Query query, boolean withScore) {
+            if (keyword == null) {
+                return;
+            }
+            query.setParameter("pattern", pattern);
+            if (withScore) {
+                query.setParameter("keyword", keyword);
+            }
+        }
+    }
+
+    private enum SearchTarget {
+        ALL("a.product_name ILIKE :pattern OR a.category ILIKE :pattern OR a.product_description ILIKE :pattern",
+                "lower(a.product_name) LIKE :pattern OR lower(a.category) LIKE :pattern",
+                "(3 * word_similarity(:keyword, coalesce(a.product_name, ''))"
+                        + " + 2 * word_similarity(:keyword, coalesce(a.category, ''))"
+                        + " + word_similarity(:keyword, coalesce(a.product_description, '')))"),
+        PRODUCT_NAME("a.product_name ILIKE :pattern",
+                "lower(a.product_name) LIKE :pattern",
+                "word_similarity(:keyword, a.product_name)"),
+        CATEGORY("a.category ILIKE :pattern",
+                "lower(a.category) LIKE :pattern",
+                "word_similarity(:keyword, a.category)"),
+        PRODUCT_DESCRIPTION("a.product_description ILIKE :pattern",
+                null,
+                "word_similarity(:keyword, a.product_description)");
+
+        private final String match;
+        // 3자 미만 검색어용 앞부분 일치 조건 (없으면 짧은 검색어를 받지 않음)
+        private final String prefixMatch;
+        private final String score;
+
+        SearchTarget(String match, String prefixMatch, String score) {
+            this.match = match;
+            this.prefixMatch = prefixMatch;
+            this.score = score;
+        }
+
+        private static SearchTarget of(String searchCondition) {
+            return switch (searchCondition) {
+                case "all" -> ALL;
+                case "productName" -> PRODUCT_NAME;
+                case "category" -> CATEGORY;
+                case "productDescription" -> PRODUCT_DESCRIPTION;
+                default -> throw new IllegalArgumentException("지원하지 않는 검색 조건입니다: " + searchCondition);
+            };
+        }
+    }
+}
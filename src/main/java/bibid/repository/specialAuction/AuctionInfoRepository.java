@@ -16,14 +16,14 @@ public interface AuctionInfoRepository extends JpaRepository<AuctionInfo, Long>
 
     Optional<AuctionInfo> findByAuction_AuctionIndex(Long auctionIndex);
 
-    List<AuctionInfo> findTop3ByAuction_AuctionIndexOrderByAuctionInfoIndexDesc(Long auctionIndex);
+    List<AuctionInfo> findTop3ByAuction_AuctionIndexOrderByBidTimeDescAuctionInfoIndexDesc(Long auctionIndex);
 
     long countByAuction_AuctionIndex(Long auctionIndex);
 
     @Query("SELECT MAX(a.bidAmount) FROM AuctionInfo a WHERE a.auction.auctionIndex = :auctionIndex")
     Optional<Long> findMaxBidAmountByAuctionIndex(@Param("auctionIndex") Long auctionIndex);
 
-    Optional<AuctionInfo> findTopByAuction_AuctionIndexOrderByBidAmountDescBidTimeDesc(Long auctionIndex);
+    Optional<AuctionInfo> findTopByAuction_AuctionIndexOrderByBidAmountDescBidTimeAscAuctionInfoIndexAsc(Long auctionIndex);
 
     List<AuctionInfo> findByBidder_MemberIndex(Long memberIndex);
 
@@ -0,0 +1,114 @@
+package bibid.repository.specialAuction;
+
+import bibid.dto.ChatDto;
+import bibid.dto.CursorPageDto;
+import bibid.entity.QChat;
+import bibid.entity.QChatRoom;
+import bibid.entity.QMember;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 채팅 기록 조회 전용 read model (종료된 경매 채팅 되돌려 보기)
+ * (채팅방 번호, 전송 시각, 채팅 번호) 인덱스를 따라 최신 메시지부터 커서 이전 메시지를 size 건씩 읽는다.
+ * 채팅 번호는 노드별 write-behind 저장 시점에 발급되어 전송 순서와 다를 수 있으므로 정렬 기준은 전송 시각이고,
+ * 채팅 번호는 같은 시각의 메시지를 구분하는 데만 쓴다.
+ * 엔티티를 올리지 않고 필요한 컬럼만 projection 으로 읽으므로 채팅방 전체나 발신 회원 엔티티를 읽지 않는다.
+ */
+@Repository
+public class ChatHistoryQueryRepository {
+
+    private final JPAQueryFactory queryFactory;
+
+    public ChatHistoryQueryRepository(JPAQueryFactory queryFactory) {
+        this.queryFactory = queryFactory;
+    }
+
+    /**
+     * 경매 채팅 기록 (최신순)
+     * 첫 요청은 cursor 없이 보내고, 이후에는 응답의 nextCursor 를 넘기면 그보다 이전 메시지를 이어서 조회한다.
+     */
+    public CursorPageDto<ChatDto> findHistoryByCursor(Long auctionIndex, String cursor, int size) {
+        QChatRoom chatRoom = QChatRoom.chatRoom;
+        Long chatRoomIndex = queryFactory
+                .select(chatRoom.chatRoomIndex)
+                .from(chatRoom)
+                .where(chatRoom.auction.auctionIndex.eq(auctionIndex))
+                .fetchFirst();
+        if (chatRoomIndex == null) {
+            throw new IllegalArgumentException("Invalid auction ID");
+        }
+
+        QChat chat = QChat.chat;
+        BooleanExpression before = null;
+        if (cursor != null) {
+            Cursor decoded = decodeCursor(cursor);
+            if (!decoded.chatRoomIndex().equals(chatRoomIndex)) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            // (전송 시각, 채팅 번호) < (커서 전송 시각, 커서 채팅 번호)
+            before = chat.sendTime.lt(decoded.sendTime())
+                    .or(chat.sendTime.eq(decoded.sendTime()).and(chat.ChatIndex.lt(decoded.chatIndex())));
+        }
+
+        QMember sender = QMember.member;
+        List<ChatDto> results = queryFactory
+                .select(Projections.fields(ChatDto.class,
+                        chat.ChatIndex.as("chatIndex"),
+                        chat.chatRoom.chatRoomIndex,
+                        chat.chatMessage,
+                        sender.memberIndex.as("senderIndex"),
+                        sender.nickname.as("senderNickname"),
+                        chat.sendTime,
+                        chat.messageType))
+                .from(chat)
+                .leftJoin(chat.sender, sender)
+                .where(chat.chatRoom.chatRoomIndex.eq(chatRoomIndex),
+                        before)
+                .orderBy(chat.sendTime.desc(), chat.ChatIndex.desc())
+                .limit(size + 1L)
+                .fetch();
+
+        boolean hasNext = results.size() > size;
+        List<ChatDto> content = hasNext ? results.subList(0, size) : results;
+        ChatDto last = content.isEmpty() ? null : content.get(content.size() - 1);
+        String nextCursor = hasNext ? encodeCursor(chatRoomIndex, last.getSendTime(), last.getChatIndex()) : null;
+
+        return CursorPageDto.<ChatDto>builder()
+                .content(content)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(size)
+                .build();
+    }
+
+    // 커서 = Base64URL("채팅방 번호|전송 시각(ISO-8601)|채팅 번호")
+    private String encodeCursor(Long chatRoomIndex, LocalDateTime sendTime, Long chatIndex) {
+        String raw = chatRoomIndex + "|" + sendTime + "|" + chatIndex;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            return new Cursor(Long.parseLong(parts[0]), LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    private record Cursor(Long chatRoomIndex, LocalDateTime sendTime, Long chatIndex) {
+    }
+}
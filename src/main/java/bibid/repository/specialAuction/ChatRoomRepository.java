@@ -2,9 +2,15 @@ package bibid.repository.specialAuction;
 
 import bibid.entity.ChatRoom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
     Optional<ChatRoom> findByAuction_AuctionIndex(Long auctionIndex);
+
+    // 채팅 저장용 채팅방 번호만 조회 (채팅방/경매 엔티티를 읽지 않음)
+    @Query("SELECT c.chatRoomIndex FROM ChatRoom c WHERE c.auction.auctionIndex = :auctionIndex")
+    Optional<Long> findChatRoomIndexByAuctionIndex(@Param("auctionIndex") Long auctionIndex);
 }
@@ -0,0 +1,171 @@
+package bibid.service.account;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 입찰 자금 예약(hold) 서비스
+ * 입찰 시점에는 계좌 잔액을 건드리지 않고 Redis 에 경매별 예약 금액만 기록한다.
+ * 상위 입찰이 들어오면 직전 최고 입찰자의 예약을 해제하고,
+ * 경매가 끝나 낙찰이 확정될 때만 AccountLedgerService 로 잔액을 차감한다.
+ * 예약 스크립트가 받는 잔액은 스크립트 실행 전에 읽은 값이므로, 예약 후 DB 잔액을 다시 읽어 예약 합계를 넘으면 되돌린다.
+ * 환전 등 즉시 출금도 같은 Hash 에 출금 예약을 먼저 걸고 커밋 후에 해제하므로,
+ * 입찰 예약과 출금이 동시에 일어나도 예약 합계가 실제 잔액을 넘지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountHoldService {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final AccountLedgerService accountLedgerService;
+
+    private static final String HOLD_KEY_PREFIX = "account:hold:";       // 회원별 경매 예약 금액 (Hash: auctionIndex -> 금액)
+    private static final String HOLDERS_KEY_PREFIX = "auction:holders:"; // 경매별 예약 보유 회원 (Set)
+    private static final String WITHDRAWAL_FIELD_PREFIX = "withdraw:";    // 회원 예약 Hash 의 출금 예약 항목
+
+    /**
+     * 사용 가능 금액(잔액 - 다른 경매 예약 합계) 확인 후 예약하는 스크립트
+     * 같은 경매의 기존 예약은 새 금액으로 대체한다.
+     * KEYS[1] = 회원 예약 Hash, KEYS[2] = 경매 예약 회원 Set (출금 예약은 없음)
+     * ARGV[1] = 경매 번호, ARGV[2] = 예약 금액, ARGV[3] = 계좌 잔액, ARGV[4] = 회원 번호
+     * 반환값 = 거절 시 -1, 성공 시 같은 경매의 직전 예약 금액 (없으면 0)
+     */
+    private static final RedisScript<Long> HOLD_SCRIPT = new DefaultRedisScript<>("""
+            local held = 0
+            local previous = 0
+            local entries = redis.call('HGETALL', KEYS[1])
+            for i = 1, #entries, 2 do
+                if entries[i] == ARGV[1] then
+                    previous = tonumber(entries[i + 1])
+                else
+                    held = held + tonumber(entries[i + 1])
+                end
+            end
+            if tonumber(ARGV[3]) - held < tonumber(ARGV[2]) then
+                return -1
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            if KEYS[2] then
+                redis.call('SADD', KEYS[2], ARGV[4])
+            end
+            return previous
+            """, Long.class);
+
+    /**
+     * 경매 입찰 금액만큼 자금 예약
+     * 사용 가능 금액이 부족하면 예외가 발생하고, 성공하면 같은 경매의 직전 예약 금액을 반환한다.
+     * (이후 입찰 저장에 실패하면 restore 로 직전 예약을 되돌린다)
+     */
+    public long hold(Long memberIndex, Long auctionIndex, long amount) {
+        long balance = accountLedgerService.getBalance(memberIndex);
+
+        Long previous = redisTemplate.execute(
+                HOLD_SCRIPT,
+                List.of(HOLD_KEY_PREFIX + memberIndex, HOLDERS_KEY_PREFIX + auctionIndex),
+                String.valueOf(auctionIndex), String.valueOf(amount), String.valueOf(balance), String.valueOf(memberIndex));
+
+        if (previous == null || previous < 0) {
+            throw new RuntimeException("잔액이 부족합니다.");
+        }
+
+        // 잔액을 읽은 뒤 예약 전에 출금/정산이 커밋되었을 수 있으므로 커밋된 잔액으로 다시 확인
+        if (accountLedgerService.getBalance(memberIndex) < getTotalHeld(memberIndex)) {
+            restore(memberIndex, auctionIndex, previous);
+            throw new RuntimeException("잔액이 부족합니다.");
+        }
+
+        log.info("자금 예약 - memberIndex={}, auctionIndex={}, amount={}, previous={}", memberIndex, auctionIndex, amount, previous);
+        return previous;
+    }
+
+    /**
+     * 즉시 출금(환전 등) 금액 예약 - 호출 측 트랜잭션 안에서 출금 전에 호출
+     * 진행 중인 경매 예약을 뺀 금액이 부족하면 예외가 발생하고,
+     * 예약은 트랜잭션이 끝난 뒤(커밋된 잔액이 보인 뒤) 해제되어 그 사이 입찰 예약이 출금 전 잔액을 기준으로 통과하지 않는다.
+     */
+    public void holdForWithdrawal(Long memberIndex, long amount) {
+        String holdKey = HOLD_KEY_PREFIX + memberIndex;
+        String field = WITHDRAWAL_FIELD_PREFIX + UUID.randomUUID();
+        long balance = accountLedgerService.getBalance(memberIndex);
+
+        Long result = redisTemplate.execute(HOLD_SCRIPT, List.of(holdKey),
+                field, String.valueOf(amount), String.valueOf(balance), String.valueOf(memberIndex));
+        if (result == null || result < 0) {
+            throw new RuntimeException("입찰 중인 금액을 제외한 잔액이 부족합니다.");
+        }
+
+        Runnable release = () -> redisTemplate.opsForHash().delete(holdKey, field);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release.run();
+                }
+            });
+        } else {
+            release.run();
+        }
+    }
+
+    // 입찰 저장 실패 시 hold 이전 상태로 복구
+    public void restore(Long memberIndex, Long auctionIndex, long previousAmount) {
+        if (previousAmount > 0) {
+            redisTemplate.opsForHash().put(HOLD_KEY_PREFIX + memberIndex, String.valueOf(auctionIndex), String.valueOf(previousAmount));
+        } else {
+            release(memberIndex, auctionIndex);
+        }
+    }
+
+    // 상위 입찰로 밀려난 입찰자의 예약 해제
+    public void release(Long memberIndex, Long auctionIndex) {
+        redisTemplate.opsForHash().delete(HOLD_KEY_PREFIX + memberIndex, String.valueOf(auctionIndex));
+        redisTemplate.opsForSet().remove(HOLDERS_KEY_PREFIX + auctionIndex, String.valueOf(memberIndex));
+        log.info("자금 예약 해제 - memberIndex={}, auctionIndex={}", memberIndex, auctionIndex);
+    }
+
+    // 경매 종료(낙찰 정산/유찰) 후 해당 경매의 모든 예약 해제
+    public void releaseAll(Long auctionIndex) {
+        String holdersKey = HOLDERS_KEY_PREFIX + auctionIndex;
+        Set<String> holders = redisTemplate.opsForSet().members(holdersKey);
+        if (holders == null || holders.isEmpty()) {
+            return;
+        }
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                for (String memberIndex : holders) {
+                    operations.opsForHash().delete(HOLD_KEY_PREFIX + memberIndex, String.valueOf(auctionIndex));
+                }
+                operations.delete(holdersKey);
+                return null;
+            }
+        });
+        log.info("경매 종료 - 자금 예약 {}건 해제 (auctionIndex={})", holders.size(), auctionIndex);
+    }
+
+    // 진행 중인 경매에 예약된 금액 합계
+    public long getTotalHeld(Long memberIndex) {
+        List<Object> amounts = redisTemplate.opsForHash().values(HOLD_KEY_PREFIX + memberIndex);
+        return amounts.stream().mapToLong(amount -> Long.parseLong(amount.toString())).sum();
+    }
+
+    // 환전 등 즉시 출금에 사용할 수 있는 금액
+    public long getAvailableBalance(Long memberIndex) {
+        return accountLedgerService.getBalance(memberIndex) - getTotalHeld(memberIndex);
+    }
+}
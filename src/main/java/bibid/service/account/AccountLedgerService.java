@@ -0,0 +1,31 @@
+package bibid.service.account;
+
+import bibid.entity.AccountUseHistory;
+
+import java.util.List;
+
+public interface AccountLedgerService {
+    // 잔액 증가 + 원장 기록
+    AccountUseHistory credit(Long memberIndex, Long auctionIndex, long amount, String useType);
+
+    // 잔액 차감 + 원장 기록 (잔액 부족 시 RuntimeException)
+    AccountUseHistory debit(Long memberIndex, Long auctionIndex, long amount, String useType);
+
+    /**
+     * 잔액 차감 + 원장 기록 (낙찰 정산용)
+     * 잔액이 부족하거나 계좌가 없으면 차감하지 않고 null 을 반환한다.
+     * 예외를 던지지 않으므로 호출 측 트랜잭션이 rollback-only 가 되지 않아 같은 트랜잭션에서 유찰로 이어서 처리할 수 있다.
+     */
+    AccountUseHistory tryDebit(Long memberIndex, Long auctionIndex, long amount, String useType);
+
+    /**
+     * 여러 건 일괄 차감 + 원장 일괄 기록 (경매 일괄 종료용, 호출 측 트랜잭션 안에서 실행)
+     * 잔액이 부족하거나 계좌가 없는 건은 건너뛰고, 실제로 차감된 건만 반환한다.
+     */
+    List<LedgerEntry> debitAll(List<LedgerEntry> entries, String useType);
+
+    long getBalance(Long memberIndex);
+
+    record LedgerEntry(Long memberIndex, Long auctionIndex, long amount) {
+    }
+}
@@ -0,0 +1,179 @@
+package bibid.service.account.impl;
+
+import bibid.entity.AccountUseHistory;
+import bibid.repository.account.AccountRepository;
+import bibid.repository.account.AccountUseHistoryRepository;
+import bibid.repository.auction.AuctionRepository;
+import bibid.repository.member.MemberRepository;
+import bibid.service.account.AccountLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 계좌 잔액 엔진
+ * 잔액은 원 단위 long 으로만 다루고, 변경은 조건부 UPDATE 한 번으로 끝낸다.
+ * (Account 엔티티를 읽어서 고쳐 쓰지 않으므로 동시 입찰 간 갱신 유실이 없다)
+ * 모든 입출금은 AccountUseHistory 에 변경 전/후 잔액과 함께 추가 기록만 한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountLedgerServiceImpl implements AccountLedgerService {
+
+    private final AccountRepository accountRepository;
+    private final AccountUseHistoryRepository accountUseHistoryRepository;
+    private final MemberRepository memberRepository;
+    private final AuctionRepository auctionRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    // 회원별 차감액을 VALUES 로 넘겨 한 번의 UPDATE 로 차감하고, 차감된 계좌의 잔액을 돌려받는다
+    private static final String DEBIT_ALL_SQL_PREFIX =
+            "UPDATE account a SET user_money = a.user_money - v.amount, version = a.version + 1 " +
+            "FROM (VALUES ";
+    private static final String DEBIT_ALL_SQL_SUFFIX =
+            ") AS v(member_index, amount) " +
+            "WHERE a.member_index = v.member_index AND a.user_money >= v.amount " +
+            "RETURNING a.member_index, a.account_index, a.user_money";
+
+    private static final String INSERT_HISTORY_SQL =
+            "INSERT INTO account_use_history (account_use_history_index, member_index, auction_index, account_index, " +
+            "use_type, change_account, before_balance, after_balance, created_time) " +
+            "VALUES (nextval('accountusehistory_seq'), ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Override
+    @Transactional
+    public AccountUseHistory credit(Long memberIndex, Long auctionIndex, long amount, String useType) {
+        validateAmount(amount);
+
+        if (accountRepository.credit(memberIndex, amount) == 0) {
+            throw new RuntimeException("계좌 정보가 존재하지 않습니다.");
+        }
+
+        // 갱신한 행은 트랜잭션이 끝날 때까지 잠겨 있으므로 바로 읽은 잔액이 이번 변경 직후의 잔액이다.
+        AccountRepository.AccountBalance balance = findBalance(memberIndex);
+        return append(memberIndex, auctionIndex, balance, useType, amount, balance.getUserMoney() - amount);
+    }
+
+    @Override
+    @Transactional
+    public AccountUseHistory debit(Long memberIndex, Long auctionIndex, long amount, String useType) {
+        validateAmount(amount);
+
+        if (accountRepository.debit(memberIndex, amount) == 0) {
+            // 계좌가 없는 경우와 잔액 부족을 구분
+            findBalance(memberIndex);
+            throw new RuntimeException("잔액이 부족합니다.");
+        }
+
+        AccountRepository.AccountBalance balance = findBalance(memberIndex);
+        return append(memberIndex, auctionIndex, balance, useType, amount, balance.getUserMoney() + amount);
+    }
+
+    @Override
+    @Transactional
+    public AccountUseHistory tryDebit(Long memberIndex, Long auctionIndex, long amount, String useType) {
+        validateAmount(amount);
+
+        if (accountRepository.debit(memberIndex, amount) == 0) {
+            log.warn("{} 차감 불가 (잔액 부족 또는 계좌 없음) - memberIndex={}, auctionIndex={}, amount={}",
+                    useType, memberIndex, auctionIndex, amount);
+            return null;
+        }
+
+        AccountRepository.AccountBalance balance = findBalance(memberIndex);
+        return append(memberIndex, auctionIndex, balance, useType, amount, balance.getUserMoney() + amount);
+    }
+
+    @Override
+    @Transactional
+    public List<LedgerEntry> debitAll(List<LedgerEntry> entries, String useType) {
+        entries.forEach(entry -> validateAmount(entry.amount()));
+
+        // 한 UPDATE 에서 같은 계좌 행은 한 번만 갱신되므로, 같은 회원의 차감은 여러 차례로 나눠 실행
+        Map<Long, List<LedgerEntry>> entriesByMember = new LinkedHashMap<>();
+        entries.forEach(entry -> entriesByMember.computeIfAbsent(entry.memberIndex(), k -> new ArrayList<>()).add(entry));
+
+        List<LedgerEntry> applied = new ArrayList<>();
+        List<Object[]> histories = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int round = 0; ; round++) {
+            List<LedgerEntry> roundEntries = new ArrayList<>();
+            for (List<LedgerEntry> memberEntries : entriesByMember.values()) {
+                if (memberEntries.size() > round) {
+                    roundEntries.add(memberEntries.get(round));
+                }
+            }
+            if (roundEntries.isEmpty()) {
+                break;
+            }
+
+            Map<Long, LedgerEntry> entryByMember = new HashMap<>();
+            List<Object> params = new ArrayList<>();
+            StringJoiner values = new StringJoiner(", ");
+            for (LedgerEntry entry : roundEntries) {
+                entryByMember.put(entry.memberIndex(), entry);
+                values.add("(?::bigint, ?::bigint)");
+                params.add(entry.memberIndex());
+                params.add(entry.amount());
+            }
+
+            jdbcTemplate.query(DEBIT_ALL_SQL_PREFIX + values + DEBIT_ALL_SQL_SUFFIX, rs -> {
+                LedgerEntry entry = entryByMember.get(rs.getLong("member_index"));
+                long afterBalance = rs.getLong("user_money");
+                applied.add(entry);
+                histories.add(new Object[]{entry.memberIndex(), entry.auctionIndex(), rs.getLong("account_index"), useType,
+                        entry.amount(), afterBalance + entry.amount(), afterBalance, Timestamp.valueOf(now)});
+            }, params.toArray());
+        }
+
+        if (!histories.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, histories);
+        }
+        log.info("{} 일괄 처리 - 요청 {}건, 차감 {}건", useType, entries.size(), applied.size());
+        return applied;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getBalance(Long memberIndex) {
+        Long userMoney = findBalance(memberIndex).getUserMoney();
+        return userMoney != null ? userMoney : 0L;
+    }
+
+    private AccountRepository.AccountBalance findBalance(Long memberIndex) {
+        return accountRepository.findBalanceByMemberIndex(memberIndex)
+                .orElseThrow(() -> new RuntimeException("계좌 정보가 존재하지 않습니다."));
+    }
+
+    private AccountUseHistory append(Long memberIndex, Long auctionIndex, AccountRepository.AccountBalance balance,
+                                     String useType, long amount, long beforeBalance) {
+        AccountUseHistory history = AccountUseHistory.builder()
+                .member(memberRepository.getReferenceById(memberIndex))
+                .auction(auctionIndex != null ? auctionRepository.getReferenceById(auctionIndex) : null)
+                .account(accountRepository.getReferenceById(balance.getAccountIndex()))
+                .useType(useType)
+                .changeAccount(amount)
+                .beforeBalance(beforeBalance)
+                .afterBalance(balance.getUserMoney())
+                .createdTime(LocalDateTime.now())
+                .build();
+
+        log.info("{} 처리 - memberIndex={}, amount={}, balance {} -> {}",
+                useType, memberIndex, amount, beforeBalance, balance.getUserMoney());
+        return accountUseHistoryRepository.save(history);
+    }
+
+    private void validateAmount(long amount) {
+        if (amount <= 0) {
+            throw new RuntimeException("금액이 올바르지 않습니다.");
+        }
+    }
+}
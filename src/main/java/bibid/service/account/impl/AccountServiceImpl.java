@@ -4,12 +4,10 @@ import bibid.dto.AccountDto;
 import bibid.dto.AccountUseHistoryDto;
 import bibid.entity.Account;
 import bibid.entity.AccountUseHistory;
-import bibid.entity.Auction;
-import bibid.entity.Member;
 import bibid.repository.account.AccountRepository;
-import bibid.repository.account.AccountUseHistoryRepository;
 import bibid.repository.auction.AuctionRepository;
-import bibid.repository.member.MemberRepository;
+import bibid.service.account.AccountHoldService;
+import bibid.service.account.AccountLedgerService;
 import bibid.service.account.AccountService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,9 +19,9 @@ import org.springframework.transaction.annotation.Transactional;
 public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
-    private final AccountUseHistoryRepository accountUseHistoryRepository;
-    private final MemberRepository memberRepository;
     private final AuctionRepository auctionRepository;
+    private final AccountLedgerService accountLedgerService;
+    private final AccountHoldService accountHoldService;
 
     // 충전 로직
     @Override
@@ -31,31 +29,11 @@ public class AccountServiceImpl implements AccountService {
     public AccountDto chargeAccount(AccountUseHistoryDto accountUseHistoryDto, Long memberIndex) {
         log.info("충전 요청 시작 - Member Index: {}", memberIndex);
 
-        Member member = memberRepository.findById(memberIndex)
-                .orElseThrow(() -> new RuntimeException("회원 정보가 존재하지 않습니다."));
-        Account account = accountRepository.findByMember_MemberIndex(memberIndex)
-                .orElseThrow(() -> new RuntimeException("계좌 정보가 존재하지 않습니다."));
-
-        log.info("회원 및 계좌 정보 조회 완료 - Member ID: {}, Current Balance: {}", member.getMemberId(), account.getUserMoney());
-
-        // 충전 전 잔액 기록
-        int currentBalance = Integer.parseInt(account.getUserMoney());
-        int changeAmount = Integer.parseInt(accountUseHistoryDto.getChangeAccount());
-        int newBalance = currentBalance + changeAmount;
-
-        // 충전 처리 후 잔액 설정
-        account.setUserMoney(String.valueOf(newBalance));
-        log.info("충전 후 잔액 - New Balance: {}", account.getUserMoney());
-
-        // 기록 추가 및 저장
-        AccountUseHistory history = accountUseHistoryDto.toEntity(member, null, account);
-        history.setBeforeBalance(String.valueOf(currentBalance)); // 충전 전 잔액
-        history.setAfterBalance(account.getUserMoney()); // 충전 후 잔액
-        accountUseHistoryRepository.save(history); // AccountUseHistory 개별 저장
-        accountRepository.save(account); // Account 개별 저장
+        AccountUseHistory history = accountLedgerService.credit(
+                memberIndex, null, parseAmount(accountUseHistoryDto.getChangeAccount()), accountUseHistoryDto.getUseType());
 
-        log.info("충전 요청 완료 - Updated Account Balance: {}", account.getUserMoney());
-        return account.toDto();
+        log.info("충전 요청 완료 - Updated Account Balance: {}", history.getAfterBalance());
+        return toAccountDto(memberIndex, history.getAfterBalance());
     }
 
     // 환전 로직
@@ -64,31 +42,15 @@ public class AccountServiceImpl implements AccountService {
     public AccountDto exchangeAccount(AccountUseHistoryDto accountUseHistoryDto, Long memberIndex) {
         log.info("환전 요청 시작 - Member Index: {}", memberIndex);
 
-        Member member = memberRepository.findById(memberIndex)
-                .orElseThrow(() -> new RuntimeException("회원 정보가 존재하지 않습니다."));
-        Account account = accountRepository.findByMember_MemberIndex(memberIndex)
-                .orElseThrow(() -> new RuntimeException("계좌 정보가 존재하지 않습니다."));
-
-        log.info("회원 및 계좌 정보 조회 완료 - Member ID: {}, Current Balance: {}", member.getMemberId(), account.getUserMoney());
+        // 진행 중인 경매에 예약된 금액은 환전할 수 없다 (출금 금액을 먼저 예약해 동시 입찰 예약과 겹치지 않게 한다)
+        long changeAmount = parseAmount(accountUseHistoryDto.getChangeAccount());
+        accountHoldService.holdForWithdrawal(memberIndex, changeAmount);
 
-        // 환전 전 잔액 기록
-        int currentBalance = Integer.parseInt(account.getUserMoney());
-        int changeAmount = Integer.parseInt(accountUseHistoryDto.getChangeAccount());
-        int newBalance = currentBalance - changeAmount;
+        AccountUseHistory history = accountLedgerService.debit(
+                memberIndex, null, changeAmount, accountUseHistoryDto.getUseType());
 
-        // 환전 처리 후 잔액 설정
-        account.setUserMoney(String.valueOf(newBalance));
-        log.info("환전 후 잔액 - New Balance: {}", account.getUserMoney());
-
-        // 기록 추가 및 저장
-        AccountUseHistory history = accountUseHistoryDto.toEntity(member, null, account);
-        history.setBeforeBalance(String.valueOf(currentBalance)); // 환전 전 잔액
-        history.setAfterBalance(account.getUserMoney()); // 환전 후 잔액
-        accountUseHistoryRepository.save(history); // AccountUseHistory 개별 저장
-        accountRepository.save(account); // Account 개별 저장
-
-        log.info("환전 요청 완료 - Updated Account Balance: {}", account.getUserMoney());
-        return account.toDto();
+        log.info("환전 요청 완료 - Updated Account Balance: {}", history.getAfterBalance());
+        return toAccountDto(memberIndex, history.getAfterBalance());
     }
 
     // 입찰 로직
@@ -97,35 +59,19 @@ public class AccountServiceImpl implements AccountService {
     public AccountDto buyAuction(AccountUseHistoryDto accountUseHistoryDto, Long memberIndex) {
         log.info("입찰 요청 시작 - Member Index: {}", memberIndex);
 
-        Member member = memberRepository.findById(memberIndex)
-                .orElseThrow(() -> new RuntimeException("회원 정보가 존재하지 않습니다."));
-        Account account = accountRepository.findByMember_MemberIndex(memberIndex)
-                .orElseThrow(() -> new RuntimeException("계좌 정보가 존재하지 않습니다."));
-
-        Auction auction = auctionRepository.findById(accountUseHistoryDto.getAuctionIndex())
-                .orElseThrow(() -> new RuntimeException("해당 옥션이 존재하지 않습니다."));
-
-        log.info("옥션 정보 조회 완료 - Auction Index: {}, Auction Status: {}", auction.getAuctionIndex(), auction.getAuctionStatus());
+        Long auctionIndex = accountUseHistoryDto.getAuctionIndex();
+        if (auctionIndex == null || !auctionRepository.existsById(auctionIndex)) {
+            throw new RuntimeException("해당 옥션이 존재하지 않습니다.");
+        }
 
+        long changeAmount = parseAmount(accountUseHistoryDto.getChangeAccount());
+        accountHoldService.holdForWithdrawal(memberIndex, changeAmount);
 
-        // 입찰 전 잔액 기록
-        int currentBalance = Integer.parseInt(account.getUserMoney());
-        int changeAmount = Integer.parseInt(accountUseHistoryDto.getChangeAccount());
-        int newBalance = currentBalance - changeAmount;
+        AccountUseHistory history = accountLedgerService.debit(
+                memberIndex, auctionIndex, changeAmount, accountUseHistoryDto.getUseType());
 
-        // 입찰 처리 후 잔액 설정
-        account.setUserMoney(String.valueOf(newBalance));
-        log.info("입찰 후 잔액 - New Balance: {}", account.getUserMoney());
-
-        // 기록 추가 및 저장
-        AccountUseHistory history = accountUseHistoryDto.toEntity(member, auction, account);
-        history.setBeforeBalance(String.valueOf(currentBalance)); // 입찰 전 잔액
-        history.setAfterBalance(account.getUserMoney()); // 입찰 후 잔액
-        accountUseHistoryRepository.save(history); // AccountUseHistory 개별 저장
-        accountRepository.save(account); // Account 개별 저장
-
-        log.info("입찰 요청 완료 - Updated Account Balance: {}", account.getUserMoney());
-        return account.toDto();
+        log.info("입찰 요청 완료 - Updated Account Balance: {}", history.getAfterBalance());
+        return toAccountDto(memberIndex, history.getAfterBalance());
     }
 
     // 판매 로직
@@ -134,34 +80,35 @@ public class AccountServiceImpl implements AccountService {
     public AccountDto sellAuction(AccountUseHistoryDto accountUseHistoryDto, Long memberIndex) {
         log.info("대금 수령 요청 시작 - Member Index: {}", memberIndex);
 
-        Member member = memberRepository.findById(memberIndex)
-                .orElseThrow(() -> new RuntimeException("회원 정보가 존재하지 않습니다."));
-        Account account = accountRepository.findByMember_MemberIndex(memberIndex)
-                .orElseThrow(() -> new RuntimeException("계좌 정보가 존재하지 않습니다."));
-
-        Auction auction = auctionRepository.findById(accountUseHistoryDto.getAuctionIndex())
-                .orElseThrow(() -> new RuntimeException("해당 옥션이 존재하지 않습니다."));
+        Long auctionIndex = accountUseHistoryDto.getAuctionIndex();
+        if (auctionIndex == null || !auctionRepository.existsById(auctionIndex)) {
+            throw new RuntimeException("해당 옥션이 존재하지 않습니다.");
+        }
 
-        log.info("옥션 정보 조회 완료 - Auction Index: {}, Auction Status: {}", auction.getAuctionIndex(), auction.getAuctionStatus());
+        AccountUseHistory history = accountLedgerService.credit(
+                memberIndex, auctionIndex, parseAmount(accountUseHistoryDto.getChangeAccount()), accountUseHistoryDto.getUseType());
 
-        // 판매 전 잔액 기록
-        int currentBalance = Integer.parseInt(account.getUserMoney());
-        int changeAmount = Integer.parseInt(accountUseHistoryDto.getChangeAccount());
-        int newBalance = currentBalance + changeAmount;
+        log.info("판매 요청 완료 - Updated Account Balance: {}", history.getAfterBalance());
+        return toAccountDto(memberIndex, history.getAfterBalance());
+    }
 
-        // 판매 처리 후 잔액 설정
-        account.setUserMoney(String.valueOf(newBalance));
-        log.info("판매 후 잔액 - New Balance: {}", account.getUserMoney());
+    // 응답용 계좌 정보 (영속성 컨텍스트의 Account 는 원자적 갱신 이전 값일 수 있으므로 원장 잔액으로 채운다)
+    private AccountDto toAccountDto(Long memberIndex, Long balance) {
+        Account account = accountRepository.findByMember_MemberIndex(memberIndex)
+                .orElseThrow(() -> new RuntimeException("계좌 정보가 존재하지 않습니다."));
 
-        // 기록 추가 및 저장
-        AccountUseHistory history = accountUseHistoryDto.toEntity(member, auction, account);
-        history.setBeforeBalance(String.valueOf(currentBalance)); // 판매 전 잔액
-        history.setAfterBalance(account.getUserMoney()); // 판매 후 잔액
-        accountUseHistoryRepository.save(history); // AccountUseHistory 개별 저장
-        accountRepository.save(account); // Account 개별 저장
+        AccountDto accountDto = account.toDto();
+        accountDto.setUserMoney(String.valueOf(balance));
+        return accountDto;
+    }
 
-        log.info("판매 요청 완료 - Updated Account Balance: {}", account.getUserMoney());
-        return account.toDto();
+    // 요청 금액은 문자열로 들어오므로 여기서 한 번만 변환
+    private long parseAmount(String changeAccount) {
+        try {
+            return Long.parseLong(changeAccount.trim());
+        } catch (NullPointerException | NumberFormatException e) {
+            throw new RuntimeException("금액이 올바르지 않습니다.");
+        }
     }
 
     @Override
@@ -0,0 +1,197 @@
+package bibid.service.auction;
+
+import bibid.dto.AuctionDto;
+import bibid.dto.AuctionResponseDto;
+import bibid.dto.CachedPageDto;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 경매 목록/상세 조회 캐시
+ * 노드 로컬 Caffeine(L1) -> Redis(L2) -> DB 순으로 조회하고, 키마다 TTL 을 둔다.
+ * 무효화는 AuctionChangedEvent(입찰/상태 변경/등록/삭제)로 처리하며
+ * Redis pub/sub 으로 다른 노드의 L1 도 함께 비운다.
+ * - 상세: 경매 번호 키를 직접 삭제
+ * - 목록: 키에 세대(generation) 번호를 넣고 세대를 올려 한 번에 무효화 (이전 세대 키는 TTL 로 소멸)
+ */
+@Service
+@Slf4j
+public class AuctionCacheService {
+
+    private static final String KEY_PREFIX = "auction:cache:";
+    private static final String LISTING_GENERATION_KEY = KEY_PREFIX + "listing:generation";
+    private static final String INVALIDATION_CHANNEL = KEY_PREFIX + "invalidate";
+    private static final String DETAIL_MESSAGE_PREFIX = "detail:";
+    private static final String LISTING_MESSAGE_PREFIX = "listing:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Object> localCache;
+    private final Duration listingTtl;
+    private final Duration detailTtl;
+    private final JavaType auctionPageType;
+
+    // 현재 목록 캐시 세대 (최초 조회 시 Redis 에서 읽고, 이후에는 무효화 메시지로 갱신)
+    private volatile Long listingGeneration;
+
+    public AuctionCacheService(RedisTemplate<String, String> redisTemplate,
+                               ObjectMapper objectMapper,
+                               RedisMessageListenerContainer redisMessageListenerContainer,
+                               @Value("${auction.cache.listing-ttl-seconds:30}") long listingTtlSeconds,
+                               @Value("${auction.cache.detail-ttl-seconds:60}") long detailTtlSeconds,
+                               @Value("${auction.cache.local-ttl-seconds:5}") long localTtlSeconds,
+                               @Value("${auction.cache.local-max-size:1000}") long localMaxSize) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.listingTtl = Duration.ofSeconds(listingTtlSeconds);
+        this.detailTtl = Duration.ofSeconds(detailTtlSeconds);
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .build();
+        this.auctionPageType = objectMapper.getTypeFactory().constructParametricType(CachedPageDto.class, AuctionDto.class);
+
+        redisMessageListenerContainer.addMessageListener(this::onInvalidationMessage, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * 목록 페이지 조회 (name 에는 목록 종류와 카테고리 등 조회 조건을 넣는다)
+     * pageable 은 호출 측에서 정렬까지 적용한 값을 넘겨 응답의 페이지 정보가 DB 조회와 같도록 한다.
+     */
+    public Page<AuctionDto> getListing(String name, Pageable pageable, Supplier<Page<AuctionDto>> loader) {
+        String key = KEY_PREFIX + "listing:" + currentListingGeneration() + ":" + name
+                + ":" + pageable.getPageNumber() + ":" + pageable.getPageSize();
+
+        CachedPageDto<AuctionDto> cachedPage = getOrLoad(key, listingTtl, auctionPageType,
+                () -> CachedPageDto.of(loader.get()));
+        return cachedPage.toPage(pageable);
+    }
+
+    /**
+     * 목록 전체 건수 조회 (커서 조회 첫 페이지의 대략적인 전체 건수)
+     * 목록 캐시와 같은 세대를 쓰므로 등록/삭제/상태 변경 시 함께 무효화된다.
+     */
+    public long getListingCount(String name, Supplier<Long> loader) {
+        String key = KEY_PREFIX + "listing:" + currentListingGeneration() + ":count:" + name;
+        Long count = getOrLoad(key, listingTtl, objectMapper.constructType(Long.class), loader);
+        return count != null ? count : 0L;
+    }
+
+    // 일반 경매 상세 응답 조회 (loader 가 null 을 반환하면 캐시하지 않는다)
+    public AuctionResponseDto getDetail(Long auctionIndex, Supplier<AuctionResponseDto> loader) {
+        return getOrLoad(detailKey(auctionIndex), detailTtl,
+                objectMapper.constructType(AuctionResponseDto.class), loader);
+    }
+
+    /**
+     * 경매 변경 이벤트 처리 (트랜잭션 커밋 후)
+     * 입찰은 해당 경매 상세만, 상태 변경/등록/삭제는 목록까지 무효화한다.
+     * (목록에는 최근 입찰 목록이 포함되지만 입찰마다 홈 목록을 비우지 않고 짧은 TTL 로 갱신)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuctionChanged(AuctionChangedEvent event) {
+        try {
+            if (event.getAuctionIndex() != null) {
+                evictDetail(event.getAuctionIndex());
+            }
+            if (event.getType() != AuctionChangedEvent.Type.BID_PLACED) {
+                evictListings();
+            }
+        } catch (RuntimeException e) {
+            // 캐시 무효화 실패는 TTL 로 복구되므로 요청 처리에는 영향을 주지 않는다
+            log.warn("경매 캐시 무효화 실패 - {}", event, e);
+        }
+    }
+
+    private void evictDetail(Long auctionIndex) {
+        redisTemplate.delete(detailKey(auctionIndex));
+        localCache.invalidate(detailKey(auctionIndex));
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL, DETAIL_MESSAGE_PREFIX + auctionIndex);
+    }
+
+    private void evictListings() {
+        Long generation = redisTemplate.opsForValue().increment(LISTING_GENERATION_KEY);
+        listingGeneration = generation;
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL, LISTING_MESSAGE_PREFIX + generation);
+    }
+
+    // 다른 노드(자기 자신 포함)가 보낸 무효화 메시지로 L1 정리
+    private void onInvalidationMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        // convertAndSend 는 문자열 직렬화기로 보내므로 앞뒤 따옴표 없이 그대로 들어온다
+        if (body.startsWith(DETAIL_MESSAGE_PREFIX)) {
+            localCache.invalidate(KEY_PREFIX + body);
+        } else if (body.startsWith(LISTING_MESSAGE_PREFIX)) {
+            long generation = Long.parseLong(body.substring(LISTING_MESSAGE_PREFIX.length()));
+            Long current = listingGeneration;
+            if (current == null || current < generation) {
+                listingGeneration = generation;
+            }
+        }
+    }
+
+    private long currentListingGeneration() {
+        Long generation = listingGeneration;
+        if (generation == null) {
+            String stored = redisTemplate.opsForValue().get(LISTING_GENERATION_KEY);
+            generation = stored != null ? Long.parseLong(stored) : 0L;
+            listingGeneration = generation;
+        }
+        return generation;
+    }
+
+    private String detailKey(Long auctionIndex) {
+        return KEY_PREFIX + DETAIL_MESSAGE_PREFIX + auctionIndex;
+    }
+
+    /**
+     * L1 -> L2 -> loader 순으로 조회
+     * 같은 노드에서 동시에 들어온 같은 키 요청은 Caffeine 이 한 번만 적재하도록 묶는다.
+     * Redis 장애 시에는 DB 조회로 그대로 진행한다.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T getOrLoad(String key, Duration ttl, JavaType type, Supplier<T> loader) {
+        return (T) localCache.get(key, k -> {
+            String cached = null;
+            try {
+                cached = redisTemplate.opsForValue().get(k);
+            } catch (RuntimeException e) {
+                log.warn("Redis 캐시 조회 실패 - key={}", k, e);
+            }
+
+            if (cached != null) {
+                try {
+                    return objectMapper.readValue(cached, type);
+                } catch (Exception e) {
+                    log.warn("Redis 캐시 역직렬화 실패 - key={}", k, e);
+                }
+            }
+
+            T loaded = loader.get();
+            if (loaded != null) {
+                try {
+                    redisTemplate.opsForValue().set(k, objectMapper.writeValueAsString(loaded), ttl);
+                } catch (Exception e) {
+                    log.warn("Redis 캐시 저장 실패 - key={}", k, e);
+                }
+            }
+            return loaded;
+        });
+    }
+}
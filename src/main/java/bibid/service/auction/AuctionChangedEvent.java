@@ -0,0 +1,22 @@
+package bibid.service.auction;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 경매 데이터 변경 도메인 이벤트 (캐시 무효화 등에 사용)
+@Getter
+@AllArgsConstructor
+@ToString
+public class AuctionChangedEvent {
+
+    public enum Type {
+        BID_PLACED,     // 입찰
+        STATUS_CHANGED, // 경매 상태 변경 (시작/낙찰/유찰/방송 등)
+        POSTED,         // 경매 등록
+        REMOVED         // 경매 삭제
+    }
+
+    private final Long auctionIndex;
+    private final Type type;
+}
@@ -0,0 +1,184 @@
+package bibid.service.auction;
+
+import bibid.common.HashedTimingWheel;
+import bibid.entity.AuctionJob;
+import bibid.repository.auction.AuctionJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 경매 예약 작업 저장소 + 실행기
+ * 예약 작업은 auction_job 테이블에 남기고, 실행 시각에는 타이밍 휠이 해당 작업을 바로 가져가 실행한다.
+ * 작업을 가져갈 때는 FOR UPDATE SKIP LOCKED 로 행을 잠그고 lease(lockedBy/lockedUntil)를 기록하므로
+ * 여러 노드가 같은 작업을 동시에 실행하지 않는다.
+ * 다른 노드에서 등록한 작업, 실행 중 노드가 죽어 lease 가 만료된 작업, 재시도 작업은 주기 polling 이 가져간다.
+ * 기동 시에는 대기 중인 작업을 한 번에 읽어 타이밍 휠에 다시 등록한다.
+ */
+@Service
+@Slf4j
+public class AuctionJobService {
+
+    public static final String GENERAL_START = "GENERAL_START";
+    public static final String GENERAL_END = "GENERAL_END";
+    public static final String LIVE_END = "LIVE_END";
+    public static final String LIVE_REMINDER = "LIVE_REMINDER";
+
+    private final AuctionJobRepository auctionJobRepository;
+    private final HashedTimingWheel auctionTimingWheel;
+    private final ThreadPoolTaskScheduler auctionTaskScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+    private final long leaseSeconds;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    // 작업 종류별 실행 로직 (각 스케줄러가 기동 시 등록)
+    private final Map<String, Consumer<AuctionJob>> handlers = new ConcurrentHashMap<>();
+
+    public AuctionJobService(AuctionJobRepository auctionJobRepository,
+                             HashedTimingWheel auctionTimingWheel,
+                             @Qualifier("auctionTaskScheduler") ThreadPoolTaskScheduler auctionTaskScheduler,
+                             TransactionTemplate transactionTemplate,
+                             AuctionSchedulerLeader auctionSchedulerLeader,
+                             @Value("${auction.job.lease-seconds:300}") long leaseSeconds,
+                             @Value("${auction.job.batch-size:100}") int batchSize,
+                             @Value("${auction.job.max-attempts:3}") int maxAttempts) {
+        this.auctionJobRepository = auctionJobRepository;
+        this.auctionTimingWheel = auctionTimingWheel;
+        this.auctionTaskScheduler = auctionTaskScheduler;
+        this.transactionTemplate = transactionTemplate;
+        this.nodeId = auctionSchedulerLeader.getNodeId();
+        this.leaseSeconds = leaseSeconds;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public void registerHandler(String jobType, Consumer<AuctionJob> handler) {
+        handlers.put(jobType, handler);
+    }
+
+    /**
+     * 작업 등록 (같은 key 가 있으면 실행 시각을 바꿔 다시 예약)
+     * 호출 측 트랜잭션이 있으면 함께 커밋되고, 커밋 후에 타이밍 휠에 등록한다.
+     */
+    public void schedule(String jobKey, String jobType, Long auctionIndex, Long memberIndex, Long referenceIndex,
+                         LocalDateTime runAt) {
+        transactionTemplate.executeWithoutResult(status -> auctionJobRepository.upsert(
+                jobKey, jobType, auctionIndex, memberIndex, referenceIndex, runAt, LocalDateTime.now()));
+        afterCommit(() -> wakeUpAt(jobKey, runAt));
+    }
+
+    // 작업이 없을 때만 등록 (기동 시 기존 경매 보완용). 이미 실행/완료된 작업은 다시 만들지 않는다
+    public void scheduleIfAbsent(String jobKey, String jobType, Long auctionIndex, Long memberIndex, Long referenceIndex,
+                                 LocalDateTime runAt) {
+        Integer inserted = transactionTemplate.execute(status -> auctionJobRepository.insertIfAbsent(
+                jobKey, jobType, auctionIndex, memberIndex, referenceIndex, runAt, LocalDateTime.now()));
+        if (inserted != null && inserted > 0) {
+            afterCommit(() -> wakeUpAt(jobKey, runAt));
+        }
+    }
+
+    public boolean exists(String jobKey) {
+        return auctionJobRepository.existsByJobKey(jobKey);
+    }
+
+    // 삭제된 경매의 대기 중인 작업 제거 (휠에 남은 예약은 실행 시 가져갈 작업이 없어 그대로 끝난다)
+    public void cancelByAuction(Long auctionIndex) {
+        transactionTemplate.executeWithoutResult(status -> auctionJobRepository.deletePendingByAuctionIndex(auctionIndex));
+    }
+
+    // 다른 노드 등록 작업, lease 만료 작업, 재시도 작업 처리
+    @Scheduled(fixedDelayString = "${auction.job.poll-interval-ms:5000}")
+    public void pollDueJobs() {
+        List<AuctionJob> claimed;
+        do {
+            claimed = claim(() -> auctionJobRepository.findDueForUpdate(LocalDateTime.now(), batchSize));
+            claimed.forEach(job -> auctionTaskScheduler.execute(() -> execute(job)));
+        } while (claimed.size() == batchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        List<AuctionJob> pendingJobs = auctionJobRepository.findPending();
+        pendingJobs.forEach(job -> wakeUpAt(job.getJobKey(), job.getRunAt()));
+        log.info("예약 작업 타이밍 휠 재등록 완료 - {}건 (nodeId={})", pendingJobs.size(), nodeId);
+    }
+
+    private void wakeUpAt(String jobKey, LocalDateTime runAt) {
+        auctionTimingWheel.schedule("job:" + jobKey, runAt.atZone(ZoneId.systemDefault()).toInstant(), () ->
+                claim(() -> auctionJobRepository.findDueByJobKeyForUpdate(jobKey, LocalDateTime.now()))
+                        .forEach(this::execute));
+    }
+
+    // 실행할 작업을 잠그고 lease 기록 후 커밋 (다른 노드가 잡고 있는 행은 건너뜀)
+    private List<AuctionJob> claim(Supplier<List<AuctionJob>> finder) {
+        List<AuctionJob> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<AuctionJob> jobs = finder.get();
+            for (AuctionJob job : jobs) {
+                job.setStatus("RUNNING");
+                job.setLockedBy(nodeId);
+                job.setLockedUntil(now.plusSeconds(leaseSeconds));
+                job.setAttempts(job.getAttempts() + 1);
+                job.setModdate(now);
+            }
+            return jobs;
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    private void execute(AuctionJob job) {
+        try {
+            Consumer<AuctionJob> handler = handlers.get(job.getJobType());
+            if (handler == null) {
+                throw new IllegalStateException("등록되지 않은 작업 종류입니다: " + job.getJobType());
+            }
+
+            handler.accept(job);
+            transactionTemplate.executeWithoutResult(status ->
+                    auctionJobRepository.markDone(job.getAuctionJobIndex(), nodeId, LocalDateTime.now()));
+            log.info("예약 작업 완료 - jobKey={}", job.getJobKey());
+        } catch (RuntimeException e) {
+            // 재시도 횟수가 남았으면 시도 횟수만큼 늦춰 다시 대기 상태로
+            boolean retry = job.getAttempts() < maxAttempts;
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime retryAt = now.plusSeconds(30L * job.getAttempts());
+            transactionTemplate.executeWithoutResult(status -> auctionJobRepository.markFailed(
+                    job.getAuctionJobIndex(), nodeId, retry ? "PENDING" : "FAILED", retryAt, now));
+            if (retry) {
+                wakeUpAt(job.getJobKey(), retryAt);
+            }
+            log.error("예약 작업 실패 - jobKey={}, attempts={}, retry={}", job.getJobKey(), job.getAttempts(), retry, e);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
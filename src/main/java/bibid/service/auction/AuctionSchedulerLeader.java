@@ -0,0 +1,72 @@
+package bibid.service.auction;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 주기 작업(@Scheduled) 리더 선출
+ * Redis 키 하나를 lease 로 잡은 노드만 주기 점검을 실행해 여러 노드가 같은 경매를 동시에 처리하지 않게 한다.
+ * 리더는 실행할 때마다 lease 를 연장하고, 리더 노드가 죽으면 lease 만료 후 다른 노드가 이어받는다.
+ */
+@Service
+@Slf4j
+public class AuctionSchedulerLeader {
+
+    private static final String LEADER_KEY = "auction:scheduler:leader";
+
+    // 내가 리더면 lease 연장, 리더가 없으면 획득 (1 = 리더, 0 = 아님)
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[1])
+            if current == ARGV[1] then
+                redis.call('PEXPIRE', KEYS[1], ARGV[2])
+                return 1
+            end
+            if not current then
+                redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final long leaseMillis;
+    private final String nodeId;
+
+    public AuctionSchedulerLeader(RedisTemplate<String, String> redisTemplate,
+                                  @Value("${auction.scheduler.leader-lease-ms:120000}") long leaseMillis) {
+        this.redisTemplate = redisTemplate;
+        this.leaseMillis = leaseMillis;
+        this.nodeId = resolveHostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isLeader() {
+        try {
+            Long result = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(LEADER_KEY), nodeId, String.valueOf(leaseMillis));
+            return result != null && result == 1L;
+        } catch (RuntimeException e) {
+            // Redis 장애 시에는 주기 점검을 건너뛴다 (예약 작업은 DB lease 로 계속 처리됨)
+            log.warn("스케줄러 리더 확인 실패 - nodeId={}", nodeId, e);
+            return false;
+        }
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -2,6 +2,7 @@ package bibid.service.auction;
 
 import bibid.dto.AuctionDetailDto;
 import bibid.dto.AuctionDto;
+import bibid.dto.CursorPageDto;
 import bibid.entity.Auction;
 import bibid.entity.Member;
 import org.springframework.data.domain.Page;
@@ -27,6 +28,17 @@ public interface AuctionService {
 
     Page<AuctionDto> findConveyor(Pageable pageable);
 
+    // 커서(keyset) 기반 목록 - cursor 가 null 이면 첫 페이지
+    CursorPageDto<AuctionDto> findAllByCursor(String cursor, int size);
+
+    CursorPageDto<AuctionDto> findTopByViewCountByCursor(String cursor, int size);
+
+    CursorPageDto<AuctionDto> findByCategoryByCursor(String category, String cursor, int size);
+
+    CursorPageDto<AuctionDto> findByCategory2ByCursor(String category, String cursor, int size);
+
+    CursorPageDto<AuctionDto> findConveyorByCursor(String cursor, int size);
+
     Page<AuctionDto> searchFind(String searchCondition, String searchKeyword, Pageable pageable);
 
     void remove(Long auctionIndex);
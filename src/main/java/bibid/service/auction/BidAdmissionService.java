@@ -0,0 +1,152 @@
+package bibid.service.auction;
+
+import bibid.exception.errorCode.BidRejectedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 입찰 유입 제한 (일반 경매 REST 입찰 / 실시간 경매 STOMP 입찰 공통)
+ * 1. 노드별 동시 처리 입찰 수를 Semaphore 로 제한하고, 자리가 없으면 기다리지 않고 바로 거절한다.
+ * 2. 회원별/경매별 token bucket 을 Redis 스크립트 한 번으로 함께 확인하고 차감한다. (둘 중 하나라도 부족하면 차감 없이 거절)
+ * 거절은 DB 조회 없이 BidRejectedException(429)으로 끝나므로 과부하 시 초과 입찰이 Postgres 앞에 쌓이지 않는다.
+ * Redis 장애 시에는 입찰 자체를 막지 않도록 token bucket 확인을 건너뛴다.
+ */
+@Service
+@Slf4j
+public class BidAdmissionService {
+
+    private static final String MEMBER_BUCKET_PREFIX = "bid:bucket:member:";
+    private static final String AUCTION_BUCKET_PREFIX = "bid:bucket:auction:";
+
+    /**
+     * 회원/경매 token bucket 확인 후 1개씩 차감
+     * KEYS[1] = 회원 버킷, KEYS[2] = 경매 버킷 (Hash: tokens, ts)
+     * ARGV[1] = 회원 버킷 용량, ARGV[2] = 회원 초당 충전량, ARGV[3] = 경매 버킷 용량, ARGV[4] = 경매 초당 충전량
+     * 반환값 = {0, 0} 통과, {1, 재시도 ms} 회원 제한, {2, 재시도 ms} 경매 제한
+     */
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+            local function available(key, capacity, rate)
+                local bucket = redis.call('HMGET', key, 'tokens', 'ts')
+                local tokens = tonumber(bucket[1])
+                local ts = tonumber(bucket[2])
+                if tokens == nil or ts == nil then
+                    return capacity
+                end
+                return math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+            end
+
+            local memberCapacity, memberRate = tonumber(ARGV[1]), tonumber(ARGV[2])
+            local auctionCapacity, auctionRate = tonumber(ARGV[3]), tonumber(ARGV[4])
+            local memberTokens = available(KEYS[1], memberCapacity, memberRate)
+            local auctionTokens = available(KEYS[2], auctionCapacity, auctionRate)
+
+            if memberTokens < 1 then
+                return {1, math.ceil((1 - memberTokens) * 1000 / memberRate)}
+            end
+            if auctionTokens < 1 then
+                return {2, math.ceil((1 - auctionTokens) * 1000 / auctionRate)}
+            end
+
+            redis.call('HSET', KEYS[1], 'tokens', tostring(memberTokens - 1), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(memberCapacity * 1000 / memberRate) + 1000)
+            redis.call('HSET', KEYS[2], 'tokens', tostring(auctionTokens - 1), 'ts', now)
+            redis.call('PEXPIRE', KEYS[2], math.ceil(auctionCapacity * 1000 / auctionRate) + 1000)
+            return {0, 0}
+            """, List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Semaphore inFlightBids;
+    private final int memberCapacity;
+    private final double memberRefillPerSecond;
+    private final int auctionCapacity;
+    private final double auctionRefillPerSecond;
+
+    public BidAdmissionService(RedisTemplate<String, String> redisTemplate,
+                               @Value("${auction.bid.admission.max-concurrent:64}") int maxConcurrent,
+                               @Value("${auction.bid.admission.member-capacity:5}") int memberCapacity,
+                               @Value("${auction.bid.admission.member-refill-per-second:2}") double memberRefillPerSecond,
+                               @Value("${auction.bid.admission.auction-capacity:200}") int auctionCapacity,
+                               @Value("${auction.bid.admission.auction-refill-per-second:100}") double auctionRefillPerSecond) {
+        this.redisTemplate = redisTemplate;
+        this.inFlightBids = new Semaphore(maxConcurrent);
+        this.memberCapacity = memberCapacity;
+        this.memberRefillPerSecond = memberRefillPerSecond;
+        this.auctionCapacity = auctionCapacity;
+        this.auctionRefillPerSecond = auctionRefillPerSecond;
+    }
+
+    /**
+     * 입찰 1건 유입 허가
+     * 거절되면 BidRejectedException 이 발생하고, 허가되면 입찰 처리가 끝난 뒤 close 해야 하는 Permit 을 반환한다.
+     * (memberKey 는 인증 정보의 사용자 아이디 - 허가 여부 판단에 회원 조회가 필요 없도록)
+     */
+    public Permit admit(String memberKey, Long auctionIndex) {
+        if (!inFlightBids.tryAcquire()) {
+            throw new BidRejectedException("입찰 요청이 몰려 처리하지 못했습니다. 잠시 후 다시 시도해주세요.", 1000L);
+        }
+
+        Permit permit = new Permit();
+        try {
+            checkTokenBuckets(memberKey, auctionIndex);
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+        return permit;
+    }
+
+    private void checkTokenBuckets(String memberKey, Long auctionIndex) {
+        List<?> result;
+        try {
+            result = redisTemplate.execute(TOKEN_BUCKET_SCRIPT,
+                    List.of(MEMBER_BUCKET_PREFIX + memberKey, AUCTION_BUCKET_PREFIX + auctionIndex),
+                    String.valueOf(memberCapacity), String.valueOf(memberRefillPerSecond),
+                    String.valueOf(auctionCapacity), String.valueOf(auctionRefillPerSecond));
+        } catch (RuntimeException e) {
+            log.warn("입찰 token bucket 확인 실패 - 제한 없이 진행 (auctionIndex={})", auctionIndex, e);
+            return;
+        }
+
+        if (result == null || result.size() < 2) {
+            return;
+        }
+
+        long code = ((Number) result.get(0)).longValue();
+        long retryAfterMillis = ((Number) result.get(1)).longValue();
+        if (code == 1) {
+            throw new BidRejectedException("입찰이 너무 빠릅니다. 잠시 후 다시 시도해주세요.", retryAfterMillis);
+        }
+        if (code == 2) {
+            log.info("경매 입찰 유입 제한 - auctionIndex={}, retryAfterMillis={}", auctionIndex, retryAfterMillis);
+            throw new BidRejectedException("이 경매에 입찰이 몰리고 있습니다. 잠시 후 다시 시도해주세요.", retryAfterMillis);
+        }
+    }
+
+    /**
+     * 동시 처리 자리 (한 번만 반환된다)
+     */
+    public final class Permit implements AutoCloseable {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                inFlightBids.release();
+            }
+        }
+    }
+}
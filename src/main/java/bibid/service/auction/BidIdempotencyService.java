@@ -0,0 +1,117 @@
+package bibid.service.auction;
+
+import bibid.exception.errorCode.BidRejectedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 입찰 중복 제출 방지 (클라이언트가 보낸 멱등 키 기준)
+ * 처음 들어온 키는 Redis SET NX PX 로 '처리 중' 표시를 남긴 뒤 입찰을 처리하고, 성공 결과를 같은 키에 짧은 TTL 로 저장한다.
+ * 재전송된 요청은 저장된 결과를 그대로 돌려주므로 자금 예약/입찰 저장/DB 조회가 다시 실행되지 않는다.
+ * 처리 중인 키로 다시 들어오면 잠시 후 재시도하도록 거절하고, 처리에 실패하면 키를 지워 다시 시도할 수 있게 한다.
+ * 키는 회원/작업 종류/경매별로 구분하므로 다른 회원이나 다른 경매의 결과를 받을 수 없고,
+ * 요청 내용(입찰 금액 등) 지문을 결과와 함께 저장해 같은 키로 내용이 다른 요청이 오면 재생하지 않고 거절한다.
+ */
+@Service
+@Slf4j
+public class BidIdempotencyService {
+
+    private static final String KEY_PREFIX = "bid:idempotency:";
+    private static final String PENDING = "PENDING";
+    private static final String FINGERPRINT_SEPARATOR = "\n";
+    private static final int MAX_KEY_LENGTH = 128;
+
+    // 작업 종류 (키 구분용)
+    public static final String LIVE_BID = "live-bid";
+    public static final String GENERAL_BID = "bid";
+    public static final String PROXY_BID = "proxy-bid";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration resultTtl;
+    private final Duration pendingTtl;
+
+    public BidIdempotencyService(RedisTemplate<String, String> redisTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${auction.bid.idempotency.ttl-seconds:600}") long resultTtlSeconds,
+                                 @Value("${auction.bid.idempotency.pending-ttl-seconds:30}") long pendingTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.resultTtl = Duration.ofSeconds(resultTtlSeconds);
+        this.pendingTtl = Duration.ofSeconds(pendingTtlSeconds);
+    }
+
+    /**
+     * 멱등 키로 입찰 처리 (키가 없으면 그대로 실행)
+     * fingerprint 는 요청 내용을 나타내는 문자열로, 같은 키의 이전 요청과 다르면 IllegalArgumentException 이 발생한다.
+     * 반환값의 replayed 가 true 면 이전에 처리된 결과를 다시 돌려준 것이다.
+     */
+    public <T> Outcome<T> execute(String memberKey, String operation, Long auctionIndex, String fingerprint,
+                                  String idempotencyKey, Class<T> resultType, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return new Outcome<>(action.get(), false);
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("멱등 키는 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+        }
+
+        String key = KEY_PREFIX + memberKey + ":" + operation + ":" + auctionIndex + ":" + idempotencyKey;
+        String prefix = fingerprint + FINGERPRINT_SEPARATOR;
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key, prefix + PENDING, pendingTtl);
+        if (!Boolean.TRUE.equals(acquired)) {
+            return new Outcome<>(replay(key, fingerprint, resultType), true);
+        }
+
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            redisTemplate.delete(key);
+            throw e;
+        }
+
+        try {
+            redisTemplate.opsForValue().set(key, prefix + objectMapper.writeValueAsString(result), resultTtl);
+        } catch (Exception e) {
+            // 결과 저장에 실패해도 입찰은 이미 반영되었으므로 응답은 그대로 보낸다 (처리 중 표시는 TTL 로 만료)
+            log.warn("입찰 멱등 결과 저장 실패 - key={}", key, e);
+        }
+        return new Outcome<>(result, false);
+    }
+
+    private <T> T replay(String key, String fingerprint, Class<T> resultType) {
+        String stored = redisTemplate.opsForValue().get(key);
+        if (stored == null) {
+            throw new BidRejectedException("같은 입찰 요청을 처리하고 있습니다. 잠시 후 다시 확인해주세요.", 500L);
+        }
+
+        int separator = stored.indexOf(FINGERPRINT_SEPARATOR);
+        if (separator < 0 || !stored.substring(0, separator).equals(fingerprint)) {
+            throw new IllegalArgumentException("같은 멱등 키로 내용이 다른 입찰 요청을 보낼 수 없습니다.");
+        }
+
+        String payload = stored.substring(separator + 1);
+        if (PENDING.equals(payload)) {
+            throw new BidRejectedException("같은 입찰 요청을 처리하고 있습니다. 잠시 후 다시 확인해주세요.", 500L);
+        }
+
+        try {
+            log.info("중복 입찰 요청 - 저장된 결과로 응답 (key={})", key);
+            return objectMapper.readValue(payload, resultType);
+        } catch (Exception e) {
+            throw new IllegalStateException("저장된 입찰 결과를 읽을 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 처리 결과 (replayed = 중복 요청에 저장된 결과를 돌려준 경우)
+     */
+    public record Outcome<T>(T result, boolean replayed) {
+    }
+}
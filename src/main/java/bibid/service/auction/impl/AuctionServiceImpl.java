@@ -4,17 +4,25 @@ import bibid.common.FileUtils;
 import bibid.dto.AuctionDetailDto;
 import bibid.dto.AuctionDto;
 import bibid.dto.AuctionImageDto;
+import bibid.dto.CursorPageDto;
 import bibid.entity.Auction;
 import bibid.entity.AuctionDetail;
 import bibid.entity.ChatRoom;
 import bibid.entity.Member;
 import bibid.repository.auction.AuctionDetailRepository;
 import bibid.repository.auction.AuctionRepository;
+import bibid.repository.auction.AuctionSearchRepository;
+import bibid.service.auctionItemDetail.impl.GeneralAuctionLifecycleScheduler;
 import bibid.service.specialAuction.impl.SpecialAuctionScheduler;
+import bibid.service.auction.AuctionCacheService;
+import bibid.service.auction.AuctionChangedEvent;
+import bibid.service.auction.AuctionJobService;
 import bibid.service.auction.AuctionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -24,15 +32,21 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuctionServiceImpl implements AuctionService {
     private final SpecialAuctionScheduler specialAuctionScheduler;
+    private final GeneralAuctionLifecycleScheduler generalAuctionLifecycleScheduler;
+    private final AuctionJobService auctionJobService;
     private final AuctionRepository auctionRepository;
     private final FileUtils fileUtils;
     private final AuctionDetailRepository auctionDetailRepository;
+    private final AuctionSearchRepository auctionSearchRepository;
+    private final AuctionCacheService auctionCacheService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public AuctionDto post(AuctionDto auctionDto,
@@ -44,6 +58,10 @@ public class AuctionServiceImpl implements AuctionService {
         auctionDto.setRegdate(LocalDateTime.now());
         auctionDto.setModdate(LocalDateTime.now());
         auctionDto.setAuctionStatus("대기중");
+        // 조회수 커서 정렬에서 null 이 섞이지 않도록 0 으로 시작
+        if (auctionDto.getViewCnt() == null) {
+            auctionDto.setViewCnt(0L);
+        }
 
         Auction auction = auctionDto.toEntity(member);
         AuctionDetail auctionDetail = auctionDetailDto.toEntity(auction);
@@ -80,8 +98,13 @@ public class AuctionServiceImpl implements AuctionService {
 
         if (auctionDto.getAuctionType().equals("실시간 경매")) {
             specialAuctionScheduler.scheduleAuctionEnd(savedAuction.getAuctionIndex(), auctionDto.getEndingLocalDateTime());
+        } else if (auctionDto.getAuctionType().equals("일반 경매")) {
+            generalAuctionLifecycleScheduler.schedule(savedAuction.getAuctionIndex(),
+                    savedAuction.getStartingLocalDateTime(), savedAuction.getEndingLocalDateTime());
         }
 
+        eventPublisher.publishEvent(new AuctionChangedEvent(savedAuction.getAuctionIndex(), AuctionChangedEvent.Type.POSTED));
+
         return savedAuction.toDto(); // ✅ 전체 목록이 아니라 방금 저장한 객체를 DTO로 변환
     }
 
@@ -90,39 +113,95 @@ public class AuctionServiceImpl implements AuctionService {
     @Override
     public Page<AuctionDto> findAll(Pageable pageable) {
         Pageable sortedByRegdate = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("regdate").descending());
-        return auctionRepository.findAllGeneralAuction(sortedByRegdate).map(Auction::toDto);
+        return auctionCacheService.getListing("all", sortedByRegdate,
+                () -> auctionRepository.findAllGeneralAuction(sortedByRegdate).map(Auction::toDto));
     }
 
 
     @Override
     public Page<AuctionDto> findTopByViewCount(Pageable pageable) {
         Pageable sortedByViewCount = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("viewCnt").descending());
-        return auctionRepository.findBest(sortedByViewCount).map(Auction::toDto);
+        return auctionCacheService.getListing("top", sortedByViewCount,
+                () -> auctionRepository.findBest(sortedByViewCount).map(Auction::toDto));
     }
 
     @Override
     public Page<AuctionDto> findByCategory(String category, Pageable pageable) {
         Pageable sortedByViewCount = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("viewCnt").descending());
-        return auctionRepository.findByCategory(category, sortedByViewCount).map(Auction::toDto);
+        return auctionCacheService.getListing("best:" + category, sortedByViewCount,
+                () -> auctionRepository.findByCategory(category, sortedByViewCount).map(Auction::toDto));
     }
 
     @Override
     public Page<AuctionDto> findByCategory2(String category, Pageable pageable) {
         Pageable sortedByRegdate = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("regdate").descending());
-        return auctionRepository.findByCategory2(category, sortedByRegdate).map(Auction::toDto);
+        return auctionCacheService.getListing("category:" + category, sortedByRegdate,
+                () -> auctionRepository.findByCategory2(category, sortedByRegdate).map(Auction::toDto));
     }
 
     @Override
     public Page<AuctionDto> findConveyor(Pageable pageable) {
         LocalDateTime currentTime = LocalDateTime.now();
         Pageable sortedByEndingLocalDateTime = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("endingLocalDateTime").descending());
-        return auctionRepository.findConveyor(currentTime, sortedByEndingLocalDateTime).map(Auction::toDto);
+        return auctionCacheService.getListing("conveyor", sortedByEndingLocalDateTime,
+                () -> auctionRepository.findConveyor(currentTime, sortedByEndingLocalDateTime).map(Auction::toDto));
+    }
+
+    /*
+     * 커서 기반 목록 (무한 스크롤용)
+     * 페이지 조회는 캐시 없이 keyset 으로 size 건만 읽고,
+     * 전체 건수는 첫 페이지에서만 목록 캐시 TTL 동안 재사용되는 값으로 채운다.
+     */
+    @Override
+    public CursorPageDto<AuctionDto> findAllByCursor(String cursor, int size) {
+        CursorPageDto<AuctionDto> page = auctionRepository.findAllGeneralAuctionByCursor(cursor, size).map(Auction::toDto);
+        return withTotal(page, cursor, "all", null);
+    }
+
+    @Override
+    public CursorPageDto<AuctionDto> findTopByViewCountByCursor(String cursor, int size) {
+        CursorPageDto<AuctionDto> page = auctionRepository.findBestByCursor(null, cursor, size).map(Auction::toDto);
+        return withTotal(page, cursor, "all", null);
+    }
+
+    @Override
+    public CursorPageDto<AuctionDto> findByCategoryByCursor(String category, String cursor, int size) {
+        CursorPageDto<AuctionDto> page = auctionRepository.findBestByCursor(category, cursor, size).map(Auction::toDto);
+        return withTotal(page, cursor, "category:" + category, category);
+    }
+
+    @Override
+    public CursorPageDto<AuctionDto> findByCategory2ByCursor(String category, String cursor, int size) {
+        CursorPageDto<AuctionDto> page = auctionRepository.findByCategoryByCursor(category, cursor, size).map(Auction::toDto);
+        return withTotal(page, cursor, "category:" + category, category);
+    }
+
+    // 마감 임박 목록은 시간이 지나면서 대상이 계속 바뀌므로 전체 건수를 채우지 않는다
+    @Override
+    public CursorPageDto<AuctionDto> findConveyorByCursor(String cursor, int size) {
+        return auctionRepository.findConveyorByCursor(LocalDateTime.now(), cursor, size).map(Auction::toDto);
+    }
+
+    private CursorPageDto<AuctionDto> withTotal(CursorPageDto<AuctionDto> page, String cursor, String name, String category) {
+        if (cursor == null) {
+            page.setTotalElements(auctionCacheService.getListingCount(name,
+                    () -> auctionRepository.countGeneralAuction(category)));
+        }
+        return page;
     }
 
     @Override
     public Page<AuctionDto> searchFind(String searchCondition, String searchKeyword, Pageable pageable) {
-        Pageable sortedByRegdate = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("regdate").descending());
-        return auctionRepository.searchAll(searchCondition, searchKeyword, sortedByRegdate).map(Auction::toDto);
+        // 검색어 관련도 순 (같은 점수는 최신 등록 순)
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        List<AuctionDto> content = auctionSearchRepository.search(searchCondition, searchKeyword, unsorted).stream()
+                .map(Auction::toDto)
+                .toList();
+
+        // 전체 건수는 최대 COUNT_LIMIT 건까지 세고, 목록 캐시와 같은 세대로 캐시
+        long total = auctionCacheService.getListingCount("search:" + searchCondition + ":" + searchKeyword.trim(),
+                () -> auctionSearchRepository.count(searchCondition, searchKeyword));
+        return new PageImpl<>(content, unsorted, Math.max(total, unsorted.getOffset() + content.size()));
     }
 
     @Transactional
@@ -155,5 +234,9 @@ public class AuctionServiceImpl implements AuctionService {
         // Auction 삭제
         auctionRepository.delete(auction);
 
+        // 예약된 시작/종료/알림 작업 취소
+        auctionJobService.cancelByAuction(auctionIndex);
+
+        eventPublisher.publishEvent(new AuctionChangedEvent(auctionIndex, AuctionChangedEvent.Type.REMOVED));
     }
 }
@@ -22,16 +22,26 @@ public interface AuctionItemDetailService {
 
     SellerInfoDto findSellerInfo(Long auctionIndex);
 
+    // 상세 페이지 응답을 조회 전용 projection 으로 한 번에 조립
+    AuctionResponseDto findAuctionDetailView(Long auctionIndex);
+
     AuctionInfoDto updateAuctionItemDetail(Long auctionIndex, BidRequestDto bidRequestDto, Member member);
 
+    // 자동 입찰(최대 입찰가) 등록 - 정리된 현재 최고 입찰을 반환
+    AuctionInfoDto registerProxyBid(Long auctionIndex, Long maxBidAmount, Member member);
+
     @Scheduled(fixedRate = 60000)
     @Transactional
     void updateOngoingAuctions();
 
     @Scheduled(fixedRate = 60000)
-    @Transactional
     void updateCompletedAuctionStatus();
 
+    // 타이밍 휠에 예약된 시작/종료 시각에 경매 한 건씩 처리
+    void startAuction(Long auctionIndex);
+
+    void closeAuction(Long auctionIndex);
+
     List<String> findAuctionImagesByAuctionIndex(Long auctionIndex);
 
     String auctionChecking(Long auctionIndex);
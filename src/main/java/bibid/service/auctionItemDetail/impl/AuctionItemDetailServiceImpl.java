@@ -3,23 +3,25 @@ package bibid.service.auctionItemDetail.impl;
 import bibid.dto.*;
 import bibid.entity.*;
 import bibid.repository.account.AccountRepository;
-import bibid.repository.account.AccountUseHistoryRepository;
+import bibid.repository.auction.AuctionDetailQueryRepository;
 import bibid.repository.auction.AuctionImageRepository;
 import bibid.repository.member.SellerInfoRepository;
 import bibid.repository.auction.AuctionRepository;
 import bibid.repository.member.MemberRepository;
 import bibid.repository.specialAuction.AuctionInfoRepository;
+import bibid.service.auction.AuctionCacheService;
+import bibid.service.auction.AuctionChangedEvent;
+import bibid.service.auction.AuctionSchedulerLeader;
 import bibid.service.auctionItemDetail.AuctionItemDetailService;
-import bibid.service.notification.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,13 +31,17 @@ import java.util.Optional;
 public class AuctionItemDetailServiceImpl implements AuctionItemDetailService {
 
     private final AuctionRepository auctionRepository;
+    private final AuctionDetailQueryRepository auctionDetailQueryRepository;
     private final AuctionInfoRepository auctionInfoRepository; // specialAuction 패키지 내부에 존재
     private final MemberRepository memberRepository;
     private final SellerInfoRepository sellerInfoRepository;
     private final AuctionImageRepository auctionImageRepository;
     private final AccountRepository accountRepository;
-    private final AccountUseHistoryRepository accountUseHistoryRepository;
-    private final NotificationService notificationService;
+    private final GeneralAuctionBidSequencer generalAuctionBidSequencer;
+    private final AuctionCacheService auctionCacheService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuctionSchedulerLeader auctionSchedulerLeader;
+    private final GeneralAuctionBatchFinalizer generalAuctionBatchFinalizer;
 
     @Override
     public AuctionDto findAuctionItem(Long auctionIndex) {
@@ -61,7 +67,7 @@ public class AuctionItemDetailServiceImpl implements AuctionItemDetailService {
 
     @Override
     public List<AuctionInfoDto> findLastBidder(Long auctionIndex) {
-        return auctionInfoRepository.findTop3ByAuction_AuctionIndexOrderByAuctionInfoIndexDesc(auctionIndex).stream().map(
+        return auctionInfoRepository.findTop3ByAuction_AuctionIndexOrderByBidTimeDescAuctionInfoIndexDesc(auctionIndex).stream().map(
                 this::convertToDto
         ).toList();
     }
@@ -99,197 +105,83 @@ public class AuctionItemDetailServiceImpl implements AuctionItemDetailService {
         return sellerInfoRepository.findByMember_MemberIndex(findSeller(auctionIndex).getMemberIndex()).toDto();
     }
 
-    @Transactional
     @Override
-    public AuctionInfoDto updateAuctionItemDetail(Long auctionIndex, BidRequestDto bidRequestDto, Member member) {
-        AuctionInfo auctionInfo = new AuctionInfo();
-        LocalDateTime currentTime = LocalDateTime.now();
-
-        // 경매 객체 조회 및 할당
-        Auction auction = auctionRepository.findById(auctionIndex)
-                .orElseThrow(() -> new RuntimeException("Auction not found with index: " + auctionIndex));
-        auctionInfo.setAuction(auction);
-
-        // 현재 입찰자의 계좌 금액 확인 및 차감
-        Account currentBidderAccount = accountRepository.findByMember_MemberIndex(member.getMemberIndex())
-                .orElseThrow(() -> new RuntimeException("현재 입찰자의 계좌 정보를 찾을 수 없습니다."));
-        int currentBalance = Integer.parseInt(currentBidderAccount.getUserMoney());
-        int bidAmount = bidRequestDto.getUserBiddingPrice().intValue();
-
-        // 계좌 금액 확인: 잔액이 입찰 금액보다 적으면 예외 발생
-        if (currentBalance < bidAmount) {
-            throw new RuntimeException("잔액이 부족합니다.");
+    @Transactional(readOnly = true)
+    public AuctionResponseDto findAuctionDetailView(Long auctionIndex) {
+        AuctionResponseDto detailView = auctionCacheService.getDetail(auctionIndex,
+                () -> auctionDetailQueryRepository.findAuctionDetailView(auctionIndex).orElse(null));
+        if (detailView == null) {
+            throw new IllegalArgumentException("잘못된 접근입니다.-존재하지 않는 옥션");
         }
 
-        // 입찰자 정보 조회 및 할당
-        auctionInfo.setBidder(member);
-
-        // 입찰 시간 및 입찰 금액 설정
-        auctionInfo.setBidTime(currentTime);
-        auctionInfo.setBidAmount(bidRequestDto.getUserBiddingPrice());
-        auctionInfo.setBidderNickname(member.getNickname());
-
-        // 이전 입찰자와 비교하여 higherBid, lowerBid 계산
-        List<AuctionInfo> previousBids = auctionInfoRepository.findByAuctionOrderByBidTimeDesc(auction);
-
-        Long higherBid = auctionInfo.getBidAmount();
-        // 이전 입찰자 정보 가져오기 (최신 입찰 정보를 가져옴)
-        AuctionInfo previousBidInfo = previousBids.isEmpty() ? null : previousBids.get(0);
-
-        // 이전 입찰자가 있을 경우, 해당 입찰자의 입찰 금액 및 정보를 사용
-        if (previousBidInfo != null) {
-            Long lowerBid = previousBidInfo.getBidAmount();
-            Account previousBidderAccount = accountRepository.findByMember_MemberIndex(previousBidInfo.getBidder().getMemberIndex())
-                    .orElseThrow(() -> new RuntimeException("이전 입찰자의 계좌 정보를 찾을 수 없습니다."));
-            Member previousHighestBidder = previousBidInfo.getBidder(); // 직전 입찰자 정보
-
-            // 이전 입찰자의 금액 환불
-            int previousBalance = Integer.parseInt(previousBidderAccount.getUserMoney());
-            previousBidderAccount.setUserMoney(String.valueOf(previousBalance + lowerBid.intValue()));
-            accountRepository.save(previousBidderAccount);
-            log.info("이전 입찰자 {}에게 {} 원 환불 완료", previousHighestBidder.getNickname(), lowerBid);
-
-            // AccountUseHistoryDto 생성 및 저장 (환불)
-            AccountUseHistoryDto refundHistoryDto = AccountUseHistoryDto.builder()
-                    .auctionType("일반 경매")
-                    .accountIndex(previousBidderAccount.getAccountIndex())
-                    .afterBalance(String.valueOf(previousBalance + lowerBid.intValue()))
-                    .beforeBalance(String.valueOf(previousBalance))
-                    .createdTime(currentTime)
-                    .productName(auction.getProductName())
-                    .changeAccount(String.valueOf(lowerBid))
-                    .useType("반환")
-                    .memberIndex(previousHighestBidder.getMemberIndex())
-                    .auctionIndex(auctionIndex)
-                    .build();
-            accountUseHistoryRepository.save(refundHistoryDto.toEntity(previousHighestBidder, auction, previousBidderAccount));
-
-            log.info("이전 입찰자 {}에게 {} 원 환불 완료 및 히스토리 기록", previousBidInfo.getBidder().getNickname(), lowerBid);
-
-            // 현재 입찰자와 직전 입찰자가 다른 경우에만 알림 전송
-            if (!previousHighestBidder.getNickname().equals(member.getNickname())) {
-                // 알림 전송
-                notificationService.notifyHigherBid(previousHighestBidder, auctionIndex, higherBid, lowerBid);
-            } else{
-                currentBidderAccount.setUserMoney(previousBidderAccount.getUserMoney());
-                currentBalance = Integer.parseInt(currentBidderAccount.getUserMoney());
-            }
-        }
-
-        currentBidderAccount.setUserMoney(String.valueOf(currentBalance - bidAmount));
-        accountRepository.save(currentBidderAccount);
-        log.info("현재 입찰자 {}의 계좌에서 {} 원 차감 완료", member.getNickname(), bidAmount);
-
-        // AccountUseHistoryDto 생성 및 저장 (입찰)
-        AccountUseHistoryDto bidHistoryDto = AccountUseHistoryDto.builder()
-                .auctionType("일반 경매")
-                .accountIndex(currentBidderAccount.getAccountIndex())
-                .afterBalance(String.valueOf(currentBalance - bidAmount))
-                .beforeBalance(String.valueOf(currentBalance))
-                .createdTime(currentTime)
-                .productName(auction.getProductName())
-                .changeAccount(String.valueOf(bidAmount))
-                .useType("입찰")
-                .memberIndex(member.getMemberIndex())
-                .auctionIndex(auctionIndex)
-                .build();
-        accountUseHistoryRepository.save(bidHistoryDto.toEntity(member, auction, currentBidderAccount));
-
-        log.info("현재 입찰자 {}의 계좌에서 {} 원 차감 완료 및 히스토리 기록", member.getNickname(), bidAmount);
-
-        // 입찰 유형이 '즉시구매'일 경우 경매 상태를 '완료'로 설정하고 DB에 업데이트
-        if (bidRequestDto.getUserBiddingType().equals("buyNow")) {
-            auction.setAuctionStatus("경매 완료");
-            auctionRepository.save(auction); // 경매 상태를 "완료"로 갱신
+        // 일반 경매만 상세 페이지 접근 허용
+        if (!"일반 경매".equals(detailView.getAuctionItem().getAuctionType())) {
+            throw new IllegalArgumentException("잘못된 접근입니다.-잘못된 옥션접근");
         }
+        return detailView;
+    }
 
-        // AuctionInfo 저장 및 DTO 반환
-        auctionInfoRepository.save(auctionInfo);
-        log.info("AuctionInfo 저장 완료 - Auction Index: {}, Bidder: {}, Bid Amount: {}", auctionIndex, member.getNickname(), bidAmount);
+    @Override
+    public AuctionInfoDto updateAuctionItemDetail(Long auctionIndex, BidRequestDto bidRequestDto, Member member) {
+        // 같은 경매의 입찰은 시퀀서 샤드에서 순서대로 검증/반영된다
+        return generalAuctionBidSequencer.submit(auctionIndex, bidRequestDto, member);
+    }
 
-        return auctionInfo.toDto();
+    @Override
+    public AuctionInfoDto registerProxyBid(Long auctionIndex, Long maxBidAmount, Member member) {
+        return generalAuctionBidSequencer.submitProxy(auctionIndex, maxBidAmount, member);
     }
 
     @Scheduled(fixedRate = 60000)
     @Transactional
     @Override
     public void updateOngoingAuctions() {
-        auctionRepository.updateOngoingAuctions(LocalDateTime.now(), "일반 경매");
+        // 주기 점검은 리더 노드에서만 실행 (예약 작업이 누락된 경매 보완용)
+        if (!auctionSchedulerLeader.isLeader()) {
+            return;
+        }
+
+        LocalDateTime currentTime = LocalDateTime.now();
+        List<Long> startingAuctionIndexes = auctionRepository.findAuctionIndexesToStart(currentTime, "일반 경매");
+        if (startingAuctionIndexes.isEmpty()) {
+            return;
+        }
+
+        auctionRepository.updateOngoingAuctions(currentTime, "일반 경매");
+        startingAuctionIndexes.forEach(auctionIndex ->
+                eventPublisher.publishEvent(new AuctionChangedEvent(auctionIndex, AuctionChangedEvent.Type.STATUS_CHANGED)));
         log.info("Updated ongoing auctions based on the current time");
     }
 
+    // 예약 작업이 누락된 종료 경매를 청크 단위로 병렬 일괄 정산 (청크마다 별도 트랜잭션)
     @Scheduled(fixedRate = 60000)
-    @Transactional
     @Override
     public void updateCompletedAuctionStatus() {
-
-        LocalDateTime currentTime = LocalDateTime.now();
-
-
-        List<Auction> completedAuctions = auctionRepository.findByEndingLocalDateTimeBeforeAndAuctionStatusAndAuctionType(
-                currentTime, "경매 시작", "일반 경매");
-
-        if (completedAuctions.isEmpty()) {
-            log.info("No completed auctions to finalize. Skipping this cycle.");
+        if (!auctionSchedulerLeader.isLeader()) {
             return;
         }
 
-        for (Auction auction : completedAuctions) {
-            finalizeAuction(auction.getAuctionIndex());
+        int finalized = generalAuctionBatchFinalizer.finalizeEndedAuctions(LocalDateTime.now());
+        if (finalized == 0) {
+            log.info("No completed auctions to finalize. Skipping this cycle.");
         }
     }
 
     @Transactional
-    public void finalizeAuction(Long auctionIndex) {
-        Auction auction = auctionRepository.findById(auctionIndex)
-                .orElseThrow(() -> new IllegalArgumentException("해당 경매를 찾을 수 없습니다. ID: " + auctionIndex));
-
-        if (auction.getEndingLocalDateTime().isBefore(LocalDateTime.now())) {
-            // 최고 입찰 정보 조회
-            AuctionInfo lastBidInfo = auction.getAuctionInfoList()
-                    .stream()
-                    .max(Comparator.comparing(AuctionInfo::getBidTime))
-                    .orElse(null);
-
-            if (lastBidInfo != null) {
-                // 낙찰자 정보 및 상세 정보 설정
-                AuctionDetail auctionDetail = auction.getAuctionDetail();
-                auctionDetail.setWinnerIndex(lastBidInfo.getBidder().getMemberIndex());
-                auctionDetail.setWinningBid(lastBidInfo.getBidAmount());
-                auctionDetail.setWinnerNickname(lastBidInfo.getBidder().getNickname());
-
-                // 기존의 AccountUseHistory에서 경매 인덱스와 일치하는 가장 높은 금액의 입찰 기록 찾기
-                Account account = lastBidInfo.getBidder().getAccount();
-                AccountUseHistory highestBidHistory = account.getAccountUseHistoryList()
-                        .stream()
-                        .filter(history -> history.getAuction() != null && // auction이 null이 아닌 경우만 필터링
-                                history.getAuction().getAuctionIndex().equals(auctionIndex) &&
-                                history.getUseType().equals("입찰"))
-                        .max(Comparator.comparing(AccountUseHistory::getChangeAccount)) // 가장 높은 금액의 입찰 기록 찾기
-                        .orElseThrow(() -> new RuntimeException("입찰 기록을 찾을 수 없습니다."));
-
-                // useType을 '낙찰'로 변경
-                highestBidHistory.setUseType("낙찰");
-                accountUseHistoryRepository.save(highestBidHistory); // 변경 사항 저장
-
-                auction.setAuctionStatus("낙찰"); // 상태를 '낙찰'로 변경
-
-                // 낙찰자와 판매자에게 알림 전송
-                notificationService.notifyAuctionWin(lastBidInfo.getBidder(), auctionIndex);
-                notificationService.notifyAuctionSold(auction.getMember(), lastBidInfo, auctionIndex);
-
-                log.info("Auction finalized with winner for auction ID: {}, winner ID: {}, winning bid: {}",
-                        auctionIndex, lastBidInfo.getBidder().getMemberIndex(), lastBidInfo.getBidAmount());
-            } else {
-                // 입찰 정보가 없을 경우 유찰 처리
-                auction.setAuctionStatus("유찰"); // 경매 상태를 '유찰'로 설정
-                log.info("Auction finalized without winner for auction ID: {}, status set to '유찰'", auctionIndex);
-            }
-
-            auctionRepository.save(auction); // 업데이트된 정보 저장
+    @Override
+    public void startAuction(Long auctionIndex) {
+        if (auctionRepository.startAuction(auctionIndex, LocalDateTime.now()) > 0) {
+            eventPublisher.publishEvent(new AuctionChangedEvent(auctionIndex, AuctionChangedEvent.Type.STATUS_CHANGED));
+            log.info("Auction started for auction ID: {}", auctionIndex);
         }
     }
 
+    // 종료 예약 작업 - 일괄 정산과 같은 방식으로 한 건 정산 (자체 트랜잭션)
+    @Override
+    public void closeAuction(Long auctionIndex) {
+        generalAuctionBatchFinalizer.finalizeAuctions(List.of(auctionIndex), LocalDateTime.now());
+    }
+
 
     @Override
     public List<String> findAuctionImagesByAuctionIndex(Long auctionIndex) {
@@ -363,7 +255,7 @@ public class AuctionItemDetailServiceImpl implements AuctionItemDetailService {
         // 유저 계좌조회
         if (
 
-        Integer.parseInt(account.getUserMoney()) > 0
+        account.getUserMoney() != null && account.getUserMoney() > 0
         ){
             // accountUseHistory 처리
             // 조회한 accountUseHistory 객체에 auction_auctionIndex 와
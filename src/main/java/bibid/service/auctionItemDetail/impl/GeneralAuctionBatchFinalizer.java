@@ -0,0 +1,325 @@
+package bibid.service.auctionItemDetail.impl;
+
+import bibid.entity.AuctionInfo;
+import bibid.entity.Member;
+import bibid.repository.member.MemberRepository;
+import bibid.service.account.AccountHoldService;
+import bibid.service.account.AccountLedgerService;
+import bibid.service.auction.AuctionChangedEvent;
+import bibid.service.notification.NotificationService;
+import bibid.service.specialAuction.impl.LiveBidStreamProcessor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 종료된 일반 경매 일괄 정산
+ * 종료 시각이 지난 경매를 청크로 나눠 제한된 스레드 풀에서 병렬로 처리하고, 청크마다 짧은 트랜잭션 하나로 끝낸다.
+ * 청크 안에서는 경매를 엔티티로 올리지 않고
+ * - 경매 행 잠금 (FOR UPDATE SKIP LOCKED - 예약 작업이 처리 중인 경매는 건너뜀)
+ * - 낙찰자 선정 (경매별 최고 입찰, DISTINCT ON 한 번)
+ * - 낙찰 금액 차감 (AccountLedgerService.debitAll) / 경매 세부 및 상태 일괄 변경
+ * 순서로 조회/갱신 횟수가 경매 수와 관계없이 일정하다.
+ * 낙찰 금액은 최고 입찰자에게서만 차감한다. 입찰 중 자금을 예약해 두므로 차감 실패는 정상 흐름이 아니며,
+ * 이 경우 다른(낙찰되지 않은) 입찰자에게 금액을 옮기지 않고 유찰로 끝낸 뒤 오류 로그로 알린다. (다음 주기에 같은 경매를 다시 잡지 않음)
+ * 낙찰/판매 알림과 캐시 무효화 이벤트는 청크 트랜잭션이 커밋된 뒤에 보낸다.
+ * 입찰은 입찰 스트림(저널)을 거쳐 저장되므로, 청크 트랜잭션 전에 경매별로 아직 저장되지 않은 입찰을 먼저 저장한다.
+ */
+@Component
+@Slf4j
+public class GeneralAuctionBatchFinalizer {
+
+    private static final String FIND_ENDED_SQL =
+            "SELECT auction_index FROM auction " +
+            "WHERE auction_type = '일반 경매' AND auction_status = '경매 시작' AND ending_local_date_time < :now " +
+            "ORDER BY auction_index";
+
+    // 시작 예약보다 종료 예약이 먼저 실행된 경우를 위해 '대기중' 도 포함
+    private static final String LOCK_CHUNK_SQL =
+            "SELECT auction_index, member_index FROM auction " +
+            "WHERE auction_index IN (:auctionIndexes) AND auction_status IN ('대기중', '경매 시작') AND ending_local_date_time < :now " +
+            "FOR UPDATE SKIP LOCKED";
+
+    // 경매별 최고 입찰 (같은 금액이면 먼저 들어온 입찰)
+    private static final String FIND_WINNING_BIDS_SQL =
+            "SELECT DISTINCT ON (ai.auction_index) ai.auction_index, ai.bidder_index, ai.bid_amount, m.nickname " +
+            "FROM auction_info ai JOIN member m ON m.member_index = ai.bidder_index " +
+            "WHERE ai.auction_index IN (:auctionIndexes) " +
+            "ORDER BY ai.auction_index, ai.bid_amount DESC, ai.bid_time ASC, ai.auction_info_index ASC";
+
+    // 예약 방식 이전에 입찰 시점에 차감된 경매의 입찰 기록
+    private static final String FIND_PREPAID_BIDS_SQL =
+            "SELECT account_use_history_index, member_index, auction_index, change_account FROM account_use_history " +
+            "WHERE auction_index IN (:auctionIndexes) AND use_type = '입찰'";
+
+    private static final String RELABEL_PREPAID_SQL =
+            "UPDATE account_use_history SET use_type = '낙찰' WHERE account_use_history_index IN (:historyIndexes)";
+
+    private static final String UPDATE_WINNER_SQL =
+            "UPDATE auction_detail SET winner_index = :winnerIndex, winning_bid = :winningBid, winner_nickname = :winnerNickname " +
+            "WHERE auction_index = :auctionIndex";
+
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE auction SET auction_status = :status, moddate = :now WHERE auction_index IN (:auctionIndexes)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountLedgerService accountLedgerService;
+    private final AccountHoldService accountHoldService;
+    private final GeneralAuctionBidSequencer generalAuctionBidSequencer;
+    private final LiveBidStreamProcessor bidStreamProcessor;
+    private final NotificationService notificationService;
+    private final MemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final ExecutorService executor;
+
+    public GeneralAuctionBatchFinalizer(NamedParameterJdbcTemplate jdbcTemplate,
+                                        TransactionTemplate transactionTemplate,
+                                        AccountLedgerService accountLedgerService,
+                                        AccountHoldService accountHoldService,
+                                        GeneralAuctionBidSequencer generalAuctionBidSequencer,
+                                        LiveBidStreamProcessor bidStreamProcessor,
+                                        NotificationService notificationService,
+                                        MemberRepository memberRepository,
+                                        ApplicationEventPublisher eventPublisher,
+                                        @Value("${auction.finalize.chunk-size:200}") int chunkSize,
+                                        @Value("${auction.finalize.parallelism:4}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.accountLedgerService = accountLedgerService;
+        this.accountHoldService = accountHoldService;
+        this.generalAuctionBidSequencer = generalAuctionBidSequencer;
+        this.bidStreamProcessor = bidStreamProcessor;
+        this.notificationService = notificationService;
+        this.memberRepository = memberRepository;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism,
+                runnable -> new Thread(runnable, "auction-finalizer-" + threadNumber.getAndIncrement()));
+    }
+
+    /**
+     * 종료 시각이 지난 진행 중 경매를 모두 정산하고 정산한 경매 수를 반환
+     */
+    public int finalizeEndedAuctions(LocalDateTime now) {
+        List<Long> endedAuctionIndexes = jdbcTemplate.queryForList(FIND_ENDED_SQL,
+                new MapSqlParameterSource("now", Timestamp.valueOf(now)), Long.class);
+        if (endedAuctionIndexes.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int from = 0; from < endedAuctionIndexes.size(); from += chunkSize) {
+            List<Long> chunk = endedAuctionIndexes.subList(from, Math.min(from + chunkSize, endedAuctionIndexes.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> finalizeChunkQuietly(chunk, now), executor));
+        }
+
+        int finalized = futures.stream().mapToInt(CompletableFuture::join).sum();
+        log.info("종료 경매 일괄 정산 완료 - 대상 {}건, 정산 {}건, 청크 {}개", endedAuctionIndexes.size(), finalized, futures.size());
+        return finalized;
+    }
+
+    /**
+     * 지정한 경매만 호출 스레드에서 바로 정산 (경매 종료 예약 작업용)
+     * 실패하면 예외를 그대로 던져 예약 작업이 실패 처리되고 다시 시도되도록 한다.
+     */
+    public int finalizeAuctions(List<Long> auctionIndexes, LocalDateTime now) {
+        return finalizeChunkInTransaction(auctionIndexes, now);
+    }
+
+    // 청크 하나가 실패해도 다른 청크는 계속 처리 (실패한 청크는 롤백되어 상태가 그대로이므로 다음 주기에 다시 시도)
+    private int finalizeChunkQuietly(List<Long> chunk, LocalDateTime now) {
+        try {
+            return finalizeChunkInTransaction(chunk, now);
+        } catch (RuntimeException e) {
+            log.error("종료 경매 청크 정산 실패 - {}건 ({} ~ {})", chunk.size(), chunk.get(0), chunk.get(chunk.size() - 1), e);
+            return 0;
+        }
+    }
+
+    private int finalizeChunkInTransaction(List<Long> chunk, LocalDateTime now) {
+        // 저널에 남은 입찰까지 저장한 뒤 낙찰자 선정 (저장하지 못하면 예외로 청크 실패 - 다음 주기/재시도에서 다시 처리)
+        chunk.forEach(bidStreamProcessor::drainBeforeClose);
+
+        ChunkResult result = transactionTemplate.execute(status -> finalizeChunk(chunk, now));
+        if (result == null) {
+            return 0;
+        }
+
+        // 커밋 후 메모리/Redis 상태 정리, 낙찰자/판매자 알림 및 캐시 무효화 이벤트
+        for (Long auctionIndex : result.finalized()) {
+            generalAuctionBidSequencer.evict(auctionIndex);
+            accountHoldService.releaseAll(auctionIndex);
+            bidStreamProcessor.retire(auctionIndex);
+        }
+        notifyWinners(result.winningBids(), result.sellerByAuction());
+        result.finalized().forEach(auctionIndex ->
+                eventPublisher.publishEvent(new AuctionChangedEvent(auctionIndex, AuctionChangedEvent.Type.STATUS_CHANGED)));
+        return result.finalized().size();
+    }
+
+    private ChunkResult finalizeChunk(List<Long> chunk, LocalDateTime now) {
+        // 1. 아직 진행 중인 경매 행 잠금 (다른 노드/예약 작업이 잡고 있는 경매는 제외)
+        Map<Long, Long> sellerByAuction = new LinkedHashMap<>();
+        jdbcTemplate.query(LOCK_CHUNK_SQL, new MapSqlParameterSource()
+                        .addValue("auctionIndexes", chunk)
+                        .addValue("now", Timestamp.valueOf(now)),
+                rs -> {
+                    sellerByAuction.put(rs.getLong("auction_index"), rs.getLong("member_index"));
+                });
+        if (sellerByAuction.isEmpty()) {
+            return new ChunkResult(List.of(), Map.of(), Map.of());
+        }
+
+        // 2. 낙찰자 선정 (경매별 최고 입찰)
+        Map<Long, WinningBid> highestBids = new LinkedHashMap<>();
+        jdbcTemplate.query(FIND_WINNING_BIDS_SQL, new MapSqlParameterSource("auctionIndexes", sellerByAuction.keySet()),
+                rs -> {
+                    highestBids.put(rs.getLong("auction_index"), new WinningBid(rs.getLong("auction_index"),
+                            rs.getLong("bidder_index"), rs.getLong("bid_amount"), rs.getString("nickname")));
+                });
+
+        // 3. 낙찰 금액 정산 (최고 입찰자만)
+        Set<Long> settled = settle(highestBids);
+        Map<Long, WinningBid> winningBids = new LinkedHashMap<>();
+        settled.forEach(auctionIndex -> winningBids.put(auctionIndex, highestBids.get(auctionIndex)));
+
+        // 입찰이 없거나 최고 입찰자 정산에 실패한 경매는 유찰
+        List<Long> noBidAuctions = sellerByAuction.keySet().stream()
+                .filter(auctionIndex -> !settled.contains(auctionIndex))
+                .toList();
+        noBidAuctions.stream()
+                .filter(highestBids::containsKey)
+                .forEach(auctionIndex -> log.error("낙찰 금액 차감 실패 - 자금 예약 불일치, 유찰 처리 (auctionIndex={}, memberIndex={}, amount={})",
+                        auctionIndex, highestBids.get(auctionIndex).bidderIndex(), highestBids.get(auctionIndex).bidAmount()));
+
+        // 4. 경매 세부(낙찰자)와 상태 일괄 변경
+        List<MapSqlParameterSource> winnerParams = settled.stream()
+                .map(winningBids::get)
+                .map(winningBid -> new MapSqlParameterSource()
+                        .addValue("winnerIndex", winningBid.bidderIndex())
+                        .addValue("winningBid", winningBid.bidAmount())
+                        .addValue("winnerNickname", winningBid.nickname())
+                        .addValue("auctionIndex", winningBid.auctionIndex()))
+                .toList();
+        if (!winnerParams.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_WINNER_SQL, winnerParams.toArray(new MapSqlParameterSource[0]));
+        }
+        updateStatus(settled, "낙찰", now);
+        updateStatus(noBidAuctions, "유찰", now);
+
+        List<Long> finalized = new ArrayList<>(settled);
+        finalized.addAll(noBidAuctions);
+
+        log.info("종료 경매 청크 정산 - 낙찰 {}건, 유찰 {}건", settled.size(), noBidAuctions.size());
+        return new ChunkResult(finalized, winningBids, sellerByAuction);
+    }
+
+    /**
+     * 경매별 최고 입찰 정산 - 입찰 시점에 이미 차감된 경매는 입찰 기록만 낙찰로 변경, 나머지는 일괄 차감
+     * 반환값 = 정산된 경매 번호
+     */
+    private Set<Long> settle(Map<Long, WinningBid> bids) {
+        Set<Long> settled = new LinkedHashSet<>(settlePrepaidBids(bids));
+        List<AccountLedgerService.LedgerEntry> debits = bids.values().stream()
+                .filter(bid -> !settled.contains(bid.auctionIndex()))
+                .map(bid -> new AccountLedgerService.LedgerEntry(bid.bidderIndex(), bid.auctionIndex(), bid.bidAmount()))
+                .toList();
+        if (!debits.isEmpty()) {
+            accountLedgerService.debitAll(debits, "낙찰").forEach(entry -> settled.add(entry.auctionIndex()));
+        }
+        return settled;
+    }
+
+    // 낙찰자가 같은 금액으로 남긴 '입찰' 기록이 있으면 '낙찰'로 변경하고 해당 경매 번호 반환
+    private List<Long> settlePrepaidBids(Map<Long, WinningBid> winningBids) {
+        if (winningBids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Long> historyByAuction = new HashMap<>();
+        jdbcTemplate.query(FIND_PREPAID_BIDS_SQL, new MapSqlParameterSource("auctionIndexes", winningBids.keySet()),
+                rs -> {
+                    WinningBid winningBid = winningBids.get(rs.getLong("auction_index"));
+                    if (winningBid != null
+                            && winningBid.bidderIndex() == rs.getLong("member_index")
+                            && winningBid.bidAmount() == rs.getLong("change_account")) {
+                        historyByAuction.putIfAbsent(winningBid.auctionIndex(), rs.getLong("account_use_history_index"));
+                    }
+                });
+
+        if (!historyByAuction.isEmpty()) {
+            jdbcTemplate.update(RELABEL_PREPAID_SQL, new MapSqlParameterSource("historyIndexes", historyByAuction.values()));
+        }
+        return new ArrayList<>(historyByAuction.keySet());
+    }
+
+    private void updateStatus(Collection<Long> auctionIndexes, String status, LocalDateTime now) {
+        if (auctionIndexes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(UPDATE_STATUS_SQL, new MapSqlParameterSource()
+                .addValue("status", status)
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("auctionIndexes", auctionIndexes));
+    }
+
+    // 커밋 후 호출 (알림 실패로 정산을 되돌리지 않는다)
+    private void notifyWinners(Map<Long, WinningBid> winningBids, Map<Long, Long> sellerByAuction) {
+        if (winningBids.isEmpty()) {
+            return;
+        }
+        Set<Long> settled = winningBids.keySet();
+
+        Set<Long> memberIndexes = new HashSet<>();
+        settled.forEach(auctionIndex -> {
+            memberIndexes.add(winningBids.get(auctionIndex).bidderIndex());
+            memberIndexes.add(sellerByAuction.get(auctionIndex));
+        });
+        Map<Long, Member> members = memberRepository.findAllById(memberIndexes).stream()
+                .collect(Collectors.toMap(Member::getMemberIndex, member -> member));
+
+        for (Long auctionIndex : settled) {
+            WinningBid winningBid = winningBids.get(auctionIndex);
+            Member winner = members.get(winningBid.bidderIndex());
+            Member seller = members.get(sellerByAuction.get(auctionIndex));
+            try {
+                notificationService.notifyAuctionWin(winner, auctionIndex);
+                notificationService.notifyAuctionSold(seller, AuctionInfo.builder()
+                        .bidder(winner)
+                        .bidAmount(winningBid.bidAmount())
+                        .build(), auctionIndex);
+            } catch (RuntimeException e) {
+                log.error("낙찰 알림 전송 실패 - auctionIndex={}", auctionIndex, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private record WinningBid(Long auctionIndex, long bidderIndex, long bidAmount, String nickname) {
+    }
+
+    // 청크 정산 결과 (커밋 후 정리/알림용)
+    private record ChunkResult(List<Long> finalized, Map<Long, WinningBid> winningBids, Map<Long, Long> sellerByAuction) {
+    }
+}
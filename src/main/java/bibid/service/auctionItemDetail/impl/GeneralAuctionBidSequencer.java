@@ -0,0 +1,550 @@
+package bibid.service.auctionItemDetail.impl;
+
+import bibid.dto.AuctionInfoDto;
+import bibid.dto.BidRequestDto;
+import bibid.entity.Auction;
+import bibid.entity.Member;
+import bibid.repository.auction.AuctionRepository;
+import bibid.repository.specialAuction.AuctionInfoRepository;
+import bibid.service.account.AccountHoldService;
+import bibid.service.auctionItemDetail.impl.GeneralAuctionProxyBidStore.ProxyBid;
+import bibid.service.specialAuction.RedisBidService;
+import bibid.service.specialAuction.impl.LiveBidStreamProcessor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * 일반 경매 입찰 시퀀서
+ * 경매 번호로 샤드를 정해 단일 스레드 executor 에서만 해당 경매의 입찰을 처리한다.
+ * 샤드 스레드가 경매별 현재 최고가/최고 입찰자를 메모리에 들고 있으므로
+ * 입찰 검증은 DB 조회 없이 끝나고, 같은 경매의 입찰끼리 row 락을 두고 경쟁하지 않는다.
+ * 자동 입찰(최대 입찰가)도 샤드 메모리에서 한 번에 정리한다.
+ * 최대 입찰가가 가장 높은 입찰자(같으면 먼저 등록한 쪽)가 두 번째로 높은 금액 + 입찰 단위(자기 최대 입찰가 한도)로 선두가 되고,
+ * 중간 호가 없이 결과 가격 1건만 저장되므로 입찰 경쟁 중 요청 수와 DB 쓰기가 크게 줄어든다.
+ * 여러 노드가 같은 경매의 입찰을 받을 수 있으므로 최고 입찰의 기준 값은 GeneralAuctionTopStore(Redis)에 두고,
+ * 입찰마다 공유 버전이 바뀌었으면 메모리 상태를 다시 읽고, 처리 결과는 버전이 그대로일 때만 반영한다.
+ * 다른 노드가 먼저 반영해 충돌하면 예약을 되돌리고 새 최고가 기준으로 다시 검증한다.
+ * 수락된 입찰은 DB 에 바로 쓰지 않고 경매별 입찰 스트림(저널)에 추가한 뒤 응답하며,
+ * AuctionInfo 배치 저장/상회 입찰 알림은 LiveBidStreamProcessor 가 처리한다. (샤드 스레드는 Postgres 왕복을 기다리지 않음)
+ * 즉시 구매만 그 자리에서 잔액을 차감하고 경매를 끝내야 하므로 GeneralAuctionBidWriter 로 바로 저장한다.
+ */
+@Component
+@Slf4j
+public class GeneralAuctionBidSequencer {
+
+    private final AuctionRepository auctionRepository;
+    private final AuctionInfoRepository auctionInfoRepository;
+    private final GeneralAuctionBidWriter bidWriter;
+    private final AccountHoldService accountHoldService;
+    private final GeneralAuctionProxyBidStore proxyBidStore;
+    private final GeneralAuctionTopStore topStore;
+    private final RedisBidService redisBidService;
+    private final LiveBidStreamProcessor bidStreamProcessor;
+    private final ExecutorService[] shards;
+
+    // 공유 최고 입찰 충돌 시 다시 시도하는 횟수
+    private static final int MAX_CONFLICT_RETRIES = 3;
+
+    // 경매별 입찰 상태 (각 상태는 자기 샤드 스레드에서만 읽고 쓴다)
+    private final Map<Long, AuctionBidState> states = new ConcurrentHashMap<>();
+
+    public GeneralAuctionBidSequencer(AuctionRepository auctionRepository,
+                                      AuctionInfoRepository auctionInfoRepository,
+                                      GeneralAuctionBidWriter bidWriter,
+                                      AccountHoldService accountHoldService,
+                                      GeneralAuctionProxyBidStore proxyBidStore,
+                                      GeneralAuctionTopStore topStore,
+                                      RedisBidService redisBidService,
+                                      LiveBidStreamProcessor bidStreamProcessor,
+                                      @Value("${auction.bid.sequencer.shards:8}") int shardCount) {
+        this.auctionRepository = auctionRepository;
+        this.auctionInfoRepository = auctionInfoRepository;
+        this.bidWriter = bidWriter;
+        this.accountHoldService = accountHoldService;
+        this.proxyBidStore = proxyBidStore;
+        this.topStore = topStore;
+        this.redisBidService = redisBidService;
+        this.bidStreamProcessor = bidStreamProcessor;
+        this.shards = new ExecutorService[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            String threadName = "general-bid-shard-" + i;
+            shards[i] = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, threadName));
+        }
+    }
+
+    /**
+     * 입찰을 해당 경매의 샤드에 넣고 처리 결과를 기다린다. (즉시 구매 외에는 Redis 처리만 기다림)
+     * 검증 실패나 저널 기록 실패는 RuntimeException 그대로 호출자에게 전달된다.
+     */
+    public AuctionInfoDto submit(Long auctionIndex, BidRequestDto bidRequestDto, Member member) {
+        return execute(auctionIndex, () -> applyBid(auctionIndex, bidRequestDto, member));
+    }
+
+    /**
+     * 자동 입찰(최대 입찰가) 등록/변경
+     * 최대 입찰가만큼 자금을 예약하고 등록된 자동 입찰끼리 바로 경쟁을 정리한 뒤, 정리된 현재 최고 입찰을 반환한다.
+     */
+    public AuctionInfoDto submitProxy(Long auctionIndex, Long maxBidAmount, Member member) {
+        return execute(auctionIndex, () -> applyProxyBid(auctionIndex, maxBidAmount, member));
+    }
+
+    private AuctionInfoDto execute(Long auctionIndex, Supplier<AuctionInfoDto> task) {
+        CompletableFuture<AuctionInfoDto> future = CompletableFuture.supplyAsync(
+                () -> retryOnConflict(auctionIndex, task), shardOf(auctionIndex));
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 다른 노드가 먼저 최고 입찰을 바꿨으면 상태를 다시 읽고 처음부터 다시 처리 (샤드 스레드에서 실행)
+    private AuctionInfoDto retryOnConflict(Long auctionIndex, Supplier<AuctionInfoDto> task) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return task.get();
+            } catch (SharedTopConflictException e) {
+                states.remove(auctionIndex);
+                if (attempt >= MAX_CONFLICT_RETRIES) {
+                    throw new RuntimeException("동시에 처리 중인 입찰이 많습니다. 잠시 후 다시 시도해 주세요.");
+                }
+                log.info("최고 입찰 충돌로 다시 처리 - auctionIndex={}, attempt={}", auctionIndex, attempt);
+            }
+        }
+    }
+
+    /**
+     * 종료(낙찰/유찰)된 경매의 메모리 상태 제거
+     * 샤드 큐에 넣어 처리 중인 입찰이 끝난 뒤에 제거되도록 한다.
+     */
+    public void evict(Long auctionIndex) {
+        shardOf(auctionIndex).execute(() -> {
+            states.remove(auctionIndex);
+            proxyBidStore.clear(auctionIndex);
+            topStore.clear(auctionIndex);
+        });
+    }
+
+    // 샤드 스레드에서만 실행
+    private AuctionInfoDto applyBid(Long auctionIndex, BidRequestDto bidRequestDto, Member member) {
+        AuctionBidState state = stateOf(auctionIndex);
+        Long bidAmount = bidRequestDto.getUserBiddingPrice();
+
+        state.validate(bidAmount);
+
+        if ("buyNow".equals(bidRequestDto.getUserBiddingType())) {
+            return applyBuyNow(auctionIndex, bidRequestDto, member, state);
+        }
+
+        // 입찰 금액만큼 자금 예약 (본인 자동 입찰이 더 높으면 그 금액 유지, 같은 경매의 기존 예약은 대체)
+        ProxyBid ownProxy = state.proxies.get(member.getMemberIndex());
+        long holdAmount = ownProxy != null ? Math.max(bidAmount, ownProxy.maxBidAmount()) : bidAmount;
+        long previousHold = accountHoldService.hold(member.getMemberIndex(), auctionIndex, holdAmount);
+
+        // 직접 입찰은 입찰 금액 그대로의 고정 입찰 - 더 높은(같으면 먼저 등록한) 자동 입찰이 있으면 바로 상회된다
+        Contender manualBid = new Contender(member.getMemberIndex(), member.getNickname(), bidAmount, Long.MAX_VALUE, true);
+        Resolution resolution = resolve(state, manualBid);
+
+        long version = publish(auctionIndex, state, resolution.price(), resolution.leaderIndex(), resolution.leaderNickname(), false,
+                () -> accountHoldService.restore(member.getMemberIndex(), auctionIndex, previousHold));
+
+        // 직접 입찰이 선두면 입찰 금액 그대로, 자동 입찰에 상회되었으면 정리된 결과 가격 1건을 저널에 기록
+        AuctionInfoDto accepted;
+        try {
+            accepted = journal(auctionIndex, resolution, state);
+        } catch (RuntimeException e) {
+            accountHoldService.restore(member.getMemberIndex(), auctionIndex, previousHold);
+            revert(auctionIndex, state, version);
+            throw e;
+        }
+
+        applyResolution(auctionIndex, state, resolution, member.getMemberIndex());
+        state.version = version;
+        log.info("입찰 처리 완료 - auctionIndex={}, bidder={}, amount={}, leader={}, price={}",
+                auctionIndex, member.getNickname(), bidAmount, resolution.leaderNickname(), resolution.price());
+        return accepted;
+    }
+
+    private AuctionInfoDto applyBuyNow(Long auctionIndex, BidRequestDto bidRequestDto, Member member, AuctionBidState state) {
+        Long bidAmount = bidRequestDto.getUserBiddingPrice();
+        long previousHold = accountHoldService.hold(member.getMemberIndex(), auctionIndex, bidAmount);
+
+        long version = publish(auctionIndex, state, bidAmount, member.getMemberIndex(), member.getNickname(), true,
+                () -> accountHoldService.restore(member.getMemberIndex(), auctionIndex, previousHold));
+
+        AuctionInfoDto accepted;
+        try {
+            accepted = bidWriter.writeBuyNow(auctionIndex, bidRequestDto, member, state.topBidderIndex, state.topBid);
+        } catch (RuntimeException e) {
+            accountHoldService.restore(member.getMemberIndex(), auctionIndex, previousHold);
+            revert(auctionIndex, state, version);
+            throw e;
+        }
+
+        // 즉시 구매는 그 자리에서 정산되었으므로 남은 예약과 자동 입찰, 입찰 저널을 모두 정리 (DB 쓰기 없이 Redis 에서만 처리)
+        accountHoldService.releaseAll(auctionIndex);
+        bidStreamProcessor.retire(auctionIndex);
+        proxyBidStore.clear(auctionIndex);
+        state.proxies.clear();
+
+        state.topBid = bidAmount;
+        state.topBidderIndex = member.getMemberIndex();
+        state.topBidderNickname = member.getNickname();
+        state.closed = true;
+        state.version = version;
+
+        log.info("즉시 구매 처리 완료 - auctionIndex={}, bidder={}, amount={}", auctionIndex, member.getNickname(), bidAmount);
+        return accepted;
+    }
+
+    private AuctionInfoDto applyProxyBid(Long auctionIndex, Long maxBidAmount, Member member) {
+        AuctionBidState state = stateOf(auctionIndex);
+        state.validateProxy(maxBidAmount, member.getMemberIndex());
+
+        long previousHold = accountHoldService.hold(member.getMemberIndex(), auctionIndex, maxBidAmount);
+
+        // 최대 입찰가를 바꿔도 같은 금액 경쟁에서는 처음 등록한 시각 기준으로 우선순위를 유지
+        ProxyBid previousProxy = state.proxies.get(member.getMemberIndex());
+        long registeredAt = previousProxy != null ? previousProxy.registeredAt() : System.currentTimeMillis();
+        ProxyBid proxyBid = new ProxyBid(member.getMemberIndex(), maxBidAmount, registeredAt, member.getNickname());
+        state.proxies.put(member.getMemberIndex(), proxyBid);
+
+        Runnable rollback = () -> {
+            accountHoldService.restore(member.getMemberIndex(), auctionIndex, previousHold);
+            if (previousProxy != null) {
+                state.proxies.put(member.getMemberIndex(), previousProxy);
+                proxyBidStore.save(auctionIndex, previousProxy);
+            } else {
+                state.proxies.remove(member.getMemberIndex());
+                proxyBidStore.delete(auctionIndex, member.getMemberIndex());
+            }
+        };
+
+        Resolution resolution = resolve(state, null);
+        long version;
+        try {
+            // 다른 노드가 버전 변경을 보고 다시 읽을 때 새 자동 입찰이 보이도록 공유 최고 입찰보다 먼저 저장
+            proxyBidStore.save(auctionIndex, proxyBid);
+            version = publish(auctionIndex, state, resolution.price(), resolution.leaderIndex(), resolution.leaderNickname(),
+                    false, rollback);
+        } catch (SharedTopConflictException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            rollback.run();
+            throw e;
+        }
+
+        try {
+            if (resolution.changed()) {
+                journal(auctionIndex, resolution, state);
+            }
+        } catch (RuntimeException e) {
+            rollback.run();
+            revert(auctionIndex, state, version);
+            throw e;
+        }
+
+        applyResolution(auctionIndex, state, resolution, member.getMemberIndex());
+        state.version = version;
+        log.info("자동 입찰 등록 - auctionIndex={}, bidder={}, max={}, leader={}, price={}",
+                auctionIndex, member.getNickname(), maxBidAmount, resolution.leaderNickname(), resolution.price());
+
+        return AuctionInfoDto.builder()
+                .auctionIndex(auctionIndex)
+                .bidderIndex(state.topBidderIndex)
+                .bidderNickname(state.topBidderNickname)
+                .bidAmount(state.topBid)
+                .bidTime(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * 정리된 최고 입찰 1건을 입찰 스트림(저널)에 기록하고 응답용 입찰 정보를 만든다.
+     * 입찰 번호는 스트림 소비자가 저장할 때 발급되므로 응답에는 없다.
+     */
+    private AuctionInfoDto journal(Long auctionIndex, Resolution resolution, AuctionBidState state) {
+        long bidTimeMillis = System.currentTimeMillis();
+        redisBidService.appendBidEvent(auctionIndex, resolution.price(), resolution.leaderNickname(), resolution.leaderIndex(),
+                bidTimeMillis, state.topBidderIndex, state.topBid);
+
+        return AuctionInfoDto.builder()
+                .auctionIndex(auctionIndex)
+                .bidderIndex(resolution.leaderIndex())
+                .bidderNickname(resolution.leaderNickname())
+                .bidAmount(resolution.price())
+                .bidTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(bidTimeMillis), ZoneId.systemDefault()))
+                .build();
+    }
+
+    /**
+     * 처리 결과를 공유 최고 입찰에 반영 (메모리 상태를 읽은 버전 그대로일 때만)
+     * 다른 노드가 먼저 반영했으면 rollback 으로 이번 처리의 예약 등을 되돌리고 충돌 예외를 던진다.
+     * 반환값 = 새 버전
+     */
+    private long publish(Long auctionIndex, AuctionBidState state, long price, Long leaderIndex, String leaderNickname,
+                         boolean closed, Runnable rollback) {
+        long version = topStore.compareAndSet(auctionIndex, state.version, price, leaderIndex, leaderNickname, closed);
+        if (version < 0) {
+            rollback.run();
+            throw new SharedTopConflictException();
+        }
+        return version;
+    }
+
+    // 저널 기록/DB 저장 실패 시 공유 최고 입찰을 처리 전 값으로 되돌린다
+    private void revert(Long auctionIndex, AuctionBidState state, long version) {
+        try {
+            topStore.revert(auctionIndex, version, state.version, state.topBid, state.topBidderIndex,
+                    state.topBidderNickname, state.closed);
+        } catch (RuntimeException e) {
+            log.error("공유 최고 입찰 되돌리기 실패 - auctionIndex={}", auctionIndex, e);
+            states.remove(auctionIndex);
+        }
+    }
+
+    /**
+     * 현재 최고 입찰(고정), 자동 입찰, 새 직접 입찰(고정) 중 선두와 가격 결정
+     * 선두가 고정 입찰이면 그 금액 그대로, 자동 입찰이면
+     * max(최소 입찰가, min(자기 최대 입찰가, 두 번째 입찰자의 최대 금액 + 입찰 단위)) 로 정한다.
+     */
+    private Resolution resolve(AuctionBidState state, Contender manualBid) {
+        Map<Long, Contender> contenders = new HashMap<>();
+        if (state.topBidderIndex != null) {
+            offer(contenders, new Contender(state.topBidderIndex, state.topBidderNickname, state.topBid, Long.MIN_VALUE, true));
+        }
+        state.proxies.values().forEach(proxyBid -> offer(contenders, new Contender(proxyBid.memberIndex(),
+                proxyBid.bidderNickname(), proxyBid.maxBidAmount(), proxyBid.registeredAt(), false)));
+        if (manualBid != null) {
+            offer(contenders, manualBid);
+        }
+
+        List<Contender> ranked = contenders.values().stream()
+                .sorted(CONTENDER_ORDER)
+                .toList();
+        Contender leader = ranked.get(0);
+        Contender runnerUp = ranked.size() > 1 ? ranked.get(1) : null;
+
+        long price;
+        if (leader.fixed()) {
+            price = leader.amount();
+        } else {
+            long floor = leader.memberIndex().equals(state.topBidderIndex) ? state.topBid : state.minimumBid();
+            long competing = runnerUp != null ? runnerUp.amount() + state.increment() : floor;
+            price = Math.min(leader.amount(), Math.max(floor, competing));
+        }
+
+        boolean changed = !leader.memberIndex().equals(state.topBidderIndex) || state.topBid == null || price != state.topBid;
+        return new Resolution(leader.memberIndex(), leader.nickname(), price, changed);
+    }
+
+    // 회원별로 가장 강한 입찰 하나만 남긴다
+    private void offer(Map<Long, Contender> contenders, Contender contender) {
+        contenders.merge(contender.memberIndex(), contender,
+                (current, candidate) -> CONTENDER_ORDER.compare(candidate, current) < 0 ? candidate : current);
+    }
+
+    /**
+     * 정리 결과 반영 - 선두가 아닌 자동 입찰은 모두 소진된 것이므로 제거하고,
+     * 밀려난 직전 최고 입찰자/직접 입찰자/소진된 자동 입찰자의 자금 예약을 해제한다.
+     */
+    private void applyResolution(Long auctionIndex, AuctionBidState state, Resolution resolution, Long requesterIndex) {
+        Set<Long> outbid = new HashSet<>();
+        if (state.topBidderIndex != null) {
+            outbid.add(state.topBidderIndex);
+        }
+        outbid.add(requesterIndex);
+
+        Iterator<ProxyBid> iterator = state.proxies.values().iterator();
+        while (iterator.hasNext()) {
+            ProxyBid proxyBid = iterator.next();
+            if (!proxyBid.memberIndex().equals(resolution.leaderIndex()) || proxyBid.maxBidAmount() < resolution.price()) {
+                iterator.remove();
+                proxyBidStore.delete(auctionIndex, proxyBid.memberIndex());
+                outbid.add(proxyBid.memberIndex());
+            }
+        }
+
+        outbid.remove(resolution.leaderIndex());
+        outbid.forEach(memberIndex -> accountHoldService.release(memberIndex, auctionIndex));
+
+        state.topBid = resolution.price();
+        state.topBidderIndex = resolution.leaderIndex();
+        state.topBidderNickname = resolution.leaderNickname();
+    }
+
+    /**
+     * 경매 입찰 상태 (공유 최고 입찰의 버전이 메모리 상태와 다르면 다시 읽는다)
+     * 공유 값이 없는데 메모리 상태는 반영된 적이 있으면 경매가 종료 처리되어 지워진 것이므로 DB 에서 다시 적재한다.
+     */
+    private AuctionBidState stateOf(Long auctionIndex) {
+        AuctionBidState state = states.get(auctionIndex);
+        GeneralAuctionTopStore.SharedTop shared = topStore.find(auctionIndex);
+
+        if (state == null || (shared == null && state.version > 0)) {
+            state = loadState(auctionIndex);
+            states.put(auctionIndex, state);
+        }
+        if (shared != null && shared.version() != state.version) {
+            refresh(auctionIndex, state, shared);
+        }
+        return state;
+    }
+
+    // 다른 노드가 바꾼 최고 입찰과 자동 입찰 다시 읽기
+    private void refresh(Long auctionIndex, AuctionBidState state, GeneralAuctionTopStore.SharedTop shared) {
+        state.topBid = shared.top();
+        state.topBidderIndex = shared.bidderIndex();
+        state.topBidderNickname = shared.nickname();
+        state.closed = state.closed || shared.closed();
+        state.version = shared.version();
+
+        state.proxies.clear();
+        proxyBidStore.findAll(auctionIndex).forEach(proxyBid -> state.proxies.put(proxyBid.memberIndex(), proxyBid));
+        log.debug("입찰 상태 갱신 - auctionIndex={}, version={}, topBid={}", auctionIndex, state.version, state.topBid);
+    }
+
+    private AuctionBidState loadState(Long auctionIndex) {
+        Auction auction = auctionRepository.findById(auctionIndex)
+                .orElseThrow(() -> new RuntimeException("Auction not found with index: " + auctionIndex));
+
+        AuctionBidState state = new AuctionBidState();
+        state.startingPrice = auction.getStartingPrice();
+        state.bidIncrement = auction.getBidIncrement();
+        state.startingLocalDateTime = auction.getStartingLocalDateTime();
+        state.endingLocalDateTime = auction.getEndingLocalDateTime();
+        state.closed = !"대기중".equals(auction.getAuctionStatus()) && !"경매 시작".equals(auction.getAuctionStatus());
+
+        auctionInfoRepository.findTopByAuction_AuctionIndexOrderByBidAmountDescBidTimeAscAuctionInfoIndexAsc(auctionIndex)
+                .ifPresent(topInfo -> {
+                    state.topBid = topInfo.getBidAmount();
+                    state.topBidderIndex = topInfo.getBidder().getMemberIndex();
+                    state.topBidderNickname = topInfo.getBidderNickname();
+                });
+        proxyBidStore.findAll(auctionIndex).forEach(proxyBid -> state.proxies.put(proxyBid.memberIndex(), proxyBid));
+
+        log.info("입찰 상태 적재 - auctionIndex={}, topBid={}, proxies={}", auctionIndex, state.topBid, state.proxies.size());
+        return state;
+    }
+
+    private ExecutorService shardOf(Long auctionIndex) {
+        return shards[(int) Math.floorMod(auctionIndex, (long) shards.length)];
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+    }
+
+    // 최대 금액 내림차순, 같으면 먼저 들어온 입찰 우선
+    private static final Comparator<Contender> CONTENDER_ORDER = Comparator
+            .comparingLong(Contender::amount).reversed()
+            .thenComparingLong(Contender::order);
+
+    // 경쟁 참가자 - 고정 입찰이면 amount 가 입찰가, 자동 입찰이면 최대 입찰가
+    private record Contender(Long memberIndex, String nickname, long amount, long order, boolean fixed) {
+    }
+
+    private record Resolution(Long leaderIndex, String leaderNickname, long price, boolean changed) {
+    }
+
+    // 다른 노드가 먼저 최고 입찰을 반영함 (상태를 다시 읽고 재시도)
+    private static class SharedTopConflictException extends RuntimeException {
+    }
+
+    private static class AuctionBidState {
+        private Long startingPrice;
+        private Long bidIncrement;
+        private LocalDateTime startingLocalDateTime;
+        private LocalDateTime endingLocalDateTime;
+        private boolean closed;
+
+        // 메모리 상태가 반영된 공유 최고 입찰 버전 (0 = 공유 값 없이 DB 에서 적재)
+        private long version;
+
+        private Long topBid;
+        private Long topBidderIndex;
+        private String topBidderNickname;
+
+        // 진행 중인 자동 입찰 (회원 번호 -> 최대 입찰가)
+        private final Map<Long, ProxyBid> proxies = new HashMap<>();
+
+        private void validate(Long bidAmount) {
+            validateOpen();
+            if (bidAmount == null || bidAmount <= 0) {
+                throw new RuntimeException("입찰 금액이 올바르지 않습니다.");
+            }
+
+            if (topBid == null) {
+                if (startingPrice != null && bidAmount < startingPrice) {
+                    throw new RuntimeException("입찰 금액은 시작가 " + startingPrice + " 원 이상이어야 합니다.");
+                }
+                return;
+            }
+
+            long minimumBid = minimumBid();
+            if (bidAmount < minimumBid) {
+                throw new RuntimeException("입찰 금액은 " + minimumBid + " 원 이상이어야 합니다.");
+            }
+        }
+
+        // 현재 최고 입찰자는 현재가 이상으로 최대 입찰가를 조정할 수 있고, 그 외에는 최소 입찰가 이상이어야 한다
+        private void validateProxy(Long maxBidAmount, Long memberIndex) {
+            validateOpen();
+            if (maxBidAmount == null || maxBidAmount <= 0) {
+                throw new RuntimeException("최대 입찰가가 올바르지 않습니다.");
+            }
+
+            long minimumMax = memberIndex.equals(topBidderIndex) ? topBid : minimumBid();
+            if (maxBidAmount < minimumMax) {
+                throw new RuntimeException("최대 입찰가는 " + minimumMax + " 원 이상이어야 합니다.");
+            }
+        }
+
+        private void validateOpen() {
+            LocalDateTime now = LocalDateTime.now();
+
+            if (closed || (endingLocalDateTime != null && !now.isBefore(endingLocalDateTime))) {
+                throw new RuntimeException("이미 종료된 경매입니다.");
+            }
+            if (startingLocalDateTime != null && now.isBefore(startingLocalDateTime)) {
+                throw new RuntimeException("아직 시작되지 않은 경매입니다.");
+            }
+        }
+
+        private long increment() {
+            return bidIncrement != null && bidIncrement > 0 ? bidIncrement : 1;
+        }
+
+        // 새 선두가 되기 위한 최소 금액 (입찰이 없으면 시작가)
+        private long minimumBid() {
+            if (topBid == null) {
+                return startingPrice != null ? startingPrice : 0L;
+            }
+            return topBid + increment();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package bibid.service.auctionItemDetail.impl;
+
+import bibid.dto.AuctionInfoDto;
+import bibid.dto.BidRequestDto;
+import bibid.entity.Auction;
+import bibid.entity.AuctionInfo;
+import bibid.entity.Member;
+import bibid.repository.auction.AuctionRepository;
+import bibid.repository.member.MemberRepository;
+import bibid.repository.specialAuction.AuctionInfoRepository;
+import bibid.service.account.AccountLedgerService;
+import bibid.service.auction.AuctionChangedEvent;
+import bibid.service.notification.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * 일반 경매 즉시 구매 1건을 DB에 반영하는 컴포넌트
+ * GeneralAuctionBidSequencer 의 샤드 스레드에서만 호출된다.
+ * 일반 입찰은 시퀀서가 입찰 스트림(저널)에 기록하고 LiveBidStreamProcessor 가 배치로 저장하지만,
+ * 즉시 구매는 그 자리에서 잔액을 차감하고 경매를 끝내야 하므로 한 트랜잭션으로 바로 저장한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GeneralAuctionBidWriter {
+
+    private final AuctionRepository auctionRepository;
+    private final AuctionInfoRepository auctionInfoRepository;
+    private final MemberRepository memberRepository;
+    private final AccountLedgerService accountLedgerService;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public AuctionInfoDto writeBuyNow(Long auctionIndex,
+                                      BidRequestDto bidRequestDto,
+                                      Member member,
+                                      Long previousBidderIndex,
+                                      Long previousBidAmount) {
+        LocalDateTime currentTime = LocalDateTime.now();
+        Auction auction = auctionRepository.getReferenceById(auctionIndex);
+        long bidAmount = bidRequestDto.getUserBiddingPrice();
+
+        // 현재 입찰자와 직전 입찰자가 다른 경우에만 알림 전송
+        if (previousBidderIndex != null && !previousBidderIndex.equals(member.getMemberIndex())) {
+            Member previousHighestBidder = memberRepository.getReferenceById(previousBidderIndex);
+            notificationService.notifyHigherBid(previousHighestBidder, auctionIndex, bidAmount, previousBidAmount);
+        }
+
+        // 바로 정산하고 경매 상태를 '완료'로 설정 (잔액 부족 시 예외로 롤백)
+        accountLedgerService.debit(member.getMemberIndex(), auctionIndex, bidAmount, "낙찰");
+        auction.setAuctionStatus("경매 완료");
+        eventPublisher.publishEvent(new AuctionChangedEvent(auctionIndex, AuctionChangedEvent.Type.STATUS_CHANGED));
+
+        return saveBid(auction, member, member.getNickname(), bidAmount, currentTime);
+    }
+
+    private AuctionInfoDto saveBid(Auction auction, Member bidder, String bidderNickname, long bidAmount, LocalDateTime bidTime) {
+        AuctionInfo auctionInfo = AuctionInfo.builder()
+                .auction(auction)
+                .bidder(bidder)
+                .bidTime(bidTime)
+                .bidAmount(bidAmount)
+                .bidderNickname(bidderNickname)
+                .build();
+        auctionInfoRepository.save(auctionInfo);
+        log.info("AuctionInfo 저장 완료 - Auction Index: {}, Bidder: {}, Bid Amount: {}", auction.getAuctionIndex(), bidderNickname, bidAmount);
+
+        return AuctionInfoDto.builder()
+                .auctionInfoIndex(auctionInfo.getAuctionInfoIndex())
+                .auctionIndex(auction.getAuctionIndex())
+                .bidderIndex(bidder.getMemberIndex())
+                .bidTime(bidTime)
+                .bidAmount(bidAmount)
+                .bidderNickname(bidderNickname)
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package bibid.service.auctionItemDetail.impl;
+
+import bibid.repository.auction.AuctionRepository;
+import bibid.service.auction.AuctionJobService;
+import bibid.service.auctionItemDetail.AuctionItemDetailService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 일반 경매 시작/종료 예약
+ * 경매마다 시작/종료 작업을 AuctionJobService 에 등록해 분 단위 polling 없이 해당 시각에 한 노드에서만 처리한다.
+ * 기동 시에는 작업이 없는 진행 전/진행 중 경매(작업 저장소 도입 이전 경매 포함)의 작업을 보완하고,
+ * AuctionItemDetailService 의 1분 주기 점검은 누락된 예약을 보완하는 용도로만 남는다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GeneralAuctionLifecycleScheduler {
+
+    private final AuctionJobService auctionJobService;
+    private final AuctionRepository auctionRepository;
+    private final AuctionItemDetailService auctionItemDetailService;
+
+    @PostConstruct
+    public void registerHandlers() {
+        auctionJobService.registerHandler(AuctionJobService.GENERAL_START,
+                job -> auctionItemDetailService.startAuction(job.getAuctionIndex()));
+        auctionJobService.registerHandler(AuctionJobService.GENERAL_END,
+                job -> auctionItemDetailService.closeAuction(job.getAuctionIndex()));
+    }
+
+    public void schedule(Long auctionIndex, LocalDateTime startingLocalDateTime, LocalDateTime endingLocalDateTime) {
+        schedule(auctionIndex, startingLocalDateTime, endingLocalDateTime, true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleOnStartup() {
+        List<AuctionRepository.AuctionSchedule> schedules = auctionRepository
+                .findSchedulesByAuctionTypeAndAuctionStatusIn("일반 경매", List.of("대기중", "경매 시작"));
+
+        schedules.forEach(schedule -> schedule(
+                schedule.getAuctionIndex(), schedule.getStartingLocalDateTime(), schedule.getEndingLocalDateTime(), false));
+
+        log.info("일반 경매 시작/종료 예약 확인 완료 - {}건", schedules.size());
+    }
+
+    private void schedule(Long auctionIndex, LocalDateTime startingLocalDateTime, LocalDateTime endingLocalDateTime,
+                          boolean replace) {
+        LocalDateTime now = LocalDateTime.now();
+
+        // 이미 종료 시각이 지났으면 시작 예약 없이 종료만 처리 ('대기중' 경매도 종료 처리 대상)
+        if (startingLocalDateTime != null && startingLocalDateTime.isAfter(now)) {
+            register("general:start:" + auctionIndex, AuctionJobService.GENERAL_START, auctionIndex, startingLocalDateTime, replace);
+        } else if (endingLocalDateTime == null || endingLocalDateTime.isAfter(now)) {
+            auctionItemDetailService.startAuction(auctionIndex);
+        }
+
+        if (endingLocalDateTime != null) {
+            register("general:end:" + auctionIndex, AuctionJobService.GENERAL_END, auctionIndex, endingLocalDateTime, replace);
+        }
+    }
+
+    private void register(String jobKey, String jobType, Long auctionIndex, LocalDateTime runAt, boolean replace) {
+        if (replace) {
+            auctionJobService.schedule(jobKey, jobType, auctionIndex, null, null, runAt);
+        } else {
+            auctionJobService.scheduleIfAbsent(jobKey, jobType, auctionIndex, null, null, runAt);
+        }
+    }
+}
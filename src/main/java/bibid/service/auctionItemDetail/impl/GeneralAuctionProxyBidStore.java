@@ -0,0 +1,57 @@
+package bibid.service.auctionItemDetail.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일반 경매 자동 입찰(최대 입찰가) 저장소
+ * 시퀀서가 메모리에 들고 있는 자동 입찰을 재기동 후에도 복구할 수 있도록 Redis Hash 에 함께 기록한다.
+ * (auction:proxy:{경매 번호} -> 회원 번호 : "최대 입찰가:등록 시각(ms):닉네임")
+ * 등록/소진 시에만 쓰고, 입찰 경쟁 자체는 시퀀서 메모리에서 정리한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GeneralAuctionProxyBidStore {
+
+    private static final String PROXY_KEY_PREFIX = "auction:proxy:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public List<ProxyBid> findAll(Long auctionIndex) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(PROXY_KEY_PREFIX + auctionIndex);
+        List<ProxyBid> proxyBids = new ArrayList<>();
+        entries.forEach((memberIndex, value) -> {
+            String[] parts = value.toString().split(":", 3);
+            proxyBids.add(new ProxyBid(Long.parseLong(memberIndex.toString()), Long.parseLong(parts[0]),
+                    Long.parseLong(parts[1]), parts.length > 2 ? parts[2] : null));
+        });
+        return proxyBids;
+    }
+
+    public void save(Long auctionIndex, ProxyBid proxyBid) {
+        redisTemplate.opsForHash().put(PROXY_KEY_PREFIX + auctionIndex, String.valueOf(proxyBid.memberIndex()),
+                proxyBid.maxBidAmount() + ":" + proxyBid.registeredAt() + ":" + proxyBid.bidderNickname());
+    }
+
+    public void delete(Long auctionIndex, Long memberIndex) {
+        redisTemplate.opsForHash().delete(PROXY_KEY_PREFIX + auctionIndex, String.valueOf(memberIndex));
+    }
+
+    // 경매 종료 시 남은 자동 입찰 제거
+    public void clear(Long auctionIndex) {
+        redisTemplate.delete(PROXY_KEY_PREFIX + auctionIndex);
+    }
+
+    /**
+     * 자동 입찰 1건 (최대 입찰가가 같으면 먼저 등록한 쪽이 우선)
+     */
+    public record ProxyBid(Long memberIndex, long maxBidAmount, long registeredAt, String bidderNickname) {
+    }
+}
@@ -0,0 +1,119 @@
+package bibid.service.auctionItemDetail.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 일반 경매 현재 최고 입찰 공유 저장소 (노드 간 기준 값)
+ * 시퀀서는 노드마다 경매별 상태를 메모리에 들고 있으므로, 여러 노드가 같은 경매의 입찰을 받으면 서로 다른 최고가를 기준으로 검증할 수 있다.
+ * 그래서 최고가/최고 입찰자/종료 여부를 버전과 함께 Redis Hash 에 두고,
+ * 시퀀서는 입찰마다 버전을 비교해 바뀌었으면 다시 읽고, 처리 결과는 버전이 그대로일 때만 반영(compare-and-set)한다.
+ * (auction:general:top:{경매 번호} -> version, top, bidder, nickname, closed)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GeneralAuctionTopStore {
+
+    private static final String TOP_KEY_PREFIX = "auction:general:top:";
+
+    /**
+     * 버전이 기대값과 같을 때만 최고 입찰 갱신
+     * KEYS[1] = 경매 Hash, ARGV[1] = 기대 버전(없으면 0), ARGV[2] = 최고가, ARGV[3] = 최고 입찰자, ARGV[4] = 닉네임, ARGV[5] = 종료 여부
+     * 반환값 = 새 버전 (버전이 다르면 -1)
+     */
+    private static final RedisScript<Long> COMPARE_AND_SET_SCRIPT = new DefaultRedisScript<>("""
+            local version = tonumber(redis.call('HGET', KEYS[1], 'version') or '0')
+            if version ~= tonumber(ARGV[1]) then
+                return -1
+            end
+            redis.call('HSET', KEYS[1], 'top', ARGV[2], 'bidder', ARGV[3], 'nickname', ARGV[4], 'closed', ARGV[5])
+            return redis.call('HINCRBY', KEYS[1], 'version', 1)
+            """, Long.class);
+
+    /**
+     * 직전 값으로 되돌리기 (DB 저장 실패 시, 그 사이 다른 노드가 갱신하지 않았을 때만)
+     * KEYS[1] = 경매 Hash, ARGV[1] = 되돌릴 버전, ARGV[2] = 직전 버전, ARGV[3~6] = 직전 최고가/입찰자/닉네임/종료 여부 (최고가가 빈 값이면 삭제)
+     */
+    private static final RedisScript<Long> REVERT_SCRIPT = new DefaultRedisScript<>("""
+            if tonumber(redis.call('HGET', KEYS[1], 'version') or '0') ~= tonumber(ARGV[1]) then
+                return 0
+            end
+            if ARGV[3] == '' then
+                redis.call('DEL', KEYS[1])
+            else
+                redis.call('HSET', KEYS[1], 'version', ARGV[2], 'top', ARGV[3], 'bidder', ARGV[4], 'nickname', ARGV[5], 'closed', ARGV[6])
+            end
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    // 현재 버전 (Hash 가 없으면 0)
+    public long version(Long auctionIndex) {
+        Object version = redisTemplate.opsForHash().get(topKey(auctionIndex), "version");
+        return version != null ? Long.parseLong(version.toString()) : 0L;
+    }
+
+    // 공유 최고 입찰 (Hash 가 없으면 null - 아직 입찰이 반영된 적 없으므로 DB 기준)
+    public SharedTop find(Long auctionIndex) {
+        List<Object> values = redisTemplate.opsForHash().multiGet(topKey(auctionIndex),
+                List.of("version", "top", "bidder", "nickname", "closed"));
+        if (values.get(0) == null) {
+            return null;
+        }
+        return new SharedTop(
+                Long.parseLong(values.get(0).toString()),
+                isBlank(values.get(1)) ? null : Long.parseLong(values.get(1).toString()),
+                isBlank(values.get(2)) ? null : Long.parseLong(values.get(2).toString()),
+                isBlank(values.get(3)) ? null : values.get(3).toString(),
+                "1".equals(String.valueOf(values.get(4))));
+    }
+
+    // 반환값 = 새 버전 (다른 노드가 먼저 갱신했으면 -1)
+    public long compareAndSet(Long auctionIndex, long expectedVersion, Long top, Long bidderIndex, String nickname, boolean closed) {
+        Long version = redisTemplate.execute(COMPARE_AND_SET_SCRIPT, List.of(topKey(auctionIndex)),
+                String.valueOf(expectedVersion), toArg(top), toArg(bidderIndex), nickname != null ? nickname : "",
+                closed ? "1" : "0");
+        return version != null ? version : -1L;
+    }
+
+    public void revert(Long auctionIndex, long version, long previousVersion, Long top, Long bidderIndex, String nickname,
+                       boolean closed) {
+        Long reverted = redisTemplate.execute(REVERT_SCRIPT, List.of(topKey(auctionIndex)),
+                String.valueOf(version), String.valueOf(previousVersion), toArg(top), toArg(bidderIndex),
+                nickname != null ? nickname : "", closed ? "1" : "0");
+        if (reverted == null || reverted == 0) {
+            log.warn("최고 입찰 되돌리기 생략 (다른 노드가 이미 갱신) - auctionIndex={}, version={}", auctionIndex, version);
+        }
+    }
+
+    // 경매 종료 시 제거
+    public void clear(Long auctionIndex) {
+        redisTemplate.delete(topKey(auctionIndex));
+    }
+
+    private String topKey(Long auctionIndex) {
+        return TOP_KEY_PREFIX + auctionIndex;
+    }
+
+    private String toArg(Long value) {
+        return value != null ? String.valueOf(value) : "";
+    }
+
+    private boolean isBlank(Object value) {
+        return value == null || value.toString().isEmpty();
+    }
+
+    /**
+     * 공유 최고 입찰 (top/bidder 가 null 이면 아직 입찰 없음)
+     */
+    public record SharedTop(long version, Long top, Long bidderIndex, String nickname, boolean closed) {
+    }
+}
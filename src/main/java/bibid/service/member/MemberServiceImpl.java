@@ -7,6 +7,7 @@ import bibid.entity.SellerInfo;
 import bibid.repository.member.SellerInfoRepository;
 import bibid.repository.account.AccountRepository;
 import bibid.repository.member.MemberRepository;
+import bibid.jwt.AuthenticatedPrincipalCache;
 import bibid.jwt.JwtProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,6 +24,7 @@ public class MemberServiceImpl implements MemberService {
     private final SellerInfoRepository sellerInfoRepository;
     private final AccountRepository accountRepository;
     private final JwtProvider jwtProvider;
+    private final AuthenticatedPrincipalCache authenticatedPrincipalCache;
     private Optional<Member> optionalMember = Optional.empty();
 
     @Override
@@ -69,7 +71,7 @@ public class MemberServiceImpl implements MemberService {
 
         Account account = Account.builder()
                 .member(member)
-                .userMoney("1000000")
+                .userMoney(1000000L)
                 .build();
         member.setAccount(account);
 
@@ -123,6 +125,9 @@ public class MemberServiceImpl implements MemberService {
             member.setMemberPw(passwordEncoder.encode(newPasswd));
 
             memberRepository.save(member);
+
+            // 기존 토큰으로 캐시된 인증 정보 제거
+            authenticatedPrincipalCache.invalidateMember(member.getMemberId());
             return "비밀번호 변경을 완료했습니다.";
         } else {
             System.out.println("이메일에 해당하는 사용자가 없습니다.");
@@ -0,0 +1,93 @@
+package bibid.service.member;
+
+import bibid.entity.Member;
+import bibid.repository.member.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebSocket(STOMP) 세션 회원 정보
+ * CONNECT 시 한 번 회원을 조회해 세션 속성에 회원 번호/닉네임/권한을 붙여 두고,
+ * 입찰/채팅 핸들러는 메시지마다 회원을 다시 조회하지 않고 세션 속성의 값을 사용한다.
+ * 닉네임 변경 등 회원 정보가 바뀌면 invalidate 로 해당 회원의 열린 세션 값만 교체한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SessionMemberService {
+
+    public static final String SESSION_MEMBER_ATTRIBUTE = "SESSION_MEMBER";
+
+    private final MemberRepository memberRepository;
+
+    // 열린 세션의 속성 (세션 ID -> 세션 속성) - 회원 정보 변경 시 교체용
+    private final Map<String, Map<String, Object>> sessions = new ConcurrentHashMap<>();
+
+    // CONNECT 시 호출 - 회원 조회 후 세션에 저장
+    public SessionMember attach(String sessionId, Map<String, Object> sessionAttributes, String memberId) {
+        Member member = memberRepository.findByMemberId(memberId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다."));
+
+        SessionMember sessionMember = SessionMember.of(member);
+        sessionAttributes.put(SESSION_MEMBER_ATTRIBUTE, sessionMember);
+        sessions.put(sessionId, sessionAttributes);
+        return sessionMember;
+    }
+
+    /**
+     * 메시지를 보낸 세션의 회원 정보
+     * CONNECT 에서 저장하지 못한 세션(인터셉터 적용 전 연결 등)만 회원을 조회해 세션에 저장한다.
+     */
+    public SessionMember current(SimpMessageHeaderAccessor headerAccessor, Principal principal) {
+        if (principal == null) {
+            throw new IllegalStateException("현재 인증된 사용자를 찾을 수 없습니다.");
+        }
+
+        Map<String, Object> sessionAttributes = headerAccessor.getSessionAttributes();
+        if (sessionAttributes == null) {
+            return SessionMember.of(memberRepository.findByMemberId(principal.getName())
+                    .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다.")));
+        }
+
+        Object sessionMember = sessionAttributes.get(SESSION_MEMBER_ATTRIBUTE);
+        if (sessionMember instanceof SessionMember member) {
+            return member;
+        }
+        return attach(headerAccessor.getSessionId(), sessionAttributes, principal.getName());
+    }
+
+    // 회원 정보 변경 시 호출 - 해당 회원의 열린 세션 값을 새 정보로 교체
+    public void invalidate(Member member) {
+        SessionMember refreshed = SessionMember.of(member);
+        sessions.values().forEach(sessionAttributes -> {
+            Object current = sessionAttributes.get(SESSION_MEMBER_ATTRIBUTE);
+            if (current instanceof SessionMember sessionMember
+                    && sessionMember.memberIndex().equals(member.getMemberIndex())) {
+                sessionAttributes.put(SESSION_MEMBER_ATTRIBUTE, refreshed);
+            }
+        });
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        sessions.remove(event.getSessionId());
+    }
+
+    /**
+     * 세션에 저장하는 회원 정보 (memberId = 인증 정보의 사용자 아이디)
+     */
+    public record SessionMember(Long memberIndex, String memberId, String nickname, String role) {
+
+        static SessionMember of(Member member) {
+            return new SessionMember(member.getMemberIndex(), member.getMemberId(), member.getNickname(), member.getRole());
+        }
+    }
+}
@@ -8,6 +8,7 @@ import bibid.entity.Auction;
 import bibid.entity.AuctionInfo;
 import bibid.entity.Member;
 import bibid.entity.ProfileImage;
+import bibid.jwt.AuthenticatedPrincipalCache;
 
 import bibid.repository.auction.AuctionRepository;
 import bibid.repository.member.MemberRepository;
@@ -15,6 +16,7 @@ import bibid.repository.mypage.MypageProfileRepository;
 import bibid.repository.mypage.MypageRepository;
 import bibid.repository.mypage.ProfileImageRepository;
 import bibid.repository.specialAuction.AuctionInfoRepository;
+import bibid.service.member.SessionMemberService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -36,6 +38,8 @@ public class MypageServiceImpl implements MypageService {
     private final ProfileImageRepository profileImageRepository;
     private final AuctionRepository auctionRepository;
     private final MemberRepository memberRepository;
+    private final SessionMemberService sessionMemberService;
+    private final AuthenticatedPrincipalCache authenticatedPrincipalCache;
 
     @Override
     public MemberDto modify(MemberDto memberDto, MultipartFile[] uploadProfiles) {
@@ -88,6 +92,9 @@ public class MypageServiceImpl implements MypageService {
             }
         }
         mypageRepository.save(existingMember);
+
+        // 비밀번호/연락처가 바뀌었으므로 캐시된 인증 정보 제거
+        authenticatedPrincipalCache.invalidateMember(existingMember.getMemberId());
         return existingMember.toDto();
     }
 
@@ -213,6 +220,10 @@ public class MypageServiceImpl implements MypageService {
         // 변경된 사용자 정보 저장
         memberRepository.save(member);
 
+        // 캐시된 인증 정보와 열린 WebSocket 세션의 닉네임도 교체
+        authenticatedPrincipalCache.invalidateMember(member.getMemberId());
+        sessionMemberService.invalidate(member);
+
         // 업데이트된 정보를 MemberDto로 변환하여 반환
         return member.toDto(); // toDto 메소드 사용
     }
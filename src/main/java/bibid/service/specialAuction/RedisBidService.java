@@ -1,10 +1,22 @@
 package bibid.service.specialAuction;
 
+import bibid.dto.BidPlacementResultDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Service
@@ -14,33 +26,276 @@ public class RedisBidService {
 
     private final RedisTemplate<String, String> redisTemplate;
 
-    // 입찰 추가 (입찰가와 사용자 ID)
-    public void placeBid(Long auctionIndex, double bidAmount, String userId) {
-        String redisKey = "auction:bid:" + auctionIndex;
+    private static final String BID_KEY_PREFIX = "auction:bid:";              // 사용자별 최고 입찰가 (Sorted Set)
+    private static final String TOP_BID_KEY_PREFIX = "auction:top:";          // 현재 최고가/최고 입찰자 (Hash)
+    private static final String BID_STREAM_KEY_PREFIX = "auction:bidstream:"; // 수락된 입찰 이벤트 (Stream)
+    public static final String ACTIVE_BID_STREAMS_KEY = "auction:bidstreams"; // 소비 중인 입찰 스트림 (Sorted Set: 경매 번호 -> 정리 시각, 진행 중이면 0)
+    private static final String LIVE_RULES_KEY_PREFIX = "auction:live:rules:"; // 실시간 경매 입찰 규칙 (Hash: open, startingPrice, bidIncrement)
+    private static final Duration LIVE_RULES_TTL = Duration.ofHours(24);
 
-        // 입찰 금액을 Sorted Set에 추가
-        redisTemplate.opsForZSet().add(redisKey, userId, bidAmount);
-        log.info("Bid placed for auction {} by user {}: {} (bidAmount: {})", auctionIndex, userId, redisKey, bidAmount);
+    /**
+     * 입찰 검증 + 최고가 갱신 + 입찰 이벤트 추가를 한 번의 왕복으로 원자적으로 처리하는 스크립트
+     * 최고가 Hash 가 유실된 경우(Redis 재시작/장애 조치)에는 스트림의 마지막 입찰로 먼저 복구한 뒤 검증한다.
+     * Hash 도입 전 입찰만 있는 경매는 스트림이 없으므로 getTopBid 와 같이 Sorted Set 최상위 항목이 더 높으면 그 값으로 복구한다.
+     * ARGV[8] = 1 이면 시작가/입찰 단위/진행 여부를 입찰 규칙 Hash 에서 읽는다. (실시간 경매 - 입찰마다 DB 조회하지 않음)
+     * KEYS[1] = 최고가 Hash, KEYS[2] = 입찰 Sorted Set, KEYS[3] = 입찰 Stream, KEYS[4] = 소비 중인 스트림 목록, KEYS[5] = 입찰 규칙 Hash
+     * ARGV[1] = 입찰가, ARGV[2] = 입찰자, ARGV[3] = 시작가, ARGV[4] = 입찰 단위, ARGV[5] = 입찰 시각(epoch ms),
+     * ARGV[6] = 입찰자 회원 번호, ARGV[7] = 경매 번호, ARGV[8] = 입찰 규칙 Hash 사용 여부(1/0)
+     * 반환값 = {수락 여부(1/0, 규칙 없음 -1, 진행 중 아님 -2), 최고가, 최고 입찰자, 직전 최고 입찰자 회원 번호}
+     */
+    private static final RedisScript<List> PLACE_BID_SCRIPT = new DefaultRedisScript<>("""
+            local amount = tonumber(ARGV[1])
+            local startingPrice = ARGV[3]
+            local increment = ARGV[4]
+            if ARGV[8] == '1' then
+                local rules = redis.call('HMGET', KEYS[5], 'open', 'startingPrice', 'bidIncrement')
+                if not rules[1] then
+                    return {'-1', '', ''}
+                end
+                if rules[1] ~= '1' then
+                    return {'-2', '', ''}
+                end
+                startingPrice = rules[2]
+                increment = rules[3]
+            end
+            local current = redis.call('HGET', KEYS[1], 'amount')
+            if not current then
+                local last = redis.call('XREVRANGE', KEYS[3], '+', '-', 'COUNT', 1)
+                if #last > 0 then
+                    local entry = {}
+                    local fields = last[1][2]
+                    for i = 1, #fields, 2 do
+                        entry[fields[i]] = fields[i + 1]
+                    end
+                    redis.call('HSET', KEYS[1], 'amount', entry['amount'], 'bidder', entry['bidder'], 'bidderIndex', entry['bidderIndex'] or '')
+                    current = entry['amount']
+                end
+                local legacy = redis.call('ZREVRANGE', KEYS[2], 0, 0, 'WITHSCORES')
+                if #legacy > 0 and (not current or tonumber(legacy[2]) > tonumber(current)) then
+                    current = string.format('%.0f', tonumber(legacy[2]))
+                    redis.call('HSET', KEYS[1], 'amount', current, 'bidder', legacy[1], 'bidderIndex', '')
+                end
+            end
+            if current then
+                if amount < tonumber(current) + tonumber(increment) then
+                    return {'0', current, redis.call('HGET', KEYS[1], 'bidder') or ''}
+                end
+            elseif amount < tonumber(startingPrice) then
+                return {'0', '', ''}
+            end
+            local previousBidderIndex = redis.call('HGET', KEYS[1], 'bidderIndex') or ''
+            redis.call('HSET', KEYS[1], 'amount', ARGV[1], 'bidder', ARGV[2], 'bidderIndex', ARGV[6])
+            redis.call('ZADD', KEYS[2], amount, ARGV[2])
+            redis.call('XADD', KEYS[3], '*', 'bidder', ARGV[2], 'bidderIndex', ARGV[6], 'amount', ARGV[1],
+                    'bidTime', ARGV[5], 'previousBidderIndex', previousBidderIndex, 'previousAmount', current or '')
+            redis.call('ZADD', KEYS[4], 'NX', 0, ARGV[7])
+            return {'1', ARGV[1], ARGV[2], previousBidderIndex}
+            """, List.class);
+
+    /**
+     * 검증이 끝난 입찰 이벤트만 스트림에 추가 (일반 경매 입찰 저널용 - 최고가 검증은 GeneralAuctionBidSequencer 가 한다)
+     * 실시간 경매 입찰과 같은 필드로 기록해 LiveBidStreamProcessor 가 배치 저장/상회 입찰 알림/집계를 함께 처리한다.
+     * kind = general 항목만 있는 스트림은 실시간 최고가 Hash 복구 대상이 아니다.
+     * KEYS[1] = 입찰 Stream, KEYS[2] = 소비 중인 스트림 목록
+     * ARGV[1] = 입찰가, ARGV[2] = 입찰자 닉네임, ARGV[3] = 입찰자 회원 번호, ARGV[4] = 입찰 시각(epoch ms),
+     * ARGV[5] = 직전 최고 입찰자 회원 번호, ARGV[6] = 직전 최고가, ARGV[7] = 경매 번호
+     * 반환값 = 스트림 ID
+     */
+    private static final RedisScript<String> APPEND_BID_EVENT_SCRIPT = new DefaultRedisScript<>("""
+            local id = redis.call('XADD', KEYS[1], '*', 'bidder', ARGV[2], 'bidderIndex', ARGV[3], 'amount', ARGV[1],
+                    'bidTime', ARGV[4], 'previousBidderIndex', ARGV[5], 'previousAmount', ARGV[6], 'kind', 'general')
+            redis.call('ZADD', KEYS[2], 'NX', 0, ARGV[7])
+            return id
+            """, String.class);
+
+    /**
+     * 경매의 시작가/입찰 단위를 지켜 원자적으로 입찰
+     * 현재 최고가 + 입찰 단위 미만(첫 입찰은 시작가 미만)이면 수락되지 않는다.
+     */
+    public BidPlacementResultDto placeBidAtomically(Long auctionIndex, long bidAmount, String userId, Long memberIndex,
+                                                    Long startingPrice, Long bidIncrement) {
+        long minimumStart = startingPrice != null ? startingPrice : 0L;
+        long increment = bidIncrement != null && bidIncrement > 0 ? bidIncrement : 1L;
+        return executePlaceBid(auctionIndex, bidAmount, userId, memberIndex, minimumStart, increment, false);
+    }
+
+    /**
+     * 실시간 경매 입찰 - 시작가/입찰 단위/진행 여부를 방송 시작 시 저장한 입찰 규칙 Hash 에서 읽는다.
+     * 규칙이 없으면(만료/저장 전) rulesMissing, 방송 중이 아니면 closed 로 돌려주고 수락하지 않는다.
+     */
+    public BidPlacementResultDto placeLiveBid(Long auctionIndex, long bidAmount, String userId, Long memberIndex) {
+        return executePlaceBid(auctionIndex, bidAmount, userId, memberIndex, 0L, 1L, true);
+    }
+
+    private BidPlacementResultDto executePlaceBid(Long auctionIndex, long bidAmount, String userId, Long memberIndex,
+                                                  long startingPrice, long increment, boolean useRules) {
+        @SuppressWarnings("unchecked")
+        List<String> result = (List<String>) redisTemplate.execute(
+                PLACE_BID_SCRIPT,
+                List.of(TOP_BID_KEY_PREFIX + auctionIndex, BID_KEY_PREFIX + auctionIndex, bidStreamKey(auctionIndex),
+                        ACTIVE_BID_STREAMS_KEY, LIVE_RULES_KEY_PREFIX + auctionIndex),
+                String.valueOf(bidAmount), userId, String.valueOf(startingPrice), String.valueOf(increment),
+                String.valueOf(System.currentTimeMillis()), memberIndex != null ? String.valueOf(memberIndex) : "",
+                String.valueOf(auctionIndex), useRules ? "1" : "0");
+
+        if (result == null || result.size() < 3) {
+            throw new IllegalStateException("입찰 스크립트 실행 결과가 올바르지 않습니다.");
+        }
+
+        BidPlacementResultDto placementResult = BidPlacementResultDto.builder()
+                .accepted("1".equals(result.get(0)))
+                .rulesMissing("-1".equals(result.get(0)))
+                .closed("-2".equals(result.get(0)))
+                .topBid(result.get(1).isEmpty() ? null : Long.valueOf(result.get(1)))
+                .topBidder(result.get(2).isEmpty() ? null : result.get(2))
+                .previousBidderIndex(result.size() > 3 && !result.get(3).isEmpty() ? Long.valueOf(result.get(3)) : null)
+                .build();
+
+        log.info("Bid script executed for auction {} by user {}: {}", auctionIndex, userId, placementResult);
+        return placementResult;
+    }
+
+    /**
+     * 실시간 경매 입찰 규칙 저장 (방송 시작 시 open = true, 종료 처리 시작 시 open = false)
+     * 규칙이 만료되면 입찰 경로가 DB 에서 한 번 다시 읽어 저장한다.
+     */
+    public void saveLiveRules(Long auctionIndex, boolean open, Long startingPrice, Long bidIncrement) {
+        String key = LIVE_RULES_KEY_PREFIX + auctionIndex;
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                operations.opsForHash().putAll(key, Map.of(
+                        "open", open ? "1" : "0",
+                        "startingPrice", String.valueOf(startingPrice != null ? startingPrice : 0L),
+                        "bidIncrement", String.valueOf(bidIncrement != null && bidIncrement > 0 ? bidIncrement : 1L)));
+                operations.expire(key, LIVE_RULES_TTL);
+                return null;
+            }
+        });
+    }
+
+    // 실시간 경매 입찰 마감 (종료 처리 중 들어온 입찰은 수락하지 않음)
+    public void closeLiveBidding(Long auctionIndex) {
+        String key = LIVE_RULES_KEY_PREFIX + auctionIndex;
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                operations.opsForHash().put(key, "open", "0");
+                operations.expire(key, LIVE_RULES_TTL);
+                return null;
+            }
+        });
+    }
+
+    // 일반 경매 입찰 저널 기록 (DB 저장은 스트림 소비자가 배치로 처리)
+    public String appendBidEvent(Long auctionIndex, long bidAmount, String bidderNickname, Long bidderIndex, long bidTimeMillis,
+                                 Long previousBidderIndex, Long previousAmount) {
+        return redisTemplate.execute(APPEND_BID_EVENT_SCRIPT, List.of(bidStreamKey(auctionIndex), ACTIVE_BID_STREAMS_KEY),
+                String.valueOf(bidAmount), bidderNickname, String.valueOf(bidderIndex), String.valueOf(bidTimeMillis),
+                previousBidderIndex != null ? String.valueOf(previousBidderIndex) : "",
+                previousAmount != null ? String.valueOf(previousAmount) : "",
+                String.valueOf(auctionIndex));
+    }
+
+    // 입찰 추가 (입찰가와 사용자 ID) - 경매 정보가 없는 경로는 시작가 0, 입찰 단위 1 로 검증
+    public BidPlacementResultDto placeBid(Long auctionIndex, double bidAmount, String userId) {
+        return placeBidAtomically(auctionIndex, (long) bidAmount, userId, null, 0L, 1L);
     }
 
     // 최고 입찰가 가져오기
     public Double getHighestBid(Long auctionIndex) {
-        String redisKey = "auction:bid:" + auctionIndex;
-
-        // Sorted Set에서 가장 높은 점수 (입찰가)를 가져옴
-        Set<String> highestBid = redisTemplate.opsForZSet().reverseRangeByScore(redisKey, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 0, 1);
-        if (highestBid != null && !highestBid.isEmpty()) {
-            Double highestBidAmount = redisTemplate.opsForZSet().score(redisKey, highestBid.iterator().next());
-            log.info("Highest bid for auction {}: {} (amount: {})", auctionIndex, highestBid.iterator().next(), highestBidAmount);
-            return highestBidAmount;
+        BidPlacementResultDto topBid = getTopBid(auctionIndex);
+        if (topBid == null) {
+            log.info("No bids found for auction {}", auctionIndex);
+            return null;
+        }
+        return topBid.getTopBid().doubleValue();
+    }
+
+    /**
+     * 최고가/최고 입찰자 조회
+     * 최고가 Hash 와 (Hash 도입 전 입찰만 있는 경매를 위한) Sorted Set 최상위 항목을
+     * 파이프라인으로 한 번에 읽는다.
+     */
+    public BidPlacementResultDto getTopBid(Long auctionIndex) {
+        List<Object> replies = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                operations.opsForHash().multiGet(TOP_BID_KEY_PREFIX + auctionIndex, List.of("amount", "bidder"));
+                operations.opsForZSet().reverseRangeWithScores(BID_KEY_PREFIX + auctionIndex, 0, 0);
+                return null;
+            }
+        });
+
+        List<?> topHash = (List<?>) replies.get(0);
+        if (topHash != null && topHash.get(0) != null) {
+            return BidPlacementResultDto.builder().accepted(true).topBid(Long.valueOf(topHash.get(0).toString())).topBidder((String) topHash.get(1)).build();
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<TypedTuple<String>> highest = (Set<TypedTuple<String>>) replies.get(1);
+        if (highest != null && !highest.isEmpty()) {
+            TypedTuple<String> top = highest.iterator().next();
+            return BidPlacementResultDto.builder().accepted(true).topBid(top.getScore().longValue()).topBidder(top.getValue()).build();
         }
-        log.info("No bids found for auction {}", auctionIndex);
         return null;
     }
 
+    /**
+     * 입찰 스트림 전체를 다시 읽어 최고가 Hash 와 사용자별 최고 입찰가 Sorted Set 복구 (장애 후 재기동 시)
+     * 수락된 입찰은 항상 직전 최고가보다 높으므로 마지막 이벤트가 현재 최고 입찰이다.
+     * 반환값 = 다시 읽은 입찰 수
+     */
+    public int rebuildFromStream(Long auctionIndex) {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .range(bidStreamKey(auctionIndex), Range.unbounded());
+        if (records == null || records.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Double> topBidByUser = new HashMap<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            topBidByUser.merge(String.valueOf(record.getValue().get("bidder")),
+                    Double.valueOf(String.valueOf(record.getValue().get("amount"))), Math::max);
+        }
+        Map<Object, Object> last = records.get(records.size() - 1).getValue();
+        if ("general".equals(last.get("kind"))) {
+            // 일반 경매 입찰 저널 (최고가는 GeneralAuctionTopStore 가 관리)
+            return 0;
+        }
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                topBidByUser.forEach((bidder, amount) ->
+                        operations.opsForZSet().add(BID_KEY_PREFIX + auctionIndex, bidder, amount));
+                operations.opsForHash().putAll(TOP_BID_KEY_PREFIX + auctionIndex, Map.of(
+                        "amount", String.valueOf(last.get("amount")),
+                        "bidder", String.valueOf(last.get("bidder")),
+                        "bidderIndex", String.valueOf(last.getOrDefault("bidderIndex", ""))));
+                return null;
+            }
+        });
+
+        log.info("입찰 스트림으로 최고가 복구 - auctionIndex={}, bids={}, topBid={}", auctionIndex, records.size(), last.get("amount"));
+        return records.size();
+    }
+
+    public boolean hasTopBid(Long auctionIndex) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(TOP_BID_KEY_PREFIX + auctionIndex));
+    }
+
+    public static String bidStreamKey(Long auctionIndex) {
+        return BID_STREAM_KEY_PREFIX + auctionIndex;
+    }
+
     // 모든 입찰 기록 조회
     public Set<String> getAllBids(Long auctionIndex) {
-        String redisKey = "auction:bid:" + auctionIndex;
+        String redisKey = BID_KEY_PREFIX + auctionIndex;
         Set<String> allBids = redisTemplate.opsForZSet().reverseRange(redisKey, 0, -1);
         log.info("All bids for auction {}: {}", auctionIndex, allBids);
         return allBids;
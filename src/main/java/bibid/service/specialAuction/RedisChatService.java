@@ -3,76 +3,155 @@ package bibid.service.specialAuction;
 import bibid.dto.ChatDto;
 import bibid.entity.ChatMessageType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.regex.Pattern;
 
+/**
+ * 실시간 경매 채팅 버퍼 (채팅방별 Redis Stream)
+ * 메시지는 XADD MAXLEN ~ 으로 최근 N 건만 남기고, 스트림 ID 로 "이 메시지 이후" 를 이어서 읽는다.
+ * 늦게 들어온 참가자는 최근 N 건 이내의 backlog 만 받고, 재접속한 클라이언트는 마지막으로 받은 ID 이후만 받는다.
+ * 스트림 TTL 은 채팅방 스트림이 처음 만들어질 때 한 번만 설정해 메시지마다 TTL 을 다시 쓰지 않는다.
+ * 스트림 항목에는 DB 저장에 필요한 값이 모두 들어 있어, 백그라운드 저장이 밀렸을 때 ID 범위로 다시 읽어 저장할 수 있다.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RedisChatService {
 
+    public static final String CHAT_STREAM_KEY_PREFIX = "chat:stream:";
+    private static final String PAYLOAD_FIELD = "payload";
+    private static final int MAX_READ_COUNT = 200;
+    private static final Pattern STREAM_ID_PATTERN = Pattern.compile("\\d+-\\d+");
+
+    /**
+     * 채팅 메시지 추가
+     * KEYS[1] = 채팅방 스트림, ARGV[1] = 최대 보관 건수(근사), ARGV[2] = 메시지 JSON, ARGV[3] = 스트림 TTL(ms)
+     * 반환값 = 스트림 ID
+     */
+    private static final RedisScript<String> APPEND_SCRIPT = new DefaultRedisScript<>("""
+            local id = redis.call('XADD', KEYS[1], 'MAXLEN', '~', ARGV[1], '*', 'payload', ARGV[2])
+            if redis.call('PTTL', KEYS[1]) == -1 then
+                redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            end
+            return id
+            """, String.class);
+
     private final RedisTemplate<String, String> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final long maxLength;
+    private final int backlogSize;
+    private final Duration retention;
 
-    // 메시지 저장 메서드 (채팅방 메시지 Redis에 저장)
-    public void saveChatMessage(Long auctionIndex, ChatDto chatDto) {
+    public RedisChatService(RedisTemplate<String, String> redisTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${chat.stream.max-length:1000}") long maxLength,
+                            @Value("${chat.stream.backlog-size:50}") int backlogSize,
+                            @Value("${chat.stream.retention-hours:24}") long retentionHours) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.maxLength = maxLength;
+        this.backlogSize = Math.min(backlogSize, MAX_READ_COUNT);
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    /**
+     * 메시지 저장 메서드 (채팅방 스트림에 추가)
+     * 반환값 = 스트림 ID (일반 메시지가 아니거나 변환에 실패하면 null)
+     */
+    public String saveChatMessage(Long auctionIndex, ChatDto chatDto) {
         if (chatDto.getMessageType() != ChatMessageType.MESSAGE) {
             log.info("메시지 타입이 일반 메시지가 아님: {}", chatDto.getMessageType());
-            return;
+            return null;
         }
 
-        String redisKey = "chat:auctionRoom:" + auctionIndex;
         String message;
-
         try {
             message = objectMapper.writeValueAsString(chatDto);
-            log.info("메시지를 JSON으로 변환 성공: {}", message);
         } catch (Exception e) {
             log.error("메시지 변환 오류", e);
-            return;
+            return null;
         }
 
-        // Redis List에 메시지 추가 및 TTL 설정
-        redisTemplate.opsForList().rightPush(redisKey, message);
-        redisTemplate.expire(redisKey, Duration.ofMinutes(1));
-        log.info("Redis에 저장된 메시지: {} - TTL 1분 설정 완료", message);
+        String streamId = redisTemplate.execute(APPEND_SCRIPT, List.of(chatStreamKey(auctionIndex)),
+                String.valueOf(maxLength), message, String.valueOf(retention.toMillis()));
+        log.debug("채팅 스트림 추가 - auctionIndex={}, streamId={}", auctionIndex, streamId);
+        return streamId;
     }
 
-    // 1분 내 메시지 가져오기 메서드
-    public List<ChatDto> getLastMinuteMessages(Long auctionIndex) {
-        String redisKey = "chat:auctionRoom:" + auctionIndex;
-        log.info("1분 내 메시지 가져오기 - Redis 키: {}", redisKey);
+    // 늦게 들어온 참가자용 최근 메시지 (최대 backlog-size 건, 오래된 순)
+    public List<ChatDto> getRecentMessages(Long auctionIndex) {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .reverseRange(chatStreamKey(auctionIndex), Range.unbounded(), Limit.limit().count(backlogSize));
+        if (records == null || records.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<ChatDto> messages = toChatDtos(records);
+        Collections.reverse(messages);
+        return messages;
+    }
 
-        // Redis List에서 모든 채팅 메시지 가져오기
-        List<String> lastMinuteMessages = redisTemplate.opsForList().range(redisKey, 0, -1);
+    /**
+     * sinceId 이후 메시지 (sinceId 는 포함하지 않음, 오래된 순으로 최대 count 건)
+     * 재접속 클라이언트의 이어 받기에 사용한다.
+     */
+    public List<ChatDto> getMessagesSince(Long auctionIndex, String sinceId, int count) {
+        return readPageSince(auctionIndex, sinceId, count).messages();
+    }
 
-        if (lastMinuteMessages == null || lastMinuteMessages.isEmpty()) {
-            log.info("Redis에서 가져온 메시지 없음 또는 빈 리스트");
-            return Collections.emptyList();  // 데이터가 없을 경우 빈 리스트 반환
+    /**
+     * sinceId 이후 스트림 항목 한 페이지 (밀린 메시지 재저장용)
+     * 변환에 실패한 항목은 messages 에서 빠지므로, 다음 페이지는 읽은 마지막 스트림 ID(lastStreamId)부터 이어 읽는다.
+     * lastStreamId 가 null 이면 더 읽을 항목이 없다.
+     */
+    public ChatStreamPage readPageSince(Long auctionIndex, String sinceId, int count) {
+        if (sinceId == null || !STREAM_ID_PATTERN.matcher(sinceId).matches()) {
+            throw new IllegalArgumentException("올바르지 않은 채팅 메시지 ID 입니다.");
         }
 
-        log.info("Redis에서 가져온 메시지 목록: {}", lastMinuteMessages);
-
-        // JSON 문자열을 ChatDto 객체로 변환
-        return lastMinuteMessages.stream()
-                .map(message -> {
-                    try {
-                        ChatDto chatDto = objectMapper.readValue(message, ChatDto.class);
-                        log.info("JSON 문자열을 ChatDto로 변환 성공: {}", chatDto);
-                        return chatDto;
-                    } catch (Exception e) {
-                        log.error("메시지 변환 오류", e);
-                        return null;
-                    }
-                })
-                .filter(chatDto -> chatDto != null) // null 값 필터링
-                .collect(Collectors.toList());
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .range(chatStreamKey(auctionIndex), Range.rightUnbounded(Range.Bound.exclusive(sinceId)),
+                        Limit.limit().count(Math.max(1, Math.min(count, MAX_READ_COUNT))));
+        if (records == null || records.isEmpty()) {
+            return new ChatStreamPage(Collections.emptyList(), null);
+        }
+        return new ChatStreamPage(toChatDtos(records), records.get(records.size() - 1).getId().getValue());
+    }
+
+    public static String chatStreamKey(Long auctionIndex) {
+        return CHAT_STREAM_KEY_PREFIX + auctionIndex;
+    }
+
+    private List<ChatDto> toChatDtos(List<MapRecord<String, Object, Object>> records) {
+        List<ChatDto> messages = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            Object payload = record.getValue().get(PAYLOAD_FIELD);
+            if (payload == null) {
+                continue;
+            }
+            try {
+                ChatDto chatDto = objectMapper.readValue(payload.toString(), ChatDto.class);
+                chatDto.setStreamId(record.getId().getValue());
+                messages.add(chatDto);
+            } catch (Exception e) {
+                log.error("채팅 스트림 메시지 변환 오류 - streamId={}", record.getId().getValue(), e);
+            }
+        }
+        return messages;
+    }
+
+    public record ChatStreamPage(List<ChatDto> messages, String lastStreamId) {
     }
 }
@@ -1,51 +1,104 @@
 package bibid.service.specialAuction;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 실시간 경매 참가자 관리 (참가자 목록은 Redis Set)
+ * 입장/퇴장마다 참가자 수를 바로 전송하지 않고 경매를 '변경됨'으로 표시만 해 두었다가,
+ * 주기마다 변경 표시된 경매의 참가자 수만 Redis 에서 다시 조회해 값이 바뀐 경우에만 전송한다.
+ * 경매 시작 직후 입장이 몰려도 경매별 참가자 수 전송은 주기당 최대 1회이며, 참가자 수 조회는 로컬에 캐시된 값으로 응답한다.
+ * 다른 노드의 입장/퇴장은 그 노드가 topic 으로 전송하고, 이 노드의 캐시는 cache-ttl 이 지나면 다음 조회 때 다시 읽는다.
+ * 새로 입장한 사용자는 topic 의 다음 변경을 기다리지 않도록 입장할 때마다 캐시된 참가자 수를 본인에게 바로 보낸다.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RedisParticipantService {
 
-    private final RedisTemplate<String, String> redisTemplate;
     private static final String PARTICIPANTS_KEY_PREFIX = "auction:participants:";
+    private static final String COUNT_TOPIC_PREFIX = "/topic/participants/count/";
+    private static final String COUNT_USER_QUEUE_PREFIX = "/queue/participants/count/";
+
+    private final RedisTemplate<String, String> redisTemplate;
     private final SimpMessagingTemplate messagingTemplate;
+    private final ScheduledExecutorService ticker;
+    private final long cacheTtlMs;
+
+    // 다음 주기에 참가자 수를 다시 확인할 경매
+    private final Set<Long> dirtyAuctions = ConcurrentHashMap.newKeySet();
+    // 경매별 마지막으로 확인한 참가자 수 (조회 응답용, 변경 시 또는 cache-ttl 이 지나면 Redis 값으로 갱신)
+    private final Map<Long, CachedCount> cachedCounts = new ConcurrentHashMap<>();
+    // 경매별 마지막으로 전송한 참가자 수 (ticker 스레드에서만 사용)
+    private final Map<Long, Long> broadcastCounts = new ConcurrentHashMap<>();
+
+    public RedisParticipantService(RedisTemplate<String, String> redisTemplate,
+                                   SimpMessagingTemplate messagingTemplate,
+                                   @Value("${auction.participants.broadcast-interval-ms:500}") long broadcastIntervalMs,
+                                   @Value("${auction.participants.cache-ttl-ms:5000}") long cacheTtlMs) {
+        this.redisTemplate = redisTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.cacheTtlMs = cacheTtlMs;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "participant-count-broadcast"));
+        this.ticker.scheduleAtFixedRate(this::flushQuietly, broadcastIntervalMs, broadcastIntervalMs, TimeUnit.MILLISECONDS);
+    }
 
+    // 참가자 수 전송 요청 (다음 주기에 변경된 경우에만 한 번 전송)
     public void sendParticipantCountUpdate(Long auctionIndex) {
-        Long participantCount = getParticipantCount(auctionIndex); // 현재 참가자 수 조회
-        messagingTemplate.convertAndSend("/topic/participants/count/" + auctionIndex, participantCount);
+        dirtyAuctions.add(auctionIndex);
     }
 
-    // 입장 처리
-    public void enterAuction(Long auctionIndex, String userId) {
+    /**
+     * 입장 처리
+     * principalName 이 있으면 (이미 참가 중이었어도) 캐시된 참가자 수를 입장한 사용자에게 /user/queue/participants/count/{auctionIndex} 로 바로 보낸다.
+     * (이번 입장은 다음 주기의 topic 전송으로 반영된다)
+     */
+    public void enterAuction(Long auctionIndex, String userId, String principalName) {
         String key = PARTICIPANTS_KEY_PREFIX + auctionIndex;
-        redisTemplate.opsForSet().add(key, userId);
+        Long added = redisTemplate.opsForSet().add(key, userId);
         log.info("User {} entered auction {} in Redis", userId, auctionIndex);
 
-        // 참가자 수 WebSocket 업데이트 전송
-        sendParticipantCountUpdate(auctionIndex);
+        // 이미 참가 중이었다면 참가자 수가 바뀌지 않으므로 topic 전송은 하지 않음
+        if (added == null || added > 0) {
+            sendParticipantCountUpdate(auctionIndex);
+        }
+
+        if (principalName != null) {
+            messagingTemplate.convertAndSendToUser(principalName, COUNT_USER_QUEUE_PREFIX + auctionIndex,
+                    getParticipantCount(auctionIndex));
+        }
     }
 
     // 퇴장 처리
     public void leaveAuction(Long auctionIndex, String userId) {
         String key = PARTICIPANTS_KEY_PREFIX + auctionIndex;
-        redisTemplate.opsForSet().remove(key, userId);
+        Long removed = redisTemplate.opsForSet().remove(key, userId);
         log.info("User {} left auction {} in Redis", userId, auctionIndex);
 
-        // 참가자 수 WebSocket 업데이트 전송
-        sendParticipantCountUpdate(auctionIndex);
+        if (removed == null || removed > 0) {
+            sendParticipantCountUpdate(auctionIndex);
+        }
     }
 
-    // 참가자 수 조회
+    // 참가자 수 조회 (캐시된 값이 없거나 cache-ttl 이 지났을 때만 Redis 조회)
     public Long getParticipantCount(Long auctionIndex) {
-        String key = PARTICIPANTS_KEY_PREFIX + auctionIndex;
-        return redisTemplate.opsForSet().size(key);
+        CachedCount cached = cachedCounts.get(auctionIndex);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis(), cacheTtlMs)) {
+            return cached.count();
+        }
+        return loadParticipantCount(auctionIndex);
     }
 
     // 참가자 목록 조회
@@ -53,4 +106,62 @@ public class RedisParticipantService {
         String key = PARTICIPANTS_KEY_PREFIX + auctionIndex;
         return redisTemplate.opsForSet().members(key);
     }
+
+    private Long loadParticipantCount(Long auctionIndex) {
+        Long participantCount = redisTemplate.opsForSet().size(PARTICIPANTS_KEY_PREFIX + auctionIndex);
+        long count = participantCount != null ? participantCount : 0L;
+        cachedCounts.put(auctionIndex, new CachedCount(count, System.currentTimeMillis()));
+        return count;
+    }
+
+    // 변경 표시된 경매만 Redis 값으로 다시 확인 (만료된 캐시는 Redis 조회 없이 정리)
+    private void flushQuietly() {
+        long now = System.currentTimeMillis();
+        cachedCounts.values().removeIf(cached -> cached.isExpired(now, cacheTtlMs));
+
+        List<Long> auctions = new ArrayList<>();
+        for (Long auctionIndex : dirtyAuctions) {
+            // 확인 전에 표시를 지워, 확인 도중 들어온 변경은 다음 주기에 다시 반영되도록 함
+            dirtyAuctions.remove(auctionIndex);
+            auctions.add(auctionIndex);
+        }
+
+        for (Long auctionIndex : auctions) {
+            try {
+                flush(auctionIndex);
+            } catch (Exception e) {
+                log.error("참가자 수 전송 실패 - auctionIndex={}", auctionIndex, e);
+                dirtyAuctions.add(auctionIndex);
+            }
+        }
+    }
+
+    private void flush(Long auctionIndex) {
+        Long participantCount = loadParticipantCount(auctionIndex);
+        boolean changed = !participantCount.equals(broadcastCounts.get(auctionIndex));
+        if (changed) {
+            messagingTemplate.convertAndSend(COUNT_TOPIC_PREFIX + auctionIndex, participantCount);
+        }
+
+        if (participantCount == 0) {
+            // 모두 나간 경매는 캐시를 비워 종료된 경매가 쌓이지 않도록 함 (다음 조회 시 Redis 에서 다시 읽음)
+            cachedCounts.remove(auctionIndex);
+            broadcastCounts.remove(auctionIndex);
+        } else if (changed) {
+            broadcastCounts.put(auctionIndex, participantCount);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdown();
+        flushQuietly();
+    }
+
+    private record CachedCount(long count, long loadedAt) {
+
+        private boolean isExpired(long now, long ttlMs) {
+            return now - loadedAt >= ttlMs;
+        }
+    }
 }
@@ -0,0 +1,333 @@
+package bibid.service.specialAuction.impl;
+
+import bibid.dto.ChatDto;
+import bibid.repository.specialAuction.ChatRoomRepository;
+import bibid.service.specialAuction.RedisChatService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실시간 경매 채팅 DB 저장 (write-behind)
+ * 채팅은 먼저 방송하고, 저장할 메시지는 노드별 고정 크기 큐에 넣어 두었다가 주기마다 JDBC 배치 insert 로 저장한다.
+ * 큐가 가득 차면 정책에 따라 처리한다.
+ * - spill : Redis List 에 넘겨 두고 큐에 여유가 생기면 다시 가져와 저장 (노드 재기동에도 유지, 어느 노드든 이어서 저장)
+ * - drop  : 저장하지 않고 버린 건수만 기록 (채팅 스트림의 최근 메시지는 남아 있음)
+ * 큐에 남은 메시지는 종료 시 모두 저장하고, 저장하지 못한 메시지는 spill 목록으로 넘긴다.
+ * 노드가 비정상 종료되면 메모리 큐의 메시지는 사라지므로, 기동 시 채팅방 스트림에서 마지막으로 저장된 시각 이후
+ * (recovery-window 만큼 앞당겨서) 메시지를 다시 읽어 저장한다. 스트림 ID 유니크 인덱스로 이미 저장된 메시지는 건너뛴다.
+ * (스트림에 남아 있는 범위(max-length, retention)까지만 복구되며, 다른 노드가 비정상 종료된 경우 다음 기동 노드가 복구한다)
+ */
+@Component
+@Slf4j
+public class ChatWriteBehindWriter {
+
+    private static final String SPILL_KEY = "chat:persist:spill";
+    private static final int RECOVERY_PAGE_SIZE = 200;
+
+    // 채팅 번호는 시퀀스에서 받고, 메시지 타입은 엔티티와 같이 ordinal 로 저장 (같은 스트림 항목은 한 번만 저장)
+    private static final String INSERT_CHAT_SQL =
+            "INSERT INTO chat (chat_index, chat_room_index, chat_message, member_index, send_time, message_type, stream_entry_id) " +
+            "VALUES (nextval('chat_seq'), ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (chat_room_index, stream_entry_id) DO NOTHING";
+
+    private static final String FIND_LAST_SEND_TIME_SQL =
+            "SELECT max(send_time) FROM chat WHERE chat_room_index = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ChatRoomRepository chatRoomRepository;
+    private final RedisChatService redisChatService;
+    private final BlockingQueue<ChatDto> queue;
+    private final int batchSize;
+    private final boolean spillOnOverflow;
+    private final Duration recoveryWindow;
+    private final ScheduledExecutorService executor;
+
+    // 경매 번호 -> 채팅방 번호 (채팅방은 경매 등록 시 만들어지고 바뀌지 않음)
+    private final Cache<Long, Long> chatRoomIndexes = Caffeine.newBuilder().maximumSize(10_000).build();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    public ChatWriteBehindWriter(JdbcTemplate jdbcTemplate,
+                                 RedisTemplate<String, String> redisTemplate,
+                                 ObjectMapper objectMapper,
+                                 ChatRoomRepository chatRoomRepository,
+                                 RedisChatService redisChatService,
+                                 @Value("${chat.persist.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${chat.persist.batch-size:200}") int batchSize,
+                                 @Value("${chat.persist.flush-interval-ms:200}") long flushIntervalMs,
+                                 @Value("${chat.persist.overflow-policy:spill}") String overflowPolicy,
+                                 @Value("${chat.persist.recovery-window-seconds:60}") long recoveryWindowSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.chatRoomRepository = chatRoomRepository;
+        this.redisChatService = redisChatService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.spillOnOverflow = switch (overflowPolicy) {
+            case "spill" -> true;
+            case "drop" -> false;
+            default -> throw new IllegalStateException("지원하지 않는 채팅 저장 초과 정책입니다: " + overflowPolicy);
+        };
+        this.recoveryWindow = Duration.ofSeconds(recoveryWindowSeconds);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "chat-write-behind"));
+        this.executor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // 경매의 채팅방 번호 (노드별로 한 번만 조회)
+    public Long chatRoomIndexOf(Long auctionIndex) {
+        return chatRoomIndexes.get(auctionIndex, key -> chatRoomRepository.findChatRoomIndexByAuctionIndex(key)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid auction ID")));
+    }
+
+    /**
+     * 저장할 채팅 등록 (기다리지 않음)
+     * chatDto 에는 채팅방 번호, 발신자 번호, 메시지, 전송 시각, 메시지 타입이 채워져 있어야 한다.
+     */
+    public void enqueue(ChatDto chatDto) {
+        if (queue.offer(chatDto)) {
+            return;
+        }
+
+        if (spillOnOverflow && spill(List.of(chatDto))) {
+            return;
+        }
+
+        long dropped = droppedCount.incrementAndGet();
+        if (dropped % 1000 == 1) {
+            log.warn("채팅 저장 큐가 가득 차 메시지를 저장하지 못했습니다 - 누적 {}건", dropped);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+            refillFromSpill();
+        } catch (Exception e) {
+            log.error("채팅 배치 저장 실패", e);
+        }
+    }
+
+    private void flush() {
+        List<ChatDto> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                insert(batch);
+            } catch (RuntimeException e) {
+                log.error("채팅 {}건 배치 저장 실패 - 건별로 다시 저장", batch.size(), e);
+                if (!insertEach(batch)) {
+                    return;
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * 큐에 여유가 있으면 spill 목록에서 다시 가져와 저장 (저장 실패 시 다음 주기에 flush 가 다시 spill)
+     * 가져오는 사이 새 채팅으로 큐가 차서 넣지 못한 메시지는 spill 목록 앞쪽으로 되돌리고, 되돌리지도 못하면 버린 건수로 기록한다.
+     */
+    private void refillFromSpill() {
+        if (queue.remainingCapacity() < batchSize) {
+            return;
+        }
+
+        List<String> spilled = redisTemplate.opsForList().leftPop(SPILL_KEY, batchSize);
+        if (spilled == null || spilled.isEmpty()) {
+            return;
+        }
+
+        List<String> rejected = new ArrayList<>();
+        for (String json : spilled) {
+            ChatDto chat;
+            try {
+                chat = objectMapper.readValue(json, ChatDto.class);
+            } catch (Exception e) {
+                log.error("spill 채팅 변환 오류 - {}", json, e);
+                continue;
+            }
+            if (!queue.offer(chat)) {
+                rejected.add(json);
+            }
+        }
+
+        if (!rejected.isEmpty()) {
+            returnToSpill(rejected);
+        }
+        log.info("spill 목록에서 채팅 {}건 복구", spilled.size() - rejected.size());
+        flush();
+    }
+
+    // spill 목록 앞쪽으로 되돌림 (LPUSH 는 하나씩 앞에 넣으므로 역순으로 넣어 원래 순서를 유지)
+    private void returnToSpill(List<String> values) {
+        List<String> reversed = new ArrayList<>(values);
+        Collections.reverse(reversed);
+        try {
+            redisTemplate.opsForList().leftPushAll(SPILL_KEY, reversed);
+        } catch (Exception e) {
+            long dropped = droppedCount.addAndGet(values.size());
+            log.error("채팅 {}건 spill 되돌리기 실패 - 누적 {}건 저장하지 못함", values.size(), dropped, e);
+        }
+    }
+
+    // 기동 후 채팅 스트림에서 저장되지 않은 메시지 복구 (기동을 늦추지 않도록 저장 스레드에서 실행)
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        executor.execute(() -> {
+            try {
+                recoverFromStreams();
+            } catch (Exception e) {
+                log.error("채팅 스트림 복구 실패", e);
+            }
+        });
+    }
+
+    private void recoverFromStreams() {
+        String prefix = RedisChatService.CHAT_STREAM_KEY_PREFIX;
+        ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(100).build();
+        int recovered = 0;
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                try {
+                    recovered += recover(Long.parseLong(key.substring(prefix.length())));
+                } catch (Exception e) {
+                    log.error("채팅 스트림 복구 실패 - key={}", key, e);
+                }
+            }
+        }
+        log.info("채팅 스트림 복구 완료 - {}건 다시 저장 요청", recovered);
+    }
+
+    /**
+     * 채팅방의 마지막 저장 시각에서 recovery-window 만큼 앞선 지점부터 스트림을 다시 읽어 저장
+     * (여러 노드의 큐가 섞여 저장되므로 마지막 저장 시각 이전에도 저장되지 않은 메시지가 있을 수 있다)
+     */
+    private int recover(Long auctionIndex) {
+        Long chatRoomIndex = chatRoomIndexOf(auctionIndex);
+        Timestamp lastSendTime = jdbcTemplate.queryForObject(FIND_LAST_SEND_TIME_SQL, Timestamp.class, chatRoomIndex);
+        String sinceId = "0-0";
+        if (lastSendTime != null) {
+            LocalDateTime from = lastSendTime.toLocalDateTime().minus(recoveryWindow);
+            sinceId = Math.max(0L, from.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()) + "-0";
+        }
+
+        // 변환에 실패한 항목만 있는 페이지도 있으므로 스트림이 끝날 때까지 읽은 마지막 스트림 ID 로 이어 읽음
+        int recovered = 0;
+        RedisChatService.ChatStreamPage page;
+        while ((page = redisChatService.readPageSince(auctionIndex, sinceId, RECOVERY_PAGE_SIZE)).lastStreamId() != null) {
+            for (ChatDto chat : page.messages()) {
+                if (chat.getChatRoomIndex() == null) {
+                    chat.setChatRoomIndex(chatRoomIndex);
+                }
+                enqueueBlocking(chat);
+            }
+            recovered += page.messages().size();
+            sinceId = page.lastStreamId();
+        }
+        return recovered;
+    }
+
+    // 복구는 저장 스레드에서 실행되므로 큐가 차면 직접 비우고 다시 넣는다
+    private void enqueueBlocking(ChatDto chat) {
+        while (!queue.offer(chat)) {
+            flush();
+        }
+    }
+
+    private void insert(List<ChatDto> batch) {
+        jdbcTemplate.batchUpdate(INSERT_CHAT_SQL, batch, batch.size(), (ps, chat) -> {
+            ps.setLong(1, chat.getChatRoomIndex());
+            ps.setString(2, chat.getChatMessage());
+            if (chat.getSenderIndex() != null) {
+                ps.setLong(3, chat.getSenderIndex());
+            } else {
+                ps.setNull(3, Types.BIGINT);
+            }
+            ps.setTimestamp(4, Timestamp.valueOf(chat.getSendTime()));
+            if (chat.getMessageType() != null) {
+                ps.setShort(5, (short) chat.getMessageType().ordinal());
+            } else {
+                ps.setNull(5, Types.SMALLINT);
+            }
+            ps.setString(6, chat.getStreamId());
+        });
+        log.debug("채팅 {}건 저장 완료", batch.size());
+    }
+
+    /**
+     * 배치 저장 실패 시 건별 저장
+     * 저장할 수 없는 메시지(삭제된 채팅방 등 제약 위반)는 제외하고, DB 장애로 실패하면 남은 메시지를 spill 목록으로 넘긴다.
+     * 반환값 = 모두 처리했으면 true, DB 장애로 중단했으면 false
+     */
+    private boolean insertEach(List<ChatDto> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                insert(List.of(batch.get(i)));
+            } catch (DataIntegrityViolationException e) {
+                droppedCount.incrementAndGet();
+                log.error("저장할 수 없는 채팅 제외 - chatRoomIndex={}, senderIndex={}",
+                        batch.get(i).getChatRoomIndex(), batch.get(i).getSenderIndex(), e);
+            } catch (RuntimeException e) {
+                // DB 장애 시 메시지를 잃지 않도록 spill 목록으로 넘기고 다음 주기에 다시 시도
+                List<ChatDto> remaining = batch.subList(i, batch.size());
+                log.error("채팅 {}건 저장 실패 - spill 목록으로 이동", remaining.size(), e);
+                if (!spill(remaining)) {
+                    droppedCount.addAndGet(remaining.size());
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean spill(List<ChatDto> chats) {
+        try {
+            List<String> values = new ArrayList<>(chats.size());
+            for (ChatDto chat : chats) {
+                values.add(objectMapper.writeValueAsString(chat));
+            }
+            redisTemplate.opsForList().rightPushAll(SPILL_KEY, values);
+            return true;
+        } catch (Exception e) {
+            log.error("채팅 {}건 spill 실패", chats.size(), e);
+            return false;
+        }
+    }
+
+    // 종료 시 큐에 남은 채팅 저장 (저장하지 못한 채팅은 spill 목록으로)
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        flush();
+    }
+}
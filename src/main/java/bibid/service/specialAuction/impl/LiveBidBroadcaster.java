@@ -0,0 +1,208 @@
+package bibid.service.specialAuction.impl;
+
+import bibid.dto.AuctionInfoDto;
+import bibid.dto.BidBroadcastFrameDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실시간 경매 입찰 브로드캐스트 (경매 topic 별 conflation)
+ * 입찰마다 바로 전송하지 않고 경매별 최신 상태만 덮어써 두었다가 tick 마다 한 번 전송한다.
+ * 마지막 순간에 입찰이 몰려도 구독자가 받는 프레임 수는 입찰 수가 아니라 tick 주기에 비례한다.
+ * 경매별 첫 프레임과 일정 간격의 프레임은 FULL, 나머지는 직전 전송 상태에서 바뀐 필드만 담은 DELTA 로 보낸다.
+ * 브로커를 여러 노드가 함께 쓰는 모드(relay, redis)에서는 같은 topic 에 여러 노드의 프레임이 섞이므로
+ * 노드별 직전 상태 기준의 DELTA 를 보내지 않고 항상 FULL 로 보내며, 순번은 Redis 에서 경매별로 발급해 노드 간에 겹치지 않게 한다.
+ * 순번 발급은 마지막으로 전송한 입찰가와 비교하는 스크립트로 처리해, 그보다 높은 입찰만 전송하고 같거나 낮은 입찰은 버린다.
+ * (노드별 conflation 이후에 순번을 받으므로, 비교 없이 발급하면 낮은 가격이 더 큰 순번으로 나중에 도착할 수 있다)
+ */
+@Component
+@Slf4j
+public class LiveBidBroadcaster {
+
+    private static final String TOPIC_PREFIX = "/topic/auction/";
+    private static final String BROADCAST_KEY_PREFIX = "auction:live:broadcast:"; // 경매별 마지막 전송 입찰가와 순번 (Hash: amount, seq)
+    private static final Duration BROADCAST_STATE_TTL = Duration.ofDays(1);
+
+    /**
+     * 마지막으로 전송한 입찰가보다 높을 때만 순번 발급
+     * KEYS[1] = 전송 상태 Hash, ARGV[1] = 입찰가, ARGV[2] = TTL(ms)
+     * 반환값 = 발급한 순번 (같거나 낮은 입찰가면 -1)
+     */
+    private static final RedisScript<Long> NEXT_SEQUENCE_SCRIPT = new DefaultRedisScript<>("""
+            local last = redis.call('HGET', KEYS[1], 'amount')
+            if last and tonumber(ARGV[1]) <= tonumber(last) then
+                return -1
+            end
+            redis.call('HSET', KEYS[1], 'amount', ARGV[1])
+            local sequence = redis.call('HINCRBY', KEYS[1], 'seq', 1)
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return sequence
+            """, Long.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final boolean sharedBroker;
+    private final int fullFrameEvery;
+    private final ScheduledExecutorService ticker;
+
+    // 아직 전송하지 않은 경매별 최고 입찰 (tick 사이의 입찰은 금액이 가장 높은 것만 남는다)
+    private final Map<Long, PendingBid> pending = new ConcurrentHashMap<>();
+    // 경매별 마지막 전송 상태 (tick 스레드와 flush 호출에서 경매 단위로 동기화해 사용)
+    private final Map<Long, SentState> sent = new ConcurrentHashMap<>();
+
+    public LiveBidBroadcaster(SimpMessagingTemplate messagingTemplate,
+                              RedisTemplate<String, String> redisTemplate,
+                              @Value("${websocket.broker.mode:simple}") String brokerMode,
+                              @Value("${auction.live-bid.broadcast.tick-ms:50}") long tickMs,
+                              @Value("${auction.live-bid.broadcast.full-frame-every:20}") int fullFrameEvery) {
+        this.messagingTemplate = messagingTemplate;
+        this.redisTemplate = redisTemplate;
+        this.sharedBroker = !"simple".equals(brokerMode);
+        this.fullFrameEvery = Math.max(1, fullFrameEvery);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "live-bid-broadcast"));
+        this.ticker.scheduleAtFixedRate(this::tickQuietly, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 수락된 입찰을 다음 tick 에 전송하도록 등록
+     * 입찰 처리 스레드가 여럿이라 등록 순서가 수락 순서와 다를 수 있으므로, 대기 중인 입찰과 비교해 금액이 높은 쪽을 남긴다.
+     */
+    public void publish(Long auctionIndex, AuctionInfoDto bid) {
+        pending.merge(auctionIndex, new PendingBid(bid, 1),
+                (current, latest) -> new PendingBid(higher(current.bid(), latest.bid()), current.count() + latest.count()));
+    }
+
+    private static AuctionInfoDto higher(AuctionInfoDto current, AuctionInfoDto latest) {
+        if (current.getBidAmount() == null) {
+            return latest;
+        }
+        return latest.getBidAmount() != null && latest.getBidAmount() > current.getBidAmount() ? latest : current;
+    }
+
+    /**
+     * 경매 종료 메시지 전에 호출 - 대기 중인 입찰을 바로 전송하고 경매 상태를 정리한다.
+     * (종료 상세 정보보다 마지막 입찰 프레임이 늦게 도착하지 않도록)
+     */
+    public void flushAndForget(Long auctionIndex) {
+        send(auctionIndex);
+        sent.remove(auctionIndex);
+    }
+
+    private void tickQuietly() {
+        for (Long auctionIndex : pending.keySet()) {
+            try {
+                send(auctionIndex);
+            } catch (Exception e) {
+                log.error("입찰 브로드캐스트 실패 - auctionIndex={}", auctionIndex, e);
+            }
+        }
+    }
+
+    private void send(Long auctionIndex) {
+        SentState state = sent.computeIfAbsent(auctionIndex, key -> new SentState());
+        synchronized (state) {
+            PendingBid latest = pending.remove(auctionIndex);
+            if (latest == null) {
+                return;
+            }
+
+            // 이미 더 높은 입찰을 보낸 뒤 늦게 등록된 입찰은 보내지 않음
+            Long bidAmount = latest.bid().getBidAmount();
+            if (bidAmount == null || (state.bidAmount != null && bidAmount <= state.bidAmount)) {
+                return;
+            }
+
+            BidBroadcastFrameDto frame;
+            if (sharedBroker) {
+                long sequence = nextSharedSequence(auctionIndex, bidAmount);
+                if (sequence < 0) {
+                    // 다른 노드가 같거나 더 높은 입찰을 이미 전송함
+                    state.bidAmount = bidAmount;
+                    return;
+                }
+                frame = fullFrame(auctionIndex, latest, sequence);
+                state.bidAmount = bidAmount;
+            } else {
+                frame = state.nextFrame(auctionIndex, latest, fullFrameEvery);
+            }
+            messagingTemplate.convertAndSend(TOPIC_PREFIX + auctionIndex, frame);
+        }
+    }
+
+    // 여러 노드가 함께 쓰는 경매별 순번 (마지막 전송 입찰가보다 높을 때만 발급, 경매가 끝난 뒤에는 TTL 로 정리)
+    private long nextSharedSequence(Long auctionIndex, long bidAmount) {
+        Long sequence = redisTemplate.execute(NEXT_SEQUENCE_SCRIPT, List.of(BROADCAST_KEY_PREFIX + auctionIndex),
+                String.valueOf(bidAmount), String.valueOf(BROADCAST_STATE_TTL.toMillis()));
+        if (sequence == null) {
+            throw new IllegalStateException("입찰 브로드캐스트 순번 발급 실패 - auctionIndex=" + auctionIndex);
+        }
+        return sequence;
+    }
+
+    private static BidBroadcastFrameDto fullFrame(Long auctionIndex, PendingBid latest, long sequence) {
+        AuctionInfoDto bid = latest.bid();
+        return BidBroadcastFrameDto.builder()
+                .frameType("FULL")
+                .sequence(sequence)
+                .bidAmount(bid.getBidAmount())
+                .bidderIndex(bid.getBidderIndex())
+                .bidderNickname(bid.getBidderNickname())
+                .bidTime(bid.getBidTime())
+                .conflatedBids(latest.count())
+                .auctionIndex(auctionIndex)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdown();
+        tickQuietly();
+    }
+
+    private record PendingBid(AuctionInfoDto bid, int count) {
+    }
+
+    private static class SentState {
+        private long sequence;
+        private Long bidderIndex;
+        private String bidderNickname;
+        private Long bidAmount;
+
+        private BidBroadcastFrameDto nextFrame(Long auctionIndex, PendingBid latest, int fullFrameEvery) {
+            AuctionInfoDto bid = latest.bid();
+            boolean full = sequence % fullFrameEvery == 0;
+            sequence++;
+
+            BidBroadcastFrameDto frame = BidBroadcastFrameDto.builder()
+                    .frameType(full ? "FULL" : "DELTA")
+                    .sequence(sequence)
+                    .bidAmount(full || !Objects.equals(bidAmount, bid.getBidAmount()) ? bid.getBidAmount() : null)
+                    .bidderIndex(full || !Objects.equals(bidderIndex, bid.getBidderIndex()) ? bid.getBidderIndex() : null)
+                    .bidderNickname(full || !Objects.equals(bidderNickname, bid.getBidderNickname()) ? bid.getBidderNickname() : null)
+                    .bidTime(bid.getBidTime())
+                    .conflatedBids(latest.count())
+                    .auctionIndex(full ? auctionIndex : null)
+                    .build();
+
+            bidAmount = bid.getBidAmount();
+            bidderIndex = bid.getBidderIndex();
+            bidderNickname = bid.getBidderNickname();
+            return frame;
+        }
+    }
+}
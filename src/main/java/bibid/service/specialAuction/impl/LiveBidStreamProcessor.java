@@ -0,0 +1,491 @@
+package bibid.service.specialAuction.impl;
+
+import bibid.repository.member.MemberRepository;
+import bibid.service.auction.AuctionChangedEvent;
+import bibid.service.auction.AuctionSchedulerLeader;
+import bibid.service.notification.NotificationService;
+import bibid.service.specialAuction.RedisBidService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 실시간 경매 입찰 스트림 소비자
+ * 수락된 입찰은 RedisBidService 스크립트가 경매별 Redis Stream(auction:bidstream:{경매 번호})에 추가하고,
+ * 입찰 처리 스레드는 그 이후의 느린 작업을 기다리지 않는다.
+ * 일반 경매 입찰도 GeneralAuctionBidSequencer 가 같은 스트림에 저널로 추가하므로 DB 저장/알림/집계는 여기서 함께 처리된다.
+ * 소비자 그룹별로 전용 스레드가 스트림을 읽어 서로 독립적으로 처리한다.
+ * - persist   : AuctionInfo 배치 저장 (스트림 항목 ID 유니크 인덱스로 같은 입찰이 다시 전달되어도 중복 저장되지 않음),
+ *               저장 후 경매 상세 캐시 무효화 이벤트 발행
+ * - notify    : 밀려난 직전 최고 입찰자에게 상회 입찰 알림
+ * - analytics : 경매별 입찰 수/참여자 수(HyperLogLog)/마지막 입찰 집계
+ * 처리에 성공한 항목만 ack 하고, 노드가 죽어 오래 ack 되지 않은 항목은 다른 노드가 가져가 다시 처리한다.
+ * 다시 처리해도 성공할 수 없는 항목(형식 오류, 저장 불가 행)은 데드레터 스트림(auction:bidstream:dead)에 옮기고 ack 해
+ * 같은 배치의 다른 입찰과 경매 종료 전 저장(drainBeforeClose)을 막지 않는다.
+ * 기동 시에는 최고가 Hash 가 없는 진행 중 경매를 스트림으로 복구한다.
+ */
+@Component
+@Slf4j
+public class LiveBidStreamProcessor {
+
+    public static final String PERSIST_GROUP = "persist";
+    public static final String NOTIFY_GROUP = "notify";
+    public static final String ANALYTICS_GROUP = "analytics";
+
+    private static final String BID_STATS_KEY_PREFIX = "auction:bidstats:";   // 입찰 집계 (Hash)
+    private static final String BIDDERS_KEY_PREFIX = "auction:bidders:";      // 입찰 참여자 (HyperLogLog)
+    public static final String DEAD_LETTER_STREAM_KEY = "auction:bidstream:dead"; // 처리할 수 없는 입찰 이벤트 (Stream)
+
+    // 같은 스트림 항목은 여러 소비자가 동시에 저장해도 (경매 번호, 스트림 항목 ID) 유니크 인덱스로 한 건만 남는다
+    private static final String INSERT_AUCTION_INFO_SQL =
+            "INSERT INTO auction_info (auction_info_index, auction_index, bidder_index, bid_time, bid_amount, bidder_nickname, " +
+            "stream_entry_id) VALUES (nextval('auction_info_seq'), ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (auction_index, stream_entry_id) DO NOTHING";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final StreamOperations<String, Object, Object> streamOperations;
+    private final RedisBidService redisBidService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate persistTransaction;
+    private final MemberRepository memberRepository;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String consumerName;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final Duration claimIdle;
+    private final Duration retireGrace;
+    private final Duration retention;
+
+    private final Map<String, BidEventHandler> handlers = new LinkedHashMap<>();
+    private final Set<String> createdGroups = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService executor;
+
+    public LiveBidStreamProcessor(RedisTemplate<String, String> redisTemplate,
+                                  RedisBidService redisBidService,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  MemberRepository memberRepository,
+                                  NotificationService notificationService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  AuctionSchedulerLeader auctionSchedulerLeader,
+                                  @Value("${auction.live-bid.stream.batch-size:100}") int batchSize,
+                                  @Value("${auction.live-bid.stream.poll-interval-ms:100}") long pollIntervalMs,
+                                  @Value("${auction.live-bid.stream.claim-idle-seconds:30}") long claimIdleSeconds,
+                                  @Value("${auction.live-bid.stream.retire-grace-minutes:10}") long retireGraceMinutes,
+                                  @Value("${auction.live-bid.stream.retention-hours:24}") long retentionHours) {
+        this.redisTemplate = redisTemplate;
+        this.streamOperations = redisTemplate.opsForStream();
+        this.redisBidService = redisBidService;
+        this.jdbcTemplate = jdbcTemplate;
+        // 경매 종료 트랜잭션 안에서 호출되어도 저장 후 ack 한 입찰이 함께 롤백되지 않도록 별도 트랜잭션으로 저장
+        this.persistTransaction = new TransactionTemplate(transactionManager);
+        this.persistTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.memberRepository = memberRepository;
+        this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        this.consumerName = auctionSchedulerLeader.getNodeId();
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.claimIdle = Duration.ofSeconds(claimIdleSeconds);
+        this.retireGrace = Duration.ofMinutes(retireGraceMinutes);
+        this.retention = Duration.ofHours(retentionHours);
+
+        handlers.put(PERSIST_GROUP, this::persist);
+        handlers.put(NOTIFY_GROUP, this::notifyOutbid);
+        handlers.put(ANALYTICS_GROUP, this::aggregate);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(handlers.size() + 1,
+                runnable -> new Thread(runnable, "live-bid-stream-" + threadCount.getAndIncrement()));
+    }
+
+    // 최고가 복구 후 그룹별 소비 시작
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        rebuildLostTopBids();
+
+        handlers.keySet().forEach(group -> executor.scheduleWithFixedDelay(
+                () -> pollQuietly(group), pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS));
+        executor.scheduleWithFixedDelay(this::maintainQuietly, claimIdle.toMillis(), claimIdle.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("입찰 스트림 소비 시작 - consumer={}, groups={}", consumerName, handlers.keySet());
+    }
+
+    /**
+     * 경매 종료 처리(낙찰자 선정) 전에 호출
+     * 아직 저장되지 않은 입찰을 이 스레드에서 모두 저장한다.
+     * 다른 소비자가 읽고 아직 ack 하지 않은 항목은 처리 중일 수 있으므로 바로 가져오지 않고,
+     * 오래 ack 되지 않은(claim-idle 이상) 항목만 가져와 저장하고 나머지는 ack 될 때까지 기다린다.
+     * 대기 시간 안에 모두 저장하지 못하면 예외를 던져 종료 작업이 다시 시도되도록 한다.
+     */
+    public int drainBeforeClose(Long auctionIndex) {
+        String streamKey = RedisBidService.bidStreamKey(auctionIndex);
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(streamKey))) {
+            return 0;
+        }
+        ensureGroup(PERSIST_GROUP, streamKey);
+
+        int persisted = 0;
+        long deadline = System.currentTimeMillis() + claimIdle.multipliedBy(2).toMillis();
+        while (true) {
+            List<MapRecord<String, Object, Object>> records;
+            while (!(records = read(PERSIST_GROUP, List.of(streamKey))).isEmpty()) {
+                persisted += handleAndAck(PERSIST_GROUP, streamKey, records);
+            }
+
+            PendingMessages pending = streamOperations.pending(streamKey, PERSIST_GROUP, Range.unbounded(), batchSize);
+            if (pending.isEmpty()) {
+                log.info("경매 종료 전 입찰 저장 완료 - auctionIndex={}, persisted={}", auctionIndex, persisted);
+                return persisted;
+            }
+
+            RecordId[] staleIds = staleIds(pending);
+            if (staleIds.length > 0) {
+                persisted += handleAndAck(PERSIST_GROUP, streamKey,
+                        streamOperations.claim(streamKey, PERSIST_GROUP, consumerName, claimIdle, staleIds));
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IllegalStateException("경매 종료 전 입찰 저장 미완료 - auctionIndex=" + auctionIndex
+                        + ", pending=" + pending.size());
+            }
+            try {
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("경매 종료 전 입찰 저장 대기 중단 - auctionIndex=" + auctionIndex, e);
+            }
+        }
+    }
+
+    /**
+     * 종료된 경매의 스트림 정리 예약
+     * 알림/집계 그룹이 남은 항목을 처리할 수 있도록 유예 시간 동안은 계속 읽고, 이후 보관 기간 TTL 을 건다.
+     */
+    public void retire(Long auctionIndex) {
+        redisTemplate.opsForZSet().add(RedisBidService.ACTIVE_BID_STREAMS_KEY, String.valueOf(auctionIndex),
+                System.currentTimeMillis() + retireGrace.toMillis());
+    }
+
+    private void pollQuietly(String group) {
+        try {
+            List<String> streamKeys = activeStreamKeys();
+            if (streamKeys.isEmpty()) {
+                return;
+            }
+            streamKeys.forEach(streamKey -> ensureGroup(group, streamKey));
+
+            groupByStream(read(group, streamKeys)).forEach((streamKey, records) -> handleAndAck(group, streamKey, records));
+        } catch (Exception e) {
+            log.error("입찰 스트림 소비 중 오류 발생 - group={}", group, e);
+        }
+    }
+
+    // 오래 ack 되지 않은 항목(죽은 노드가 읽은 항목, 처리 실패 항목) 재처리 + 유예 시간이 지난 스트림 정리
+    private void maintainQuietly() {
+        try {
+            for (String streamKey : activeStreamKeys()) {
+                for (String group : handlers.keySet()) {
+                    ensureGroup(group, streamKey);
+                    RecordId[] staleIds = staleIds(streamOperations.pending(streamKey, group, Range.unbounded(), batchSize));
+                    if (staleIds.length > 0) {
+                        handleAndAck(group, streamKey,
+                                streamOperations.claim(streamKey, group, consumerName, claimIdle, staleIds));
+                    }
+                }
+            }
+
+            Set<String> retired = redisTemplate.opsForZSet()
+                    .rangeByScore(RedisBidService.ACTIVE_BID_STREAMS_KEY, 1, System.currentTimeMillis());
+            if (retired != null) {
+                for (String auctionIndex : retired) {
+                    redisTemplate.expire(RedisBidService.bidStreamKey(Long.valueOf(auctionIndex)), retention);
+                    redisTemplate.opsForZSet().remove(RedisBidService.ACTIVE_BID_STREAMS_KEY, auctionIndex);
+                }
+            }
+        } catch (Exception e) {
+            log.error("입찰 스트림 정리 중 오류 발생", e);
+        }
+    }
+
+    // 처리에 성공한 경우에만 ack (실패 항목은 대기 목록에 남아 재처리된다)
+    private int handleAndAck(String group, String streamKey, List<MapRecord<String, Object, Object>> records) {
+        if (records == null || records.isEmpty()) {
+            return 0;
+        }
+
+        Long auctionIndex = Long.valueOf(streamKey.substring(streamKey.lastIndexOf(':') + 1));
+        List<BidEvent> events = new ArrayList<>(records.size());
+        List<RecordId> malformedIds = new ArrayList<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            try {
+                events.add(BidEvent.from(record));
+            } catch (RuntimeException e) {
+                // 형식이 깨진 항목은 다시 읽어도 실패하므로 데드레터로 옮기고 바로 ack
+                deadLetter(group, auctionIndex, record.getId().getValue(), record.getValue(), e);
+                malformedIds.add(record.getId());
+            }
+        }
+        if (!malformedIds.isEmpty()) {
+            streamOperations.acknowledge(streamKey, group, malformedIds.toArray(RecordId[]::new));
+        }
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            handlers.get(group).handle(auctionIndex, events);
+        } catch (RuntimeException e) {
+            log.error("입찰 이벤트 처리 실패 - group={}, auctionIndex={}, count={}", group, auctionIndex, events.size(), e);
+            return 0;
+        }
+
+        streamOperations.acknowledge(streamKey, group,
+                events.stream().map(event -> RecordId.of(event.entryId())).toArray(RecordId[]::new));
+        return events.size();
+    }
+
+    /**
+     * 배치 저장에 실패하면 건별로 다시 저장하고, 저장할 수 없는 행만 데드레터로 옮긴다.
+     * DB 연결 실패 등 일시 장애는 모든 행이 실패하므로 예외를 던져 배치 전체를 대기 목록에 남긴다.
+     */
+    private void persist(Long auctionIndex, List<BidEvent> events) {
+        // 회원 번호 없이 들어온 입찰(REST 테스트 경로)은 저장 대상이 아니다
+        List<BidEvent> bids = events.stream().filter(event -> event.bidderIndex() != null).toList();
+        if (bids.isEmpty()) {
+            return;
+        }
+
+        try {
+            insertBids(auctionIndex, bids);
+        } catch (DataAccessException e) {
+            if (!isRowFailure(e)) {
+                throw new IllegalStateException("입찰 배치 저장 실패 - auctionIndex=" + auctionIndex, e);
+            }
+            log.warn("입찰 배치 저장 실패, 건별로 다시 저장 - auctionIndex={}, count={}", auctionIndex, bids.size(), e);
+            for (BidEvent bid : bids) {
+                try {
+                    insertBids(auctionIndex, List.of(bid));
+                } catch (DataAccessException rowError) {
+                    if (!isRowFailure(rowError)) {
+                        throw new IllegalStateException("입찰 저장 실패 - auctionIndex=" + auctionIndex, rowError);
+                    }
+                    deadLetter(PERSIST_GROUP, auctionIndex, bid.entryId(), bid.toFields(), rowError);
+                }
+            }
+        }
+        log.debug("입찰 {}건 저장 완료 - auctionIndex={}", bids.size(), auctionIndex);
+        eventPublisher.publishEvent(new AuctionChangedEvent(auctionIndex, AuctionChangedEvent.Type.BID_PLACED));
+    }
+
+    private void insertBids(Long auctionIndex, List<BidEvent> bids) {
+        persistTransaction.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_AUCTION_INFO_SQL, bids, bids.size(), (ps, bid) -> {
+                    Timestamp bidTime = Timestamp.valueOf(bid.bidTime());
+                    ps.setLong(1, auctionIndex);
+                    ps.setLong(2, bid.bidderIndex());
+                    ps.setTimestamp(3, bidTime);
+                    ps.setLong(4, bid.amount());
+                    ps.setString(5, bid.bidder());
+                    ps.setString(6, bid.entryId());
+                }));
+    }
+
+    // 행 자체의 문제(제약 조건 위반 등)로 다시 시도해도 실패하는 오류인지 (연결/자원 장애는 제외)
+    private boolean isRowFailure(DataAccessException e) {
+        return e instanceof NonTransientDataAccessException && !(e instanceof NonTransientDataAccessResourceException);
+    }
+
+    // 처리할 수 없는 항목을 원래 필드와 함께 데드레터 스트림에 기록 (수동 확인 후 재처리)
+    private void deadLetter(String group, Long auctionIndex, String entryId, Map<Object, Object> fields, Exception cause) {
+        Map<String, String> deadLetter = new LinkedHashMap<>();
+        fields.forEach((field, value) -> deadLetter.put(String.valueOf(field), String.valueOf(value)));
+        deadLetter.put("group", group);
+        deadLetter.put("auctionIndex", String.valueOf(auctionIndex));
+        deadLetter.put("entryId", entryId);
+        deadLetter.put("error", String.valueOf(cause.getMessage()));
+        streamOperations.add(DEAD_LETTER_STREAM_KEY, deadLetter);
+        log.error("입찰 이벤트 데드레터 이동 - group={}, auctionIndex={}, entryId={}", group, auctionIndex, entryId, cause);
+    }
+
+    // 알림 실패는 입찰 이벤트를 막지 않도록 건별로 기록만 한다
+    private void notifyOutbid(Long auctionIndex, List<BidEvent> events) {
+        for (BidEvent event : events) {
+            if (event.previousBidderIndex() == null || event.previousBidderIndex().equals(event.bidderIndex())) {
+                continue;
+            }
+            try {
+                memberRepository.findById(event.previousBidderIndex()).ifPresent(previousBidder ->
+                        notificationService.notifyHigherBid(previousBidder, auctionIndex, event.amount(), event.previousAmount()));
+            } catch (RuntimeException e) {
+                log.warn("상회 입찰 알림 실패 - auctionIndex={}, memberIndex={}", auctionIndex, event.previousBidderIndex(), e);
+            }
+        }
+    }
+
+    private void aggregate(Long auctionIndex, List<BidEvent> events) {
+        BidEvent last = events.get(events.size() - 1);
+        String statsKey = BID_STATS_KEY_PREFIX + auctionIndex;
+        String biddersKey = BIDDERS_KEY_PREFIX + auctionIndex;
+        String[] bidders = events.stream().map(BidEvent::bidder).toArray(String[]::new);
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                operations.opsForHash().increment(statsKey, "bidCount", events.size());
+                operations.opsForHash().put(statsKey, "lastBidAmount", String.valueOf(last.amount()));
+                operations.opsForHash().put(statsKey, "lastBidTime", last.bidTime().toString());
+                operations.opsForHyperLogLog().add(biddersKey, bidders);
+                operations.expire(statsKey, retention);
+                operations.expire(biddersKey, retention);
+                return null;
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<MapRecord<String, Object, Object>> read(String group, List<String> streamKeys) {
+        StreamOffset<String>[] offsets = streamKeys.stream()
+                .map(streamKey -> StreamOffset.create(streamKey, ReadOffset.lastConsumed()))
+                .toArray(StreamOffset[]::new);
+        List<MapRecord<String, Object, Object>> records = streamOperations.read(
+                Consumer.from(group, consumerName), StreamReadOptions.empty().count(batchSize), offsets);
+        return records != null ? records : List.of();
+    }
+
+    private List<String> activeStreamKeys() {
+        Set<String> auctionIndexes = redisTemplate.opsForZSet().range(RedisBidService.ACTIVE_BID_STREAMS_KEY, 0, -1);
+        if (auctionIndexes == null) {
+            return List.of();
+        }
+        return auctionIndexes.stream().map(index -> RedisBidService.bidStreamKey(Long.valueOf(index))).toList();
+    }
+
+    // 그룹은 스트림 처음부터 읽도록 만든다 (이미 있으면 BUSYGROUP 오류를 무시)
+    private void ensureGroup(String group, String streamKey) {
+        if (createdGroups.contains(group + "|" + streamKey)) {
+            return;
+        }
+        try {
+            streamOperations.createGroup(streamKey, ReadOffset.from("0"), group);
+        } catch (RedisSystemException e) {
+            String message = e.getMostSpecificCause().getMessage();
+            if (message == null || !message.contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+        createdGroups.add(group + "|" + streamKey);
+    }
+
+    private void rebuildLostTopBids() {
+        for (String streamKey : activeStreamKeys()) {
+            Long auctionIndex = Long.valueOf(streamKey.substring(streamKey.lastIndexOf(':') + 1));
+            try {
+                if (!redisBidService.hasTopBid(auctionIndex)) {
+                    redisBidService.rebuildFromStream(auctionIndex);
+                }
+            } catch (RuntimeException e) {
+                log.error("입찰 스트림 최고가 복구 실패 - auctionIndex={}", auctionIndex, e);
+            }
+        }
+    }
+
+    private Map<String, List<MapRecord<String, Object, Object>>> groupByStream(List<MapRecord<String, Object, Object>> records) {
+        Map<String, List<MapRecord<String, Object, Object>>> byStream = new LinkedHashMap<>();
+        records.forEach(record -> byStream.computeIfAbsent(record.getStream(), key -> new ArrayList<>()).add(record));
+        return byStream;
+    }
+
+    // 마지막 전달 후 claim-idle 이상 ack 되지 않은 항목 (소비자가 죽었거나 처리에 실패한 항목)
+    private RecordId[] staleIds(PendingMessages pending) {
+        return pending.stream()
+                .filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(claimIdle) >= 0)
+                .map(PendingMessage::getId)
+                .toArray(RecordId[]::new);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface BidEventHandler {
+        void handle(Long auctionIndex, List<BidEvent> events);
+    }
+
+    // 스트림 항목 1건 (RedisBidService 입찰 스크립트가 기록한 필드)
+    private record BidEvent(String entryId, String bidder, Long bidderIndex, long amount, LocalDateTime bidTime,
+                            Long previousBidderIndex, Long previousAmount) {
+
+        private static BidEvent from(MapRecord<String, Object, Object> record) {
+            Map<Object, Object> fields = record.getValue();
+            return new BidEvent(
+                    record.getId().getValue(),
+                    String.valueOf(fields.get("bidder")),
+                    toLong(fields.get("bidderIndex")),
+                    Long.parseLong(String.valueOf(fields.get("amount"))),
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(String.valueOf(fields.get("bidTime")))),
+                            ZoneId.systemDefault()),
+                    toLong(fields.get("previousBidderIndex")),
+                    toLong(fields.get("previousAmount")));
+        }
+
+        private Map<Object, Object> toFields() {
+            Map<Object, Object> fields = new LinkedHashMap<>();
+            fields.put("bidder", bidder);
+            fields.put("bidderIndex", bidderIndex != null ? bidderIndex : "");
+            fields.put("amount", amount);
+            fields.put("bidTime", bidTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            fields.put("previousBidderIndex", previousBidderIndex != null ? previousBidderIndex : "");
+            fields.put("previousAmount", previousAmount != null ? previousAmount : "");
+            return fields;
+        }
+
+        private static Long toLong(Object value) {
+            return value == null || value.toString().isEmpty() ? null : Long.valueOf(value.toString());
+        }
+    }
+}
@@ -1,23 +1,23 @@
 package bibid.service.specialAuction.impl;
 
-import bibid.dto.AccountUseHistoryDto;
 import bibid.entity.*;
-import bibid.repository.account.AccountRepository;
-import bibid.repository.account.AccountUseHistoryRepository;
 import bibid.repository.auction.AuctionRepository;
+import bibid.repository.notification.NotificationRepository;
+import bibid.service.account.AccountHoldService;
+import bibid.service.account.AccountLedgerService;
+import bibid.service.auction.AuctionChangedEvent;
+import bibid.service.auction.AuctionJobService;
 import bibid.service.notification.NotificationService;
+import bibid.service.specialAuction.RedisBidService;
+import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledFuture;
 import java.util.Comparator;
 
 @Component
@@ -26,115 +26,163 @@ public class SpecialAuctionScheduler {
 
     private final SimpMessagingTemplate messagingTemplate;
     private final AuctionRepository auctionRepository;
-    private final TaskScheduler taskScheduler;
+    private final AuctionJobService auctionJobService;
+    private final NotificationRepository notificationRepository;
     private final NotificationService notificationService;
-    private final AccountRepository accountRepository;
-    private final AccountUseHistoryRepository accountUseHistoryRepository;
-    private final Map<Long, Map<Long, ScheduledFuture<?>>> scheduledNotifications = new ConcurrentHashMap<>();
+    private final AccountLedgerService accountLedgerService;
+    private final AccountHoldService accountHoldService;
+    private final LiveBidStreamProcessor liveBidStreamProcessor;
+    private final LiveBidBroadcaster liveBidBroadcaster;
+    private final RedisBidService redisBidService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     public SpecialAuctionScheduler(
             SimpMessagingTemplate messagingTemplate,
             AuctionRepository auctionRepository,
-            @Qualifier("auctionTaskScheduler") TaskScheduler taskScheduler,
+            AuctionJobService auctionJobService,
+            NotificationRepository notificationRepository,
             NotificationService notificationService,
-            AccountRepository accountRepository,
-            AccountUseHistoryRepository accountUseHistoryRepository
+            AccountLedgerService accountLedgerService,
+            AccountHoldService accountHoldService,
+            LiveBidStreamProcessor liveBidStreamProcessor,
+            LiveBidBroadcaster liveBidBroadcaster,
+            RedisBidService redisBidService,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate
     ) {
         this.messagingTemplate = messagingTemplate;
         this.auctionRepository = auctionRepository;
-        this.taskScheduler = taskScheduler;
+        this.auctionJobService = auctionJobService;
+        this.notificationRepository = notificationRepository;
         this.notificationService = notificationService;
-        this.accountRepository = accountRepository;
-        this.accountUseHistoryRepository = accountUseHistoryRepository;
+        this.accountLedgerService = accountLedgerService;
+        this.accountHoldService = accountHoldService;
+        this.liveBidStreamProcessor = liveBidStreamProcessor;
+        this.liveBidBroadcaster = liveBidBroadcaster;
+        this.redisBidService = redisBidService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void registerHandlers() {
+        auctionJobService.registerHandler(AuctionJobService.LIVE_END, job -> {
+            log.info("경매 종료 스케줄 실행 - auctionIndex={}", job.getAuctionIndex());
+            handleAuctionEnd(job.getAuctionIndex());
+        });
+        auctionJobService.registerHandler(AuctionJobService.LIVE_REMINDER, this::sendReminder);
     }
 
     /**
-     * 경매 종료 시간에 맞춰 경매 처리 스케줄 등록
+     * 경매 종료 시간에 맞춰 경매 처리 스케줄 등록 (같은 경매를 다시 등록하면 기존 예약을 대체)
+     * 작업은 DB 에 저장되어 재시작 후에도 남고, 여러 노드 중 한 곳에서만 실행된다.
      */
     public void scheduleAuctionEnd(Long auctionIndex, LocalDateTime endingLocalDateTime) {
-        Date endDate = Date.from(endingLocalDateTime.atZone(ZoneId.systemDefault()).toInstant());
+        auctionJobService.schedule(liveEndKey(auctionIndex), AuctionJobService.LIVE_END, auctionIndex, null, null,
+                endingLocalDateTime);
+
+        log.info("경매 종료 스케줄 등록 완료 - auctionIndex={}, endDate={}", auctionIndex, endingLocalDateTime);
+    }
 
-        taskScheduler.schedule(() -> {
-            log.info("경매 종료 스케줄 실행 - auctionIndex={}", auctionIndex);
-            handleAuctionEnd(auctionIndex);
-        }, endDate);
+    // 기동 시 작업이 없는 경매만 종료 스케줄 등록 (작업 저장소 도입 이전 경매 보완용)
+    public void scheduleAuctionEndIfAbsent(Long auctionIndex, LocalDateTime endingLocalDateTime) {
+        auctionJobService.scheduleIfAbsent(liveEndKey(auctionIndex), AuctionJobService.LIVE_END, auctionIndex, null, null,
+                endingLocalDateTime);
+    }
 
-        log.info("경매 종료 스케줄 등록 완료 - auctionIndex={}, endDate={}", auctionIndex, endDate);
+    // 기동 시 아직 전송되지 않은 시작 알림 작업 보완
+    public void scheduleReminderIfAbsent(Notification notification) {
+        Long auctionIndex = notification.getReferenceIndex();
+        Long memberIndex = notification.getMember().getMemberIndex();
+        auctionJobService.scheduleIfAbsent(reminderKey(auctionIndex, memberIndex), AuctionJobService.LIVE_REMINDER,
+                auctionIndex, memberIndex, notification.getNotificationIndex(), notification.getAlertDate());
     }
 
     /**
      * 실제 경매 종료 및 낙찰자 처리
+     * 낙찰 금액 차감, 경매 상태 변경, 알림 기록을 한 트랜잭션으로 커밋하고, 자금 예약 해제와 방송은 커밋 후에 한다.
+     * 예외는 그대로 작업 실행기(AuctionJobService)로 전달되어 작업이 실패 처리되고 다시 시도된다.
+     * (다시 실행되어도 이미 종료 처리된 경매는 정산하지 않고 커밋 후 정리만 다시 한다)
      */
-    @Transactional
     public void handleAuctionEnd(Long auctionIndex) {
-        try {
-            Auction auction = auctionRepository.findByIdWithAllDetails(auctionIndex)
-                    .orElseThrow(() -> new RuntimeException("경매를 찾을 수 없습니다. ID: " + auctionIndex));
-
-            log.info("경매 조회 완료 - auctionIndex={}", auctionIndex);
-
-            AuctionInfo lastBidInfo = auction.getAuctionInfoList()
-                    .stream()
-                    .max(Comparator.comparing(AuctionInfo::getBidTime))
-                    .orElse(null);
-
-            if (lastBidInfo != null) {
-                // 낙찰 처리
-                AuctionDetail auctionDetail = auction.getAuctionDetail();
-                Member winner = lastBidInfo.getBidder();
-
-                auctionDetail.setWinnerIndex(winner.getMemberIndex());
-                auctionDetail.setWinningBid(lastBidInfo.getBidAmount());
-                auctionDetail.setWinnerNickname(winner.getNickname());
-
-                Account account = accountRepository.findByMember_MemberIndex(winner.getMemberIndex())
-                        .orElseThrow(() -> new RuntimeException("낙찰자의 계좌 정보를 찾을 수 없습니다."));
-
-                int balance = Integer.parseInt(account.getUserMoney());
-                int bidAmount = lastBidInfo.getBidAmount().intValue();
-
-                if (balance < bidAmount) {
-                    throw new RuntimeException("낙찰자의 잔액이 부족합니다.");
-                }
-
-                account.setUserMoney(String.valueOf(balance - bidAmount));
-                accountRepository.save(account);
-
-                auction.setAuctionStatus("낙찰");
-
-                // 입찰 히스토리 저장
-                AccountUseHistoryDto historyDto = AccountUseHistoryDto.builder()
-                        .auctionType("실시간 경매")
-                        .accountIndex(account.getAccountIndex())
-                        .beforeBalance(String.valueOf(balance))
-                        .afterBalance(String.valueOf(balance - bidAmount))
-                        .createdTime(LocalDateTime.now())
-                        .productName(auction.getProductName())
-                        .changeAccount(String.valueOf(bidAmount))
-                        .useType("낙찰")
-                        .memberIndex(winner.getMemberIndex())
-                        .auctionIndex(auctionIndex)
-                        .build();
-
-                accountUseHistoryRepository.save(historyDto.toEntity(winner, auction, account));
-
-                // 알림 전송
-                notificationService.notifyAuctionWin(winner, auctionIndex);
-                notificationService.notifyAuctionSold(auction.getMember(), lastBidInfo, auctionIndex);
-
-                log.info("낙찰자 및 판매자 알림 전송 완료");
+        // 입찰 규칙을 먼저 마감해 낙찰자 선정 이후에 수락되는 입찰이 없도록 함
+        redisBidService.closeLiveBidding(auctionIndex);
+
+        // 입찰 스트림에서 아직 저장되지 않은 입찰까지 저장한 뒤에 낙찰자를 선정
+        liveBidStreamProcessor.drainBeforeClose(auctionIndex);
+
+        Auction auction = transactionTemplate.execute(status -> settle(auctionIndex));
+
+        // 예약 해제와 스트림 정리는 멱등이므로 이미 종료 처리된 경매가 다시 실행되어도 그대로 수행
+        accountHoldService.releaseAll(auctionIndex);
+        liveBidStreamProcessor.retire(auctionIndex);
+        if (auction == null) {
+            return;
+        }
+
+        eventPublisher.publishEvent(new AuctionChangedEvent(auctionIndex, AuctionChangedEvent.Type.STATUS_CHANGED));
+        sendAuctionEndDetails(auction);
+    }
+
+    /**
+     * 낙찰자 선정 + 정산 (트랜잭션 안에서 실행)
+     * 최고 입찰자에게서만 낙찰 금액을 차감한다. 입찰 중 자금을 예약해 두므로 차감 실패는 정상 흐름이 아니며,
+     * 이 경우 다른(낙찰되지 않은) 입찰자에게 금액을 옮기지 않고 유찰 처리한 뒤 오류 로그로 알린다.
+     * 반환값 = 이번에 종료 처리한 경매 (이미 종료 처리된 경매면 null)
+     */
+    private Auction settle(Long auctionIndex) {
+        Auction auction = auctionRepository.findByIdWithAllDetails(auctionIndex)
+                .orElseThrow(() -> new RuntimeException("경매를 찾을 수 없습니다. ID: " + auctionIndex));
+
+        log.info("경매 조회 완료 - auctionIndex={}", auctionIndex);
+
+        if ("낙찰".equals(auction.getAuctionStatus()) || "유찰".equals(auction.getAuctionStatus())) {
+            log.info("이미 종료 처리된 경매 - auctionIndex={}", auctionIndex);
+            return null;
+        }
+
+        // 최고 입찰 (같은 금액이면 먼저 들어온 입찰 우선)
+        AuctionInfo highestBid = auction.getAuctionInfoList()
+                .stream()
+                .min(Comparator.comparing(AuctionInfo::getBidAmount).reversed()
+                        .thenComparing(AuctionInfo::getBidTime))
+                .orElse(null);
+
+        AuctionInfo winningBid = null;
+        // 입찰 중에는 자금 예약만 했으므로 낙찰 금액은 여기서 한 번만 차감 + 원장 기록
+        if (highestBid != null) {
+            if (accountLedgerService.tryDebit(highestBid.getBidder().getMemberIndex(), auctionIndex,
+                    highestBid.getBidAmount(), "낙찰") != null) {
+                winningBid = highestBid;
             } else {
-                // 유찰 처리
-                auction.setAuctionStatus("유찰");
-                log.info("입찰 없음 - 유찰 처리 완료");
+                log.error("낙찰 금액 차감 실패 - 자금 예약 불일치, 유찰 처리 (auctionIndex={}, memberIndex={}, amount={})",
+                        auctionIndex, highestBid.getBidder().getMemberIndex(), highestBid.getBidAmount());
             }
+        }
 
-            auctionRepository.save(auction);
-            sendAuctionEndDetails(auction);
-
-        } catch (Exception e) {
-            log.error("경매 종료 처리 중 예외 발생 - auctionIndex={}, 오류={}", auctionIndex, e.getMessage(), e);
+        if (winningBid != null) {
+            // 낙찰 처리
+            AuctionDetail auctionDetail = auction.getAuctionDetail();
+            Member winner = winningBid.getBidder();
+
+            auctionDetail.setWinnerIndex(winner.getMemberIndex());
+            auctionDetail.setWinningBid(winningBid.getBidAmount());
+            auctionDetail.setWinnerNickname(winner.getNickname());
+            auction.setAuctionStatus("낙찰");
+
+            // 알림 전송
+            notificationService.notifyAuctionWin(winner, auctionIndex);
+            notificationService.notifyAuctionSold(auction.getMember(), winningBid, auctionIndex);
+
+            log.info("낙찰자 및 판매자 알림 전송 완료");
+        } else {
+            // 유찰 처리 (입찰이 없거나 최고 입찰자 정산 실패)
+            auction.setAuctionStatus("유찰");
+            log.info("낙찰자 없음 - 유찰 처리 완료 - auctionIndex={}", auctionIndex);
         }
+
+        return auctionRepository.save(auction);
     }
 
     /**
@@ -145,9 +193,8 @@ public class SpecialAuctionScheduler {
         Long auctionIndex = auction.getAuctionIndex();
         LocalDateTime notifyTime = auction.getStartingLocalDateTime().minusMinutes(10);
 
-        // 중복 체크
-        if (scheduledNotifications.containsKey(auctionIndex) &&
-                scheduledNotifications.get(auctionIndex).containsKey(memberIndex)) {
+        // 중복 체크 (전송이 끝난 알림 작업도 남아 있으므로 다시 예약되지 않는다)
+        if (auctionJobService.exists(reminderKey(auctionIndex, memberIndex))) {
             log.info("이미 알림 예약된 사용자 - auctionIndex={}, memberIndex={}", auctionIndex, memberIndex);
             return false;
         }
@@ -155,20 +202,35 @@ public class SpecialAuctionScheduler {
         Notification notification = notificationService.createScheduledNotification(auction, memberIndex);
         Long notificationIndex = notification.getNotificationIndex();
 
-        ScheduledFuture<?> task = taskScheduler.schedule(
-                () -> notificationService.sendAuctionStartNotificationToUser(auction, memberIndex, notificationIndex),
-                Date.from(notifyTime.atZone(ZoneId.systemDefault()).toInstant())
-        );
-
-        scheduledNotifications
-                .computeIfAbsent(auctionIndex, k -> new HashMap<>())
-                .put(memberIndex, task);
+        auctionJobService.schedule(reminderKey(auctionIndex, memberIndex), AuctionJobService.LIVE_REMINDER,
+                auctionIndex, memberIndex, notificationIndex, notifyTime);
 
         log.info("알림 예약 완료 - auctionIndex={}, memberIndex={}", auctionIndex, memberIndex);
         return true;
     }
 
+    // 시작 알림 작업 실행 (이미 전송된 알림은 다시 보내지 않음)
+    private void sendReminder(AuctionJob job) {
+        Notification notification = notificationRepository.findById(job.getReferenceIndex()).orElse(null);
+        if (notification == null || Boolean.TRUE.equals(notification.getIsSent())) {
+            return;
+        }
+
+        Auction auction = auctionRepository.findById(job.getAuctionIndex())
+                .orElseThrow(() -> new RuntimeException("경매를 찾을 수 없습니다. ID: " + job.getAuctionIndex()));
+        notificationService.sendAuctionStartNotificationToUser(auction, job.getMemberIndex(), job.getReferenceIndex());
+    }
+
+    private String liveEndKey(Long auctionIndex) {
+        return "live:end:" + auctionIndex;
+    }
+
+    private String reminderKey(Long auctionIndex, Long memberIndex) {
+        return "live:remind:" + auctionIndex + ":" + memberIndex;
+    }
+
     private void sendAuctionEndDetails(Auction auction) {
+        liveBidBroadcaster.flushAndForget(auction.getAuctionIndex());
         messagingTemplate.convertAndSend("/topic/auction/" + auction.getAuctionIndex(), auction.getAuctionDetail().toDto());
         log.info("경매 종료 상세 정보 전송 완료 - auctionIndex={}", auction.getAuctionIndex());
     }
@@ -1,88 +1,61 @@
 package bibid.service.specialAuction.impl;
 
+import bibid.entity.Auction;
+import bibid.entity.Notification;
+import bibid.entity.NotificationType;
+import bibid.repository.notification.NotificationRepository;
+import bibid.repository.specialAuction.SpecialAuctionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 재시작 후 실시간 경매 예약 복구
+ * 종료/알림 예약은 auction_job 에 남아 AuctionJobService 가 기동 시 한 번에 다시 등록하므로,
+ * 여기서는 작업 저장소 도입 이전에 등록되어 작업이 없는 경매 종료와 미전송 시작 알림만 작업으로 만든다.
+ * (이미 있는 작업은 건드리지 않으므로 여러 노드가 동시에 기동해도 중복되지 않는다)
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SpecialAuctionSchedulerInitializer {
-//
-//    private final SpecialAuctionRepository specialAuctionRepository;
-//    private final SpecialAuctionScheduler specialAuctionScheduler;
-//    private final LiveStationPoolManager liveStationPoolManager;
-//    private final NotificationRepository notificationRepository;
-//
-//    @Transactional
-//    public void rescheduleAuctionsAfterRestart() {
-//        LocalDateTime now = LocalDateTime.now();
-//        LocalDateTime thirtyMinutesLater = now.plusMinutes(30);
-//
-//        List<Auction> realTimeAuctions = specialAuctionRepository.findAllWithChannelByAuctionTypeAndStartingLocalDateTimeAfter(
-//                "실시간 경매", now
-//        );
-//
-//        for (Auction auction : realTimeAuctions) {
-//            LocalDateTime auctionStartTime = auction.getStartingLocalDateTime();
-//
-//            if (auction.getLiveStationChannel() == null) {
-//                if (auctionStartTime.isBefore(thirtyMinutesLater)) {
-//                    LiveStationChannel channel = liveStationPoolManager.testCreateNewChannel();
-//                    auction.setAuctionStatus("준비중");
-//                    auction.setLiveStationChannel(channel);
-//                    specialAuctionRepository.save(auction);
-//
-//                    log.info("즉시 채널 할당: 경매 ID {} 채널 인덱스: {}", auction.getAuctionIndex(), channel.getLiveStationChannelIndex());
-//                } else {
-//                    specialAuctionScheduler.scheduleChannelAllocation(
-//                            auction.getAuctionIndex(), auctionStartTime.minusMinutes(30)
-//                    );
-//                    log.info("30분 전 스케줄 등록: 경매 ID {}", auction.getAuctionIndex());
-//                }
-//            }
-//        }
-//
-//        List<Auction> auctionsToRelease = specialAuctionRepository.findAllByAuctionTypeAndStartingLocalDateTimeBeforeAndLiveStationChannelIsNotNull(
-//                "실시간 경매", now.minusMinutes(30)
-//        );
-//
-//        for (Auction auction : auctionsToRelease) {
-//            liveStationPoolManager.releaseChannel(auction.getLiveStationChannel());
-//            auction.setLiveStationChannel(null);
-//            specialAuctionRepository.save(auction);
-//            log.info("30분 경과로 강제 채널 반납: 경매 ID {}", auction.getAuctionIndex());
-//        }
-//
-//        List<Auction> auctionsToEnd = specialAuctionRepository.findAllByAuctionTypeAndEndingLocalDateTimeAfter(
-//                "실시간 경매", now
-//        );
-//
-//        for (Auction auction : auctionsToEnd) {
-//            specialAuctionScheduler.scheduleAuctionEnd(auction.getAuctionIndex(), auction.getEndingLocalDateTime());
-//            log.info("경매 종료 스케줄 등록: 경매 ID {}", auction.getAuctionIndex());
-//        }
-//    }
-//
-//    @Transactional
-//    private void rescheduleNotificationsOnStartup() {
-//        List<Notification> notifications = notificationRepository.findByIsSentFalse();
-//
-//        notifications.forEach(notification -> {
-//            if (notification.getAlertCategory() == NotificationType.AUCTION_START) {
-//                Auction auction = specialAuctionRepository.findByIdWithChannel(notification.getReferenceIndex()).orElse(null);
-//                if (auction != null) {
-//                    Long memberIndex = notification.getMember().getMemberIndex();
-//                    specialAuctionScheduler.registerAlarmForUser(auction, memberIndex);
-//                    log.info("기존 알림 스케줄 재등록: 경매 ID {}, 사용자 ID {}", auction.getAuctionIndex(), memberIndex);
-//                }
-//            }
-//        });
-//    }
-//
-//    @EventListener(ApplicationReadyEvent.class)
-//    public void rescheduleOnStartup() {
-//        rescheduleAuctionsAfterRestart();
-//        rescheduleNotificationsOnStartup();
-//    }
+
+    private final SpecialAuctionRepository specialAuctionRepository;
+    private final SpecialAuctionScheduler specialAuctionScheduler;
+    private final NotificationRepository notificationRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rescheduleOnStartup() {
+        rescheduleAuctionEnds();
+        rescheduleNotifications();
+    }
+
+    private void rescheduleAuctionEnds() {
+        List<Auction> auctionsToEnd = specialAuctionRepository.findAllByAuctionTypeAndEndingLocalDateTimeAfter(
+                "실시간 경매", LocalDateTime.now()
+        );
+
+        for (Auction auction : auctionsToEnd) {
+            specialAuctionScheduler.scheduleAuctionEndIfAbsent(auction.getAuctionIndex(), auction.getEndingLocalDateTime());
+        }
+        log.info("실시간 경매 종료 예약 확인 완료 - {}건", auctionsToEnd.size());
+    }
+
+    private void rescheduleNotifications() {
+        List<Notification> notifications = notificationRepository.findByIsSentFalse();
+
+        int scheduled = 0;
+        for (Notification notification : notifications) {
+            if (notification.getAlertCategory() == NotificationType.AUCTION_START && notification.getReferenceIndex() != null) {
+                specialAuctionScheduler.scheduleReminderIfAbsent(notification);
+                scheduled++;
+            }
+        }
+        log.info("시작 알림 예약 확인 완료 - {}건", scheduled);
+    }
 }
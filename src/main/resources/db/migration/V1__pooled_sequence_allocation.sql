@@ -0,0 +1,25 @@
+-- 엔티티 시퀀스를 pooled-lo 할당(allocationSize = 50)에 맞게 증가폭 변경
+-- pooled-lo 는 nextval 로 받은 값 v 부터 v + 49 까지를 애플리케이션이 사용하므로
+-- 기존 시퀀스도 INCREMENT BY 50 이어야 ID 가 겹치지 않는다.
+-- 변경 후 첫 nextval 은 (마지막 발급값 + 50) 이므로 이미 발급된 ID 와 충돌하지 않는다.
+-- 신규 DB 에서는 시퀀스가 아직 없으므로 IF EXISTS 로 건너뛰고, Hibernate 가 증가폭 50 으로 생성한다.
+ALTER SEQUENCE IF EXISTS account_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS accountusehistory_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS address_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS auction_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS auction_detail_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS auction_image_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS auction_info_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS banner_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS chat_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS chatroom_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS chatroom_management_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS evaluation_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS liked_auction_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS live_station_channel_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS member_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS notification_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS profileimage_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS qna_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS qnafile_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS sellerinfo_seq INCREMENT BY 50;
@@ -0,0 +1,20 @@
+-- 계좌 잔액과 거래 내역 금액을 문자열에서 원 단위 bigint 로 변경하고 낙관적 락 버전 컬럼을 추가한다.
+-- 신규 DB 는 아직 테이블이 없으므로(ddl-auto 가 생성) 기존 컬럼이 문자열인 경우에만 변환한다.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'account' AND column_name = 'user_money' AND data_type <> 'bigint') THEN
+        ALTER TABLE account ALTER COLUMN user_money TYPE bigint
+            USING round(NULLIF(trim(user_money), '')::numeric)::bigint;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'account_use_history' AND column_name = 'change_account' AND data_type <> 'bigint') THEN
+        ALTER TABLE account_use_history
+            ALTER COLUMN change_account TYPE bigint USING round(NULLIF(trim(change_account), '')::numeric)::bigint,
+            ALTER COLUMN before_balance TYPE bigint USING round(NULLIF(trim(before_balance), '')::numeric)::bigint,
+            ALTER COLUMN after_balance TYPE bigint USING round(NULLIF(trim(after_balance), '')::numeric)::bigint;
+    END IF;
+END $$;
+
+ALTER TABLE IF EXISTS account ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
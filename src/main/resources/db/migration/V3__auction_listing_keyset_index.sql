@@ -0,0 +1,20 @@
+-- 경매 목록 커서(keyset) 조회를 위해 조회수 null 을 0 으로 채우고 (정렬 값, 경매 번호) 인덱스를 만든다.
+-- 신규 DB 는 아직 테이블이 없으므로(ddl-auto 가 엔티티의 @Table 인덱스와 함께 생성) 테이블이 있을 때만 적용한다.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'auction') THEN
+        UPDATE auction SET view_cnt = 0 WHERE view_cnt IS NULL;
+        ALTER TABLE auction ALTER COLUMN view_cnt SET DEFAULT 0;
+
+        CREATE INDEX IF NOT EXISTS idx_auction_type_regdate
+            ON auction (auction_type, regdate, auction_index);
+        CREATE INDEX IF NOT EXISTS idx_auction_type_view_cnt
+            ON auction (auction_type, view_cnt, auction_index);
+        CREATE INDEX IF NOT EXISTS idx_auction_type_category_regdate
+            ON auction (auction_type, category, regdate, auction_index);
+        CREATE INDEX IF NOT EXISTS idx_auction_type_category_view_cnt
+            ON auction (auction_type, category, view_cnt, auction_index);
+        CREATE INDEX IF NOT EXISTS idx_auction_type_ending
+            ON auction (auction_type, ending_local_date_time, auction_index);
+    END IF;
+END $$;
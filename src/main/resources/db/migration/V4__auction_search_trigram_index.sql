@@ -0,0 +1,16 @@
+-- 경매 검색(AuctionSearchRepository)용 pg_trgm 확장과 트라이그램 GIN 인덱스
+-- ILIKE '%검색어%' 조건과 word_similarity 정렬이 이 인덱스를 사용한다.
+-- 신규 DB 는 아직 테이블이 없으므로 확장만 만들고 인덱스는 테이블이 있을 때만 만든다.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'auction') THEN
+        CREATE INDEX IF NOT EXISTS idx_auction_product_name_trgm
+            ON auction USING gin (product_name gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS idx_auction_category_trgm
+            ON auction USING gin (category gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS idx_auction_product_description_trgm
+            ON auction USING gin (product_description gin_trgm_ops);
+    END IF;
+END $$;
@@ -0,0 +1,9 @@
+-- 채팅 기록 커서(keyset) 조회를 위한 (채팅방 번호, 채팅 번호) 인덱스
+-- 신규 DB 는 아직 테이블이 없으므로(ddl-auto 가 엔티티의 @Table 인덱스와 함께 생성) 테이블이 있을 때만 적용한다.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'chat') THEN
+        CREATE INDEX IF NOT EXISTS idx_chat_room_chat_index
+            ON chat (chat_room_index, chat_index);
+    END IF;
+END $$;
@@ -0,0 +1,12 @@
+-- 실시간 경매 입찰 스트림 항목 중복 저장 방지
+-- 스트림 소비자(LiveBidStreamProcessor)가 같은 항목을 동시에 저장해도 INSERT ... ON CONFLICT DO NOTHING 으로 한 건만 남도록
+-- 스트림 항목 ID 컬럼과 (경매 번호, 스트림 항목 ID) 유니크 인덱스를 만든다. (스트림을 거치지 않은 입찰은 NULL)
+-- 신규 DB 는 아직 테이블이 없으므로(ddl-auto 가 엔티티의 @Table 인덱스와 함께 생성) 테이블이 있을 때만 적용한다.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'auction_info') THEN
+        ALTER TABLE auction_info ADD COLUMN IF NOT EXISTS stream_entry_id varchar(64);
+        CREATE UNIQUE INDEX IF NOT EXISTS uk_auction_info_stream_entry
+            ON auction_info (auction_index, stream_entry_id);
+    END IF;
+END $$;
@@ -0,0 +1,12 @@
+-- 채팅 스트림 항목 중복 저장 방지
+-- 기동 시 채팅 스트림 복구(ChatWriteBehindWriter)가 이미 저장된 메시지를 다시 넣어도 INSERT ... ON CONFLICT DO NOTHING 으로 건너뛰도록
+-- 스트림 항목 ID 컬럼과 (채팅방 번호, 스트림 항목 ID) 유니크 인덱스를 만든다. (스트림에 추가되지 않은 메시지는 NULL)
+-- 신규 DB 는 아직 테이블이 없으므로(ddl-auto 가 엔티티의 @Table 인덱스와 함께 생성) 테이블이 있을 때만 적용한다.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'chat') THEN
+        ALTER TABLE chat ADD COLUMN IF NOT EXISTS stream_entry_id varchar(64);
+        CREATE UNIQUE INDEX IF NOT EXISTS uk_chat_stream_entry
+            ON chat (chat_room_index, stream_entry_id);
+    END IF;
+END $$;
@@ -0,0 +1,12 @@
+-- 채팅 기록 커서(keyset) 조회 기준을 (채팅방 번호, 전송 시각, 채팅 번호) 로 변경
+-- 채팅 번호는 write-behind 저장 시점에 발급되어 전송 순서와 다를 수 있으므로, 전송 시각 순서로 읽는 인덱스로 바꾸고
+-- 더 이상 쓰지 않는 (채팅방 번호, 채팅 번호) 인덱스는 삭제한다.
+-- 신규 DB 는 아직 테이블이 없으므로(ddl-auto 가 엔티티의 @Table 인덱스와 함께 생성) 테이블이 있을 때만 적용한다.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'chat') THEN
+        CREATE INDEX IF NOT EXISTS idx_chat_room_send_time
+            ON chat (chat_room_index, send_time, chat_index);
+        DROP INDEX IF EXISTS idx_chat_room_chat_index;
+    END IF;
+END $$;
@@ -0,0 +1,12 @@
+-- 3자 미만 검색어용 앞부분 일치 인덱스 (AuctionSearchRepository)
+-- 트라이그램 GIN 인덱스는 3자 미만 검색어의 ILIKE 를 처리하지 못하므로
+-- 상품명/카테고리는 lower(컬럼) LIKE '검색어%' 조건을 text_pattern_ops B-tree 인덱스로 찾는다.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'auction') THEN
+        CREATE INDEX IF NOT EXISTS idx_auction_product_name_prefix
+            ON auction (lower(product_name) text_pattern_ops);
+        CREATE INDEX IF NOT EXISTS idx_auction_category_prefix
+            ON auction (lower(category) text_pattern_ops);
+    END IF;
+END $$;